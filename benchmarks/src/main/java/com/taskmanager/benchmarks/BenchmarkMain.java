@@ -0,0 +1,34 @@
+package com.taskmanager.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line and always
+ * adds the GC profiler, so every run reports allocation rate (gc.alloc.rate.norm)
+ * next to throughput.
+ *
+ * <pre>
+ * mvn -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ * </pre>
+ */
+public class BenchmarkMain {
+    
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        
+        Options options = new OptionsBuilder()
+            .parent(commandLine)
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
\ No newline at end of file
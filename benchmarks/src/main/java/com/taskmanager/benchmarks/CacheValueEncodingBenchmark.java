@@ -0,0 +1,57 @@
+package com.taskmanager.benchmarks;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskmanager.user.application.UserMapperImpl;
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.infrastructure.cache.CacheConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding of {@link UserDTO} values in the Redis tier of the users cache, using the
+ * serializer built by {@link CacheConfig}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheValueEncodingBenchmark {
+    
+    private GenericJackson2JsonRedisSerializer serializer;
+    private UserDTO value;
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() {
+        serializer = CacheConfig.redisValueSerializer(JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build());
+        value = new UserMapperImpl().toDTO(Fixtures.persistedUser(0));
+        encoded = serializer.serialize(value);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return serializer.serialize(value);
+    }
+    
+    @Benchmark
+    public Object decode() {
+        return serializer.deserialize(encoded);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.taskmanager.benchmarks;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskmanager.common.event.BinaryEventCodec;
+import com.taskmanager.common.event.DomainEvent;
+import com.taskmanager.common.event.EventCodec;
+import com.taskmanager.common.event.JsonEventCodec;
+import com.taskmanager.user.domain.event.UserCreatedEvent;
+import com.taskmanager.user.domain.event.UserEventSchemas;
+import com.taskmanager.user.domain.event.UserUpdatedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain event payloads as written to the outbox: Jackson with class-name type info
+ * ({@code @class}) against the binary codec with schema type ids.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainEventSerializationBenchmark {
+    
+    @Param({"json", "binary"})
+    public String codecName;
+    
+    @Param({"USER_CREATED", "USER_UPDATED"})
+    public String eventType;
+    
+    private EventCodec codec;
+    private DomainEvent event;
+    private byte[] payload;
+    
+    @Setup
+    public void setUp() {
+        // Same setup as Boot's auto-configured mapper
+        codec = "json".equals(codecName)
+            ? new JsonEventCodec(JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build())
+            : new BinaryEventCodec(UserEventSchemas.all());
+        event = "USER_CREATED".equals(eventType)
+            ? new UserCreatedEvent(Fixtures.persistedUser(0))
+            : new UserUpdatedEvent(Fixtures.persistedUser(0));
+        payload = codec.encode(event);
+    }
+    
+    @Benchmark
+    public byte[] encode() {
+        return codec.encode(event);
+    }
+    
+    @Benchmark
+    public DomainEvent decode() {
+        return codec.decode(payload);
+    }
+}
\ No newline at end of file
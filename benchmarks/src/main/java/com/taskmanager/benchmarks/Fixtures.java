@@ -0,0 +1,31 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.user.domain.Role;
+import com.taskmanager.user.domain.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+final class Fixtures {
+    
+    static final String PASSWORD = "password";
+    
+    // Hashed once at the production strength so stored users look like real rows
+    static final String PASSWORD_HASH = new BCryptPasswordEncoder(12).encode(PASSWORD);
+    
+    private Fixtures() {}
+    
+    static User persistedUser(int n) {
+        User user = new User("user" + n + "@example.com", "First" + n, "Last" + n, PASSWORD_HASH,
+            Set.of(Role.USER));
+        user.clearDomainEvents();
+        LocalDateTime now = LocalDateTime.now();
+        user.setId(UUID.nameUUIDFromBytes(("user-" + n).getBytes()));
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        user.setVersion(0L);
+        return user;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.user.application.UserMapper;
+import com.taskmanager.user.application.UserMapperImpl;
+import com.taskmanager.user.domain.User;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Map-backed {@link UserRepository} covering the methods {@code UserService} uses on its
+ * single-user paths, so benchmarks measure the service rather than JDBC. Any other
+ * repository method throws {@link UnsupportedOperationException}.
+ */
+final class InMemoryUserRepository implements InvocationHandler {
+    
+    private final Map<UUID, User> usersById = new ConcurrentHashMap<>();
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    // Stands in for the SQL projection queries
+    private final UserMapper userMapper = new UserMapperImpl();
+    
+    private InMemoryUserRepository() {}
+    
+    static UserRepository create() {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+            new Class<?>[] {UserRepository.class}, new InMemoryUserRepository());
+    }
+    
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "save":
+            case "saveAndFlush":
+                return save((User) args[0]);
+            case "findById":
+                return Optional.ofNullable(usersById.get((UUID) args[0]));
+            case "findByEmail":
+                return Optional.ofNullable(usersByEmail.get((String) args[0]));
+            case "findDtoById":
+                return Optional.ofNullable(usersById.get((UUID) args[0])).map(userMapper::toDTO);
+            case "findDtoByEmail":
+                return Optional.ofNullable(usersByEmail.get((String) args[0])).map(userMapper::toDTO);
+            case "findActiveUserByEmail":
+                return Optional.ofNullable(usersByEmail.get((String) args[0])).filter(User::isEnabled);
+            case "existsByEmail":
+                return usersByEmail.containsKey((String) args[0]);
+            case "count":
+                return (long) usersById.size();
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return "InMemoryUserRepository";
+            default:
+                throw new UnsupportedOperationException(method.getName() + " is not supported in benchmarks");
+        }
+    }
+    
+    private User save(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        if (user.getId() == null) {
+            user.setId(UUID.randomUUID());
+            user.setCreatedAt(now);
+            user.setVersion(0L);
+        } else {
+            user.setVersion(user.getVersion() + 1);
+        }
+        user.setUpdatedAt(now);
+        usersById.put(user.getId(), user);
+        usersByEmail.put(user.getEmail(), user);
+        return user;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.common.event.DomainEvent;
+import com.taskmanager.common.event.EventPublisher;
+
+final class NoOpEventPublisher implements EventPublisher {
+    
+    @Override
+    public void publishEvent(DomainEvent event) {
+    }
+}
\ No newline at end of file
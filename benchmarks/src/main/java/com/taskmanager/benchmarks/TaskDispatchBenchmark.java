@@ -0,0 +1,177 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.task.domain.Task;
+import com.taskmanager.task.domain.TaskPriority;
+import com.taskmanager.task.infrastructure.dispatch.ClaimedTask;
+import com.taskmanager.task.infrastructure.dispatch.ShardRange;
+import com.taskmanager.task.infrastructure.dispatch.TaskClaimRepository;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Claim-and-complete cycles of the dispatch SQL against a real Postgres, for measuring
+ * how throughput scales with the number of concurrent workers (JMH threads). With
+ * {@code sharded=true} every worker claims from its own home shard range and only
+ * steals across all shards when that range is empty, as the dispatcher does; with
+ * {@code sharded=false} every worker claims from all shards. The tasks/s figure is
+ * the "tasks" secondary result. Needs the tasks table from the supabase migrations;
+ * scripts/benchmark-dispatch-scaling.sh runs it for 1..N threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskDispatchBenchmark {
+    
+    private static final String TASK_TYPE = "benchmark";
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO tasks (id, type, payload, priority, status, shard, due_at, attempts, max_attempts, " +
+        "created_at, updated_at, version) VALUES (?, ?, '{}', 'NORMAL', 'PENDING', ?, ?, 0, 3, ?, ?, 0)";
+    
+    private static final String RESET_SQL =
+        "UPDATE tasks SET status = 'PENDING', attempts = 0, lease_owner = NULL, lease_expires_at = NULL, " +
+        "completed_at = NULL WHERE type = ? AND status <> 'PENDING'";
+    
+    @Param("jdbc:postgresql://localhost:5432/taskmanager_tasks")
+    public String jdbcUrl;
+    
+    @Param("taskmanager")
+    public String username;
+    
+    @Param("password")
+    public String password;
+    
+    @Param({"true", "false"})
+    public boolean sharded;
+    
+    @Param("256")
+    public int shards;
+    
+    @Param("20")
+    public int batchSize;
+    
+    @Param("500000")
+    public int backlog;
+    
+    private final AtomicInteger workerIndex = new AtomicInteger();
+    
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TaskClaimRepository claimRepository;
+    
+    @Setup(Level.Trial)
+    public void setUp(BenchmarkParams params) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(params.getThreads() + 1);
+        dataSource = new HikariDataSource(config);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        claimRepository = new TaskClaimRepository(jdbcTemplate);
+        
+        jdbcTemplate.update("DELETE FROM tasks WHERE type = ?", TASK_TYPE);
+        List<Object[]> rows = new ArrayList<>(1_000);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().minusMinutes(1));
+        for (int i = 0; i < backlog; i++) {
+            UUID id = UUID.randomUUID();
+            rows.add(new Object[] {id, TASK_TYPE, Task.shardOf(id, shards), now, now, now});
+            if (rows.size() == 1_000 || i == backlog - 1) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                rows.clear();
+            }
+        }
+        jdbcTemplate.execute("ANALYZE tasks");
+    }
+    
+    @Setup(Level.Iteration)
+    public void resetBacklog() {
+        jdbcTemplate.update(RESET_SQL, TASK_TYPE);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE type = ?", TASK_TYPE);
+        dataSource.close();
+    }
+    
+    @State(Scope.Thread)
+    public static class Worker {
+        
+        private String owner;
+        private ShardRange home;
+        private ShardRange all;
+        
+        @Setup(Level.Trial)
+        public void setUp(TaskDispatchBenchmark benchmark, BenchmarkParams params) {
+            int index = benchmark.workerIndex.getAndIncrement();
+            owner = "bench-" + index;
+            all = ShardRange.all(benchmark.shards);
+            int rangeSize = Math.max(1, benchmark.shards / params.getThreads());
+            home = benchmark.sharded
+                ? ShardRange.forWorker("bench", index, benchmark.shards, rangeSize)
+                : all;
+        }
+    }
+    
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        
+        public long tasks;
+        public long emptyClaims;
+        
+        @Setup(Level.Iteration)
+        public void reset() {
+            tasks = 0;
+            emptyClaims = 0;
+        }
+    }
+    
+    @Benchmark
+    public int claimAndComplete(Worker worker, Counters counters) {
+        List<ClaimedTask> batch = claimRepository.claim(TaskPriority.NORMAL, worker.home, worker.owner,
+            LEASE, batchSize);
+        if (batch.isEmpty() && worker.home != worker.all) {
+            batch = claimRepository.claim(TaskPriority.NORMAL, worker.all, worker.owner, LEASE, batchSize);
+        }
+        if (batch.isEmpty()) {
+            counters.emptyClaims++;
+            return 0;
+        }
+        for (ClaimedTask task : batch) {
+            claimRepository.complete(task, worker.owner);
+        }
+        counters.tasks += batch.size();
+        return batch.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.user.domain.Role;
+import com.taskmanager.user.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creating a {@link User} also allocates its domain-event list and a
+ * {@code UserCreatedEvent} (random UUID, timestamp); profile updates add another event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserConstructionBenchmark {
+    
+    @Benchmark
+    public User construct() {
+        return new User("jane.doe@example.com", "Jane", "Doe", Fixtures.PASSWORD_HASH, Set.of(Role.USER));
+    }
+    
+    @Benchmark
+    public User constructAndUpdateProfile() {
+        User user = new User("jane.doe@example.com", "Jane", "Doe", Fixtures.PASSWORD_HASH, Set.of(Role.USER));
+        user.updateProfile("Janet", "Doe");
+        return user;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.user.application.UserMapper;
+import com.taskmanager.user.application.UserMapperImpl;
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+    
+    private UserMapper userMapper;
+    private User user;
+    
+    @Setup
+    public void setUp() {
+        userMapper = new UserMapperImpl();
+        user = Fixtures.persistedUser(0);
+    }
+    
+    @Benchmark
+    public UserDTO toDTO() {
+        return userMapper.toDTO(user);
+    }
+}
\ No newline at end of file
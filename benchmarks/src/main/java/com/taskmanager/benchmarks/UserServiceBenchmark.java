@@ -0,0 +1,141 @@
+package com.taskmanager.benchmarks;
+
+import com.taskmanager.user.application.EmailRegistry;
+import com.taskmanager.user.application.LoginActivityRecorder;
+import com.taskmanager.user.application.MissingUserCache;
+import com.taskmanager.user.application.PasswordHashingService;
+import com.taskmanager.user.application.UserMapperImpl;
+import com.taskmanager.user.application.UserService;
+import com.taskmanager.user.application.dto.CreateUserCommand;
+import com.taskmanager.user.application.dto.UpdateUserCommand;
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.User;
+import com.taskmanager.user.infrastructure.repository.UserBatchRepository;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link UserService} wired by hand against an in-memory repository, a no-op event
+ * publisher, an in-process cache and a transaction manager that does nothing, so the
+ * numbers cover the service, mapping and domain-event code without any I/O. Without
+ * Spring proxies the {@code @Cacheable} lookups are bypassed; getUserByEmail still goes
+ * through the email cache explicitly.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserServiceBenchmark {
+    
+    private static final int USERS = 10_000;
+    
+    private final AtomicLong sequence = new AtomicLong();
+    
+    private UserService userService;
+    private UUID[] ids;
+    private String[] emails;
+    
+    @Setup
+    public void setUp() {
+        UserRepository userRepository = InMemoryUserRepository.create();
+        ids = new UUID[USERS];
+        emails = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User user = userRepository.save(Fixtures.persistedUser(i));
+            ids[i] = user.getId();
+            emails[i] = user.getEmail();
+        }
+        
+        // Minimum BCrypt strength: createUser measures the service around the hash,
+        // not the hash itself
+        PasswordHashingService passwordHashingService = new PasswordHashingService(
+            new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 0, 1024, Duration.ofSeconds(5));
+        
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        userService = new UserService(
+            userRepository,
+            passwordHashingService,
+            new NoOpEventPublisher(),
+            new UserMapperImpl(),
+            new EmailRegistry(userRepository, 1_000_000, 0.01),
+            // Never flushed here: nothing schedules it and no benchmark authenticates
+            new LoginActivityRecorder(new UserBatchRepository(new JdbcTemplate(), 500), new SimpleMeterRegistry(),
+                100_000, 500, 20),
+            new MissingUserCache(cacheManager, new SimpleMeterRegistry()),
+            cacheManager,
+            new TransactionTemplate(new NoOpTransactionManager()),
+            3,
+            200);
+    }
+    
+    @Benchmark
+    public UserDTO getUserById() {
+        return userService.getUserById(ids[next()]);
+    }
+    
+    @Benchmark
+    public UserDTO getUserByEmail() {
+        return userService.getUserByEmail(emails[next()]);
+    }
+    
+    @Benchmark
+    public UserDTO updateUser() {
+        int i = next();
+        return userService.updateUser(ids[i], new UpdateUserCommand("First" + i, "Updated"));
+    }
+    
+    @Benchmark
+    public UserDTO createUser() {
+        long n = sequence.incrementAndGet();
+        return userService.createUser(
+            new CreateUserCommand("bench" + n + "@example.com", "Bench", "User" + n, Fixtures.PASSWORD));
+    }
+    
+    private int next() {
+        return (int) (sequence.incrementAndGet() % USERS);
+    }
+    
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+        
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+        
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+        
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.taskmanager.common.event;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding for events with a registered {@link EventSchema}.
+ *
+ * <pre>
+ * format (1 byte) | type id (varint) | schema version (varint)
+ * | event id (16 bytes) | occurred on (presence byte, epoch seconds varint, nanos varint) | body
+ * </pre>
+ *
+ * The type id replaces the class name, so consumers look up a schema instead of
+ * loading classes by name.
+ */
+public class BinaryEventCodec implements EventCodec {
+    
+    public static final String CONTENT_TYPE = "application/vnd.taskmanager.event+binary";
+    
+    private static final int FORMAT = 1;
+    private static final int INITIAL_CAPACITY = 128;
+    
+    private final Map<Class<?>, EventSchema<?>> schemasByType = new HashMap<>();
+    private final Map<Integer, EventSchema<?>> schemasById = new HashMap<>();
+    
+    public BinaryEventCodec(Collection<? extends EventSchema<?>> schemas) {
+        for (EventSchema<?> schema : schemas) {
+            EventSchema<?> existing = schemasById.putIfAbsent(schema.getTypeId(), schema);
+            if (existing != null) {
+                throw new IllegalArgumentException("Event type id " + schema.getTypeId() + " is used by both "
+                    + existing.getEventType().getName() + " and " + schema.getEventType().getName());
+            }
+            schemasByType.put(schema.getEventType(), schema);
+        }
+    }
+    
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+    
+    @Override
+    public boolean supports(Class<? extends DomainEvent> eventType) {
+        return schemasByType.containsKey(eventType);
+    }
+    
+    @Override
+    public byte[] encode(DomainEvent event) {
+        EventSchema<?> schema = schemasByType.get(event.getClass());
+        if (schema == null) {
+            throw new IllegalArgumentException("No binary schema registered for " + event.getClass().getName());
+        }
+        BinaryEventWriter writer = new BinaryEventWriter(INITIAL_CAPACITY);
+        writer.writeByte(FORMAT);
+        writer.writeVarInt(schema.getTypeId());
+        writer.writeVarInt(schema.getVersion());
+        writer.writeLong(event.getEventId().getMostSignificantBits());
+        writer.writeLong(event.getEventId().getLeastSignificantBits());
+        writer.writeDateTime(event.getOccurredOn());
+        writeBody(schema, event, writer);
+        return writer.toByteArray();
+    }
+    
+    @Override
+    public DomainEvent decode(byte[] payload) {
+        BinaryEventReader reader = new BinaryEventReader(payload);
+        int format = reader.readByte();
+        if (format != FORMAT) {
+            throw new IllegalArgumentException("Unsupported event format " + format);
+        }
+        int typeId = reader.readVarInt();
+        int version = reader.readVarInt();
+        EventSchema<?> schema = schemasById.get(typeId);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown event type id " + typeId);
+        }
+        if (version > schema.getVersion()) {
+            throw new IllegalArgumentException("Event type id " + typeId + " has schema version " + version
+                + ", newer than the supported version " + schema.getVersion());
+        }
+        
+        DomainEvent event = schema.read(version, new UUID(reader.readLong(), reader.readLong()),
+            reader.readDateTime(), reader);
+        if (reader.hasRemaining()) {
+            throw new IllegalArgumentException("Trailing bytes after event type id " + typeId);
+        }
+        return event;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T extends DomainEvent> void writeBody(EventSchema<T> schema, DomainEvent event,
+                                                          BinaryEventWriter writer) {
+        schema.write((T) event, writer);
+    }
+}
\ No newline at end of file
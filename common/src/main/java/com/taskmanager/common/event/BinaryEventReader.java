@@ -0,0 +1,93 @@
+package com.taskmanager.common.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Reads the primitives written by {@link BinaryEventWriter}. Truncated or malformed
+ * input fails with {@link IllegalArgumentException}.
+ */
+public final class BinaryEventReader {
+    
+    private final byte[] buffer;
+    private int position;
+    
+    BinaryEventReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+    
+    public int readByte() {
+        require(1);
+        return buffer[position++] & 0xFF;
+    }
+    
+    public boolean readBoolean() {
+        return readByte() != 0;
+    }
+    
+    public int readVarInt() {
+        long value = readVarLong();
+        if (value > 0xFFFFFFFFL) {
+            throw new IllegalArgumentException("Varint out of range at offset " + position);
+        }
+        return (int) value;
+    }
+    
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + position);
+    }
+    
+    public long readLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+    
+    public UUID readUuid() {
+        if (!readBoolean()) {
+            return null;
+        }
+        return new UUID(readLong(), readLong());
+    }
+    
+    public String readString() {
+        if (!readBoolean()) {
+            return null;
+        }
+        int length = readVarInt();
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+    
+    public LocalDateTime readDateTime() {
+        if (!readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(readVarLong(), readVarInt(), ZoneOffset.UTC);
+    }
+    
+    boolean hasRemaining() {
+        return position < buffer.length;
+    }
+    
+    private void require(int length) {
+        if (length < 0 || buffer.length - position < length) {
+            throw new IllegalArgumentException("Truncated event payload at offset " + position);
+        }
+    }
+}
\ No newline at end of file
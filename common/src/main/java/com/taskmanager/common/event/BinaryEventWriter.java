@@ -0,0 +1,88 @@
+package com.taskmanager.common.event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Growable byte buffer with the primitives used by event schemas. Integers are
+ * varint-encoded; nullable values are prefixed with a presence byte.
+ */
+public final class BinaryEventWriter {
+    
+    private byte[] buffer;
+    private int position;
+    
+    BinaryEventWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+    
+    public void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+    
+    public void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+    
+    public void writeVarInt(int value) {
+        writeVarLong(value & 0xFFFFFFFFL);
+    }
+    
+    public void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+    
+    public void writeLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+    
+    public void writeUuid(UUID value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeLong(value.getMostSignificantBits());
+            writeLong(value.getLeastSignificantBits());
+        }
+    }
+    
+    public void writeString(String value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+    }
+    
+    // Event timestamps are local times in UTC; written as epoch seconds plus nanos
+    public void writeDateTime(LocalDateTime value) {
+        writeBoolean(value != null);
+        if (value != null) {
+            writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(value.getNano());
+        }
+    }
+    
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+    
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
\ No newline at end of file
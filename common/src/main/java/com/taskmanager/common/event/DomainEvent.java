@@ -1,11 +1,13 @@
 package com.taskmanager.common.event;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, property = "@class")
+@JsonIgnoreProperties(value = {"eventType", "aggregateId"}, allowGetters = true)
 public abstract class DomainEvent {
     
     private final UUID eventId;
@@ -16,6 +18,12 @@ public abstract class DomainEvent {
         this.occurredOn = LocalDateTime.now();
     }
     
+    // Used when an event is decoded from a message
+    protected DomainEvent(UUID eventId, LocalDateTime occurredOn) {
+        this.eventId = eventId;
+        this.occurredOn = occurredOn;
+    }
+    
     public UUID getEventId() {
         return eventId;
     }
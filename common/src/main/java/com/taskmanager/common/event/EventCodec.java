@@ -0,0 +1,16 @@
+package com.taskmanager.common.event;
+
+/**
+ * Converts domain events to and from message payloads. Each codec owns one content
+ * type, which travels with the message so consumers can pick the matching codec.
+ */
+public interface EventCodec {
+    
+    String getContentType();
+    
+    boolean supports(Class<? extends DomainEvent> eventType);
+    
+    byte[] encode(DomainEvent event);
+    
+    DomainEvent decode(byte[] payload);
+}
\ No newline at end of file
@@ -0,0 +1,51 @@
+package com.taskmanager.common.event;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks an {@link EventCodec}: by message content type when decoding, and by the
+ * preferred content type when encoding, falling back to the first codec that supports
+ * the event (JSON supports all of them).
+ */
+public class EventCodecs {
+    
+    private final Map<String, EventCodec> codecsByContentType = new LinkedHashMap<>();
+    private final EventCodec preferred;
+    
+    public EventCodecs(List<EventCodec> codecs, String preferredContentType) {
+        for (EventCodec codec : codecs) {
+            codecsByContentType.put(codec.getContentType(), codec);
+        }
+        this.preferred = forContentType(preferredContentType);
+    }
+    
+    public EventCodec forContentType(String contentType) {
+        EventCodec codec = contentType == null ? null : codecsByContentType.get(baseType(contentType));
+        if (codec == null) {
+            throw new IllegalArgumentException("No event codec for content type " + contentType);
+        }
+        return codec;
+    }
+    
+    public EventCodec forEvent(DomainEvent event) {
+        if (preferred.supports(event.getClass())) {
+            return preferred;
+        }
+        return codecsByContentType.values().stream()
+            .filter(codec -> codec.supports(event.getClass()))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("No event codec supports " + event.getClass().getName()));
+    }
+    
+    public DomainEvent decode(String contentType, byte[] payload) {
+        return forContentType(contentType).decode(payload);
+    }
+    
+    // Ignore parameters such as "; charset=UTF-8"
+    private static String baseType(String contentType) {
+        int separator = contentType.indexOf(';');
+        return (separator < 0 ? contentType : contentType.substring(0, separator)).trim().toLowerCase();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.taskmanager.common.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only local log of encoded domain events, kept in memory-mapped segment files
+ * named after the first offset they hold. Every event gets the next offset; replay
+ * starts from any offset, finds it through the segment's sparse index and walks the
+ * mapped files sequentially, handing out payload views without copying them.
+ * <p>
+ * Appends are serialized; replays may run concurrently with them and see every record
+ * appended before they reached its segment. Appended records are visible to readers
+ * at once but only durable after {@link #flush()}. Retention deletes whole segments,
+ * oldest first, never the one being written.
+ * <p>
+ * One journal owns its directory: opening takes an exclusive lock on a lock file
+ * there and fails if another process, or another journal in this one, holds it.
+ */
+public class EventJournal implements Closeable {
+    
+    static final String LOCK_FILE = "journal.lock";
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexIntervalBytes;
+    private final NavigableMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final FileLock lock;
+    private volatile JournalSegment active;
+    private volatile boolean closed;
+    
+    public EventJournal(Path directory, int segmentBytes, int indexIntervalBytes) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.lock = lock(directory);
+        try {
+            List<Path> logs;
+            try (Stream<Path> files = Files.list(directory)) {
+                logs = files.filter(file -> file.getFileName().toString().endsWith(JournalSegment.LOG_SUFFIX))
+                    .sorted()
+                    .toList();
+            }
+            for (Path log : logs) {
+                JournalSegment segment = JournalSegment.open(log, indexIntervalBytes);
+                segments.put(segment.baseOffset(), segment);
+            }
+            this.active = segments.isEmpty()
+                ? roll(0)
+                : segments.lastEntry().getValue();
+        } catch (IOException e) {
+            release();
+            throw new UncheckedIOException("Cannot open event journal in " + directory, e);
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+    
+    // Held until close; the OS drops it if the process dies
+    private static FileLock lock(Path directory) {
+        FileChannel channel;
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open event journal in " + directory, e);
+        }
+        FileLock lock = null;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // Held by another journal in this process
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new UncheckedIOException("Cannot lock event journal in " + directory, e);
+        }
+        if (lock == null) {
+            closeQuietly(channel);
+            throw new IllegalStateException("Event journal in " + directory + " is already in use");
+        }
+        return lock;
+    }
+    
+    private void release() {
+        closeQuietly(lock.channel());
+    }
+    
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            // Releases the lock with it
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing left to release
+        }
+    }
+    
+    public long append(DomainEvent event, EventCodec codec) {
+        return append(event.getEventId(), event.getEventType(), event.getAggregateId(), codec.getContentType(),
+            ByteBuffer.wrap(codec.encode(event)));
+    }
+    
+    /**
+     * Appends one encoded event and returns its offset. The payload is copied into the
+     * journal; its position is left unchanged.
+     */
+    public synchronized long append(UUID eventId, String eventType, UUID aggregateId, String contentType,
+                                    ByteBuffer payload) {
+        if (closed) {
+            throw new IllegalStateException("Event journal in " + directory + " is closed");
+        }
+        byte[] eventTypeBytes = eventType.getBytes(StandardCharsets.UTF_8);
+        byte[] contentTypeBytes = contentType.getBytes(StandardCharsets.UTF_8);
+        if (eventTypeBytes.length > Short.MAX_VALUE || contentTypeBytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Event type or content type of event " + eventId + " is too long");
+        }
+        int recordSize = JournalSegment.recordSize(eventTypeBytes, contentTypeBytes, payload.remaining());
+        if (recordSize > segmentBytes) {
+            throw new IllegalArgumentException("Event " + eventId + " needs " + recordSize
+                + " bytes, more than a journal segment holds (" + segmentBytes + ")");
+        }
+        if (!active.hasRoomFor(recordSize)) {
+            active.seal();
+            active = roll(active.nextOffset());
+        }
+        return active.append(eventId, eventTypeBytes, aggregateId, contentTypeBytes, System.currentTimeMillis(),
+            payload);
+    }
+    
+    private JournalSegment roll(long baseOffset) {
+        JournalSegment segment = JournalSegment.create(directory, baseOffset, segmentBytes, indexIntervalBytes);
+        segments.put(baseOffset, segment);
+        return segment;
+    }
+    
+    /**
+     * Hands every record from {@code fromOffset} on to the consumer, in offset order,
+     * and returns the offset to continue from. Offsets already removed by retention are
+     * skipped, so the first record may have a higher offset than requested.
+     */
+    public long replay(long fromOffset, Consumer<JournalRecord> consumer) {
+        Long first = segments.floorKey(fromOffset);
+        long offset = fromOffset;
+        for (JournalSegment segment : segments.tailMap(first != null ? first : Long.MIN_VALUE).values()) {
+            offset = segment.read(offset, consumer);
+        }
+        return offset;
+    }
+    
+    /**
+     * Deletes the oldest sealed segments while the journal is larger than
+     * {@code maxBytes} or their newest record is older than {@code maxAge}, and returns
+     * how many were deleted.
+     */
+    public synchronized int enforceRetention(long maxBytes, Duration maxAge) {
+        long cutoff = System.currentTimeMillis() - maxAge.toMillis();
+        long totalBytes = sizeInBytes();
+        int deleted = 0;
+        for (Map.Entry<Long, JournalSegment> entry : segments.entrySet()) {
+            JournalSegment segment = entry.getValue();
+            if (segment == active || (totalBytes <= maxBytes && segment.lastAppendedAt() >= cutoff)) {
+                break;
+            }
+            segments.remove(entry.getKey());
+            segment.delete();
+            totalBytes -= segment.capacity();
+            deleted++;
+        }
+        return deleted;
+    }
+    
+    public void flush() {
+        active.flush();
+    }
+    
+    // First offset still held, or the next offset if the journal is empty
+    public long firstOffset() {
+        return segments.firstKey();
+    }
+    
+    public long nextOffset() {
+        return active.nextOffset();
+    }
+    
+    // Disk space taken by the preallocated segment files
+    public long sizeInBytes() {
+        return segments.values().stream().mapToLong(JournalSegment::capacity).sum();
+    }
+    
+    public int segmentCount() {
+        return segments.size();
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                active.flush();
+            } finally {
+                release();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,5 +1,11 @@
 package com.taskmanager.common.event;
 
+import java.util.Collection;
+
 public interface EventPublisher {
     void publishEvent(DomainEvent event);
+    
+    default void publishEvents(Collection<? extends DomainEvent> events) {
+        events.forEach(this::publishEvent);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.taskmanager.common.event;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Binary layout of one event type for {@link BinaryEventCodec}. The type id is written
+ * instead of a class name and must never be reused for another event. Changing the
+ * body layout means bumping {@link #getVersion()} and keeping {@link #read} able to
+ * decode every older version still in flight.
+ */
+public interface EventSchema<T extends DomainEvent> {
+    
+    int getTypeId();
+    
+    int getVersion();
+    
+    Class<T> getEventType();
+    
+    void write(T event, BinaryEventWriter writer);
+    
+    T read(int version, UUID eventId, LocalDateTime occurredOn, BinaryEventReader reader);
+}
\ No newline at end of file
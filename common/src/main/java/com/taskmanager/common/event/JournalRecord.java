@@ -0,0 +1,70 @@
+package com.taskmanager.common.event;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * One event read back from an {@link EventJournal}. The payload is a read-only view of
+ * the mapped segment, not a copy: it is only valid during the replay callback, so
+ * decode it there or copy it out with {@link #payloadBytes()}.
+ */
+public final class JournalRecord {
+    
+    private final long offset;
+    private final long appendedAt;
+    private final UUID eventId;
+    private final String eventType;
+    private final UUID aggregateId;
+    private final String contentType;
+    private final ByteBuffer payload;
+    
+    JournalRecord(long offset, long appendedAt, UUID eventId, String eventType, UUID aggregateId,
+                  String contentType, ByteBuffer payload) {
+        this.offset = offset;
+        this.appendedAt = appendedAt;
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.contentType = contentType;
+        this.payload = payload;
+    }
+    
+    public long getOffset() {
+        return offset;
+    }
+    
+    // Epoch millis when the event was written to the journal
+    public long getAppendedAt() {
+        return appendedAt;
+    }
+    
+    public UUID getEventId() {
+        return eventId;
+    }
+    
+    public String getEventType() {
+        return eventType;
+    }
+    
+    public UUID getAggregateId() {
+        return aggregateId;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public ByteBuffer getPayload() {
+        return payload.duplicate();
+    }
+    
+    public byte[] payloadBytes() {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.duplicate().get(bytes);
+        return bytes;
+    }
+    
+    public DomainEvent decode(EventCodecs codecs) {
+        return codecs.decode(contentType, payloadBytes());
+    }
+}
\ No newline at end of file
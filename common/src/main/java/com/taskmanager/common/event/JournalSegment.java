@@ -0,0 +1,338 @@
+package com.taskmanager.common.event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One preallocated, memory-mapped log file of an {@link EventJournal} plus its sparse
+ * offset index. Records are {@code [length][crc32c][body]}, where the body holds the
+ * offset, append time, event id, aggregate id, event type, content type and payload;
+ * unwritten space is zero, so a zero length marks the end of the log. The index maps
+ * every record that starts at least {@code indexIntervalBytes} after the previous
+ * entry to its position. Appends are done by the journal under its lock; reads use
+ * absolute gets only and never go past the published {@link #size}.
+ */
+final class JournalSegment {
+    
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".index";
+    
+    private static final int HEADER_BYTES = 8;
+    // offset, appendedAt, eventId, aggregateId, aggregate flag, two string lengths
+    private static final int FIXED_BODY_BYTES = 8 + 8 + 16 + 16 + 1 + 2 + 2;
+    private static final int INDEX_ENTRY_BYTES = 8;
+    private static final int ZERO_CHUNK_BYTES = 4096;
+    
+    private final long baseOffset;
+    private final Path logPath;
+    private final Path indexPath;
+    private final MappedByteBuffer log;
+    private final MappedByteBuffer index;
+    private final int indexIntervalBytes;
+    private final CRC32C crc = new CRC32C();
+    
+    private int lastIndexedPosition;
+    private volatile int indexEntries;
+    private volatile int size;
+    private volatile long nextOffset;
+    private volatile long lastAppendedAt;
+    
+    private JournalSegment(long baseOffset, Path logPath, int capacity, int indexIntervalBytes) {
+        this.baseOffset = baseOffset;
+        this.logPath = logPath;
+        this.indexPath = logPath.resolveSibling(fileName(baseOffset, INDEX_SUFFIX));
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.log = map(logPath, capacity);
+        this.index = map(indexPath, (capacity / indexIntervalBytes + 1) * INDEX_ENTRY_BYTES);
+        this.nextOffset = baseOffset;
+    }
+    
+    static JournalSegment create(Path directory, long baseOffset, int capacity, int indexIntervalBytes) {
+        JournalSegment segment = new JournalSegment(baseOffset,
+            directory.resolve(fileName(baseOffset, LOG_SUFFIX)), capacity, indexIntervalBytes);
+        segment.lastAppendedAt = System.currentTimeMillis();
+        return segment;
+    }
+    
+    /**
+     * Opens an existing segment and finds its end by scanning forward from the last
+     * index entry. A torn or corrupt record ends the segment; it and anything written
+     * after it are zeroed so a later recovery cannot pick them up again.
+     */
+    static JournalSegment open(Path logPath, int indexIntervalBytes) {
+        String name = logPath.getFileName().toString();
+        long baseOffset = Long.parseLong(name.substring(0, name.length() - LOG_SUFFIX.length()));
+        int capacity;
+        try {
+            capacity = (int) Files.size(logPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read journal segment " + logPath, e);
+        }
+        JournalSegment segment = new JournalSegment(baseOffset, logPath, capacity, indexIntervalBytes);
+        segment.recover();
+        return segment;
+    }
+    
+    private void recover() {
+        int entries = 0;
+        while (entries < index.capacity() / INDEX_ENTRY_BYTES && index.getInt(entries * INDEX_ENTRY_BYTES + 4) > 0) {
+            entries++;
+        }
+        int position = 0;
+        long offset = baseOffset;
+        // Entries are only written after their record, but the record may not have reached disk
+        while (entries > 0) {
+            int indexed = index.getInt((entries - 1) * INDEX_ENTRY_BYTES + 4);
+            if (recordLength(indexed, baseOffset + index.getInt((entries - 1) * INDEX_ENTRY_BYTES)) > 0) {
+                position = indexed;
+                offset = baseOffset + index.getInt((entries - 1) * INDEX_ENTRY_BYTES);
+                break;
+            }
+            entries--;
+        }
+        zero(index, entries * INDEX_ENTRY_BYTES);
+        
+        long appendedAt = 0;
+        int length;
+        while ((length = recordLength(position, offset)) > 0) {
+            appendedAt = log.getLong(position + HEADER_BYTES + 8);
+            position += length;
+            offset++;
+        }
+        zero(log, position);
+        
+        this.indexEntries = entries;
+        this.lastIndexedPosition = entries == 0 ? 0 : index.getInt((entries - 1) * INDEX_ENTRY_BYTES + 4);
+        this.size = position;
+        this.nextOffset = offset;
+        this.lastAppendedAt = appendedAt > 0 ? appendedAt : lastModified();
+    }
+    
+    // Length of the valid record with the given offset at position, or 0 if there is none
+    private int recordLength(int position, long expectedOffset) {
+        if (position + HEADER_BYTES + FIXED_BODY_BYTES > log.capacity()) {
+            return 0;
+        }
+        int bodyLength = log.getInt(position);
+        if (bodyLength < FIXED_BODY_BYTES || position + HEADER_BYTES + bodyLength > log.capacity()) {
+            return 0;
+        }
+        if (log.getLong(position + HEADER_BYTES) != expectedOffset) {
+            return 0;
+        }
+        crc.reset();
+        crc.update(log.slice(position + HEADER_BYTES, bodyLength));
+        if ((int) crc.getValue() != log.getInt(position + 4)) {
+            return 0;
+        }
+        return HEADER_BYTES + bodyLength;
+    }
+    
+    static int recordSize(byte[] eventType, byte[] contentType, int payloadLength) {
+        return HEADER_BYTES + FIXED_BODY_BYTES + eventType.length + contentType.length + payloadLength;
+    }
+    
+    boolean hasRoomFor(int recordSize) {
+        return size + recordSize <= log.capacity();
+    }
+    
+    int capacity() {
+        return log.capacity();
+    }
+    
+    long append(UUID eventId, byte[] eventType, UUID aggregateId, byte[] contentType, long appendedAt,
+                ByteBuffer payload) {
+        int position = size;
+        long offset = nextOffset;
+        int bodyLength = FIXED_BODY_BYTES + eventType.length + contentType.length + payload.remaining();
+        int cursor = position + HEADER_BYTES;
+        log.putLong(cursor, offset);
+        log.putLong(cursor + 8, appendedAt);
+        log.putLong(cursor + 16, eventId.getMostSignificantBits());
+        log.putLong(cursor + 24, eventId.getLeastSignificantBits());
+        log.putLong(cursor + 32, aggregateId == null ? 0 : aggregateId.getMostSignificantBits());
+        log.putLong(cursor + 40, aggregateId == null ? 0 : aggregateId.getLeastSignificantBits());
+        log.put(cursor + 48, (byte) (aggregateId == null ? 0 : 1));
+        log.putShort(cursor + 49, (short) eventType.length);
+        log.put(cursor + 51, eventType);
+        cursor += 51 + eventType.length;
+        log.putShort(cursor, (short) contentType.length);
+        log.put(cursor + 2, contentType);
+        cursor += 2 + contentType.length;
+        log.put(cursor, payload, payload.position(), payload.remaining());
+        
+        crc.reset();
+        crc.update(log.slice(position + HEADER_BYTES, bodyLength));
+        log.putInt(position + 4, (int) crc.getValue());
+        log.putInt(position, bodyLength);
+        
+        if (position > 0 && position - lastIndexedPosition >= indexIntervalBytes) {
+            int entry = indexEntries * INDEX_ENTRY_BYTES;
+            index.putInt(entry, (int) (offset - baseOffset));
+            index.putInt(entry + 4, position);
+            lastIndexedPosition = position;
+            indexEntries++;
+        }
+        lastAppendedAt = appendedAt;
+        nextOffset = offset + 1;
+        // Publishes the record to readers
+        size = position + HEADER_BYTES + bodyLength;
+        return offset;
+    }
+    
+    /**
+     * Hands every record from {@code fromOffset} up to the end seen on entry to the
+     * consumer, and returns the offset after the last one.
+     */
+    long read(long fromOffset, Consumer<JournalRecord> consumer) {
+        int end = size;
+        long offset = Math.max(fromOffset, baseOffset);
+        int position = positionOf(offset, end);
+        while (position < end) {
+            int bodyLength = log.getInt(position);
+            consumer.accept(record(position, bodyLength));
+            position += HEADER_BYTES + bodyLength;
+            offset++;
+        }
+        return offset;
+    }
+    
+    // Start of the record with the given offset, or end if it has not been written
+    private int positionOf(long offset, int end) {
+        int low = 0;
+        int high = indexEntries - 1;
+        int position = 0;
+        long relative = offset - baseOffset;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (index.getInt(middle * INDEX_ENTRY_BYTES) <= relative) {
+                position = index.getInt(middle * INDEX_ENTRY_BYTES + 4);
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        while (position < end && log.getLong(position + HEADER_BYTES) < offset) {
+            position += HEADER_BYTES + log.getInt(position);
+        }
+        return position;
+    }
+    
+    private JournalRecord record(int position, int bodyLength) {
+        int cursor = position + HEADER_BYTES;
+        UUID aggregateId = log.get(cursor + 48) == 0
+            ? null
+            : new UUID(log.getLong(cursor + 32), log.getLong(cursor + 40));
+        int eventTypeLength = log.getShort(cursor + 49);
+        String eventType = string(cursor + 51, eventTypeLength);
+        cursor += 51 + eventTypeLength;
+        int contentTypeLength = log.getShort(cursor);
+        String contentType = string(cursor + 2, contentTypeLength);
+        cursor += 2 + contentTypeLength;
+        int payloadLength = position + HEADER_BYTES + bodyLength - cursor;
+        return new JournalRecord(
+            log.getLong(position + HEADER_BYTES),
+            log.getLong(position + HEADER_BYTES + 8),
+            new UUID(log.getLong(position + HEADER_BYTES + 16), log.getLong(position + HEADER_BYTES + 24)),
+            eventType,
+            aggregateId,
+            contentType,
+            log.slice(cursor, payloadLength).asReadOnlyBuffer());
+    }
+    
+    private String string(int position, int length) {
+        byte[] bytes = new byte[length];
+        log.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    void flush() {
+        log.force();
+        index.force();
+    }
+    
+    // Called when the journal rolls to a new segment, so age-based retention can use the file time
+    void seal() {
+        flush();
+        try {
+            Files.setLastModifiedTime(logPath, FileTime.fromMillis(lastAppendedAt));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot seal journal segment " + logPath, e);
+        }
+    }
+    
+    /**
+     * Removes the files. The mapping itself is only released once the buffers are
+     * garbage collected, so a replay still reading this segment is not affected.
+     */
+    void delete() {
+        try {
+            Files.deleteIfExists(logPath);
+            Files.deleteIfExists(indexPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete journal segment " + logPath, e);
+        }
+    }
+    
+    long baseOffset() {
+        return baseOffset;
+    }
+    
+    long nextOffset() {
+        return nextOffset;
+    }
+    
+    long lastAppendedAt() {
+        return lastAppendedAt;
+    }
+    
+    private long lastModified() {
+        try {
+            return Files.getLastModifiedTime(logPath).toMillis();
+        } catch (IOException e) {
+            return System.currentTimeMillis();
+        }
+    }
+    
+    // Zeroes from position until the first chunk that is already empty
+    private static void zero(MappedByteBuffer buffer, int position) {
+        while (position < buffer.capacity()) {
+            int end = Math.min(position + ZERO_CHUNK_BYTES, buffer.capacity());
+            boolean dirty = false;
+            for (int i = position; i < end; i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                    dirty = true;
+                }
+            }
+            if (!dirty) {
+                return;
+            }
+            position = end;
+        }
+    }
+    
+    private static MappedByteBuffer map(Path path, int capacity) {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map journal file " + path, e);
+        }
+    }
+    
+    static String fileName(long baseOffset, String suffix) {
+        return String.format("%020d%s", baseOffset, suffix);
+    }
+}
\ No newline at end of file
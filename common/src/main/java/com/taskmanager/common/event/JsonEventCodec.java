@@ -0,0 +1,48 @@
+package com.taskmanager.common.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * The original JSON encoding: Jackson with the event's class name in {@code @class}.
+ * Supports every event type, so it is the fallback for events without a binary schema.
+ */
+public class JsonEventCodec implements EventCodec {
+    
+    public static final String CONTENT_TYPE = "application/json";
+    
+    private final ObjectMapper objectMapper;
+    
+    public JsonEventCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+    
+    @Override
+    public boolean supports(Class<? extends DomainEvent> eventType) {
+        return true;
+    }
+    
+    @Override
+    public byte[] encode(DomainEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize domain event " + event.getEventId(), e);
+        }
+    }
+    
+    @Override
+    public DomainEvent decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, DomainEvent.class);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to deserialize domain event", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.taskmanager.common.exception;
+
+public class ConflictException extends BusinessException {
+    
+    public ConflictException(String errorCode, String message) {
+        super(errorCode, message);
+    }
+    
+    public ConflictException(String errorCode, String message, Throwable cause) {
+        super(errorCode, message, cause);
+    }
+}
\ No newline at end of file
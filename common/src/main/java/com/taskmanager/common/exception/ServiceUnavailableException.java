@@ -0,0 +1,12 @@
+package com.taskmanager.common.exception;
+
+public class ServiceUnavailableException extends BusinessException {
+    
+    public ServiceUnavailableException(String errorCode, String message) {
+        super(errorCode, message);
+    }
+    
+    public ServiceUnavailableException(String errorCode, String message, Throwable cause) {
+        super(errorCode, message, cause);
+    }
+}
\ No newline at end of file
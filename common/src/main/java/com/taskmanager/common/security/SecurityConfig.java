@@ -1,5 +1,6 @@
 package com.taskmanager.common.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,7 +10,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class SecurityConfig {
     
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:12}") int strength) {
+        // Hashes created with a lower strength report upgradeEncoding() == true,
+        // which lets services rehash them transparently on the next successful login.
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
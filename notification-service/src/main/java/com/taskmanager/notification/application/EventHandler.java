@@ -0,0 +1,14 @@
+package com.taskmanager.notification.application;
+
+/**
+ * Reacts to one or more event types. Events of the same aggregate are handed over one
+ * at a time and in publish order; a handler that throws gets the event again on
+ * redelivery, and events it has already handled are filtered out by event id within
+ * the dedup window.
+ */
+public interface EventHandler {
+    
+    boolean supports(String eventType);
+    
+    void handle(ReceivedEvent event) throws Exception;
+}
\ No newline at end of file
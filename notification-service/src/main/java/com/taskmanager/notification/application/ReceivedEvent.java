@@ -0,0 +1,36 @@
+package com.taskmanager.notification.application;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A domain event as it arrived from the broker. The payload is left encoded: handlers
+ * decode it with the codec for {@link #getContentType()} and the schemas of the event
+ * types they handle, so this service does not need every producer's event classes.
+ */
+public class ReceivedEvent {
+    
+    private final UUID eventId;
+    private final String eventType;
+    private final UUID aggregateId;
+    private final LocalDateTime occurredOn;
+    private final String contentType;
+    private final byte[] payload;
+    
+    public ReceivedEvent(UUID eventId, String eventType, UUID aggregateId, LocalDateTime occurredOn,
+                         String contentType, byte[] payload) {
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.occurredOn = occurredOn;
+        this.contentType = contentType;
+        this.payload = payload;
+    }
+    
+    public UUID getEventId() { return eventId; }
+    public String getEventType() { return eventType; }
+    public UUID getAggregateId() { return aggregateId; }
+    public LocalDateTime getOccurredOn() { return occurredOn; }
+    public String getContentType() { return contentType; }
+    public byte[] getPayload() { return payload; }
+}
\ No newline at end of file
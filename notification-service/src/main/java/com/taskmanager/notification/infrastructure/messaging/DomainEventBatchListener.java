@@ -0,0 +1,150 @@
+package com.taskmanager.notification.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import com.taskmanager.notification.application.ReceivedEvent;
+import com.taskmanager.notification.infrastructure.messaging.PartitionedEventProcessor.Outcome;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes domain.events in batches with manual acks. A batch that was handled
+ * completely is settled with one multiple-ack for its last delivery tag; otherwise
+ * the handled messages are acked one by one and the rest are requeued. A failed
+ * message is dead-lettered instead when it fails again after a redelivery; one that
+ * was skipped behind a failed event of its aggregate is always requeued, as it has
+ * not been tried yet. Messages that are not domain events (no message id or type)
+ * are dead-lettered straight away.
+ */
+@Component
+public class DomainEventBatchListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBatchListener.class);
+    private static final String AGGREGATE_ID_HEADER = "x-aggregate-id";
+    
+    private final PartitionedEventProcessor processor;
+    
+    private final DistributionSummary batchSizeSummary;
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+    private final Counter rejectedCounter;
+    
+    public DomainEventBatchListener(PartitionedEventProcessor processor, MeterRegistry meterRegistry) {
+        this.processor = processor;
+        
+        this.batchSizeSummary = DistributionSummary.builder("notifications.consumer.batch.size")
+            .description("Number of messages per consumed batch")
+            .register(meterRegistry);
+        this.lagTimer = Timer.builder("notifications.consumer.lag")
+            .description("Time from event publish to consumption")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("notifications.consumer.batch.duration")
+            .description("Time to handle and settle one batch")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("notifications.consumer.events")
+            .description("Consumed events by outcome")
+            .tag("outcome", "rejected")
+            .register(meterRegistry);
+    }
+    
+    @RabbitListener(queues = "${notifications.consumer.queue:notification.events}",
+                    containerFactory = "domainEventContainerFactory")
+    public void onBatch(List<Message> messages, Channel channel) throws IOException {
+        if (messages.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        batchSizeSummary.record(messages.size());
+        
+        List<ReceivedEvent> events = new ArrayList<>(messages.size());
+        List<Message> eventMessages = new ArrayList<>(messages.size());
+        List<Message> rejected = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Message message : messages) {
+            ReceivedEvent event = toEvent(message);
+            if (event == null) {
+                rejected.add(message);
+                continue;
+            }
+            events.add(event);
+            eventMessages.add(message);
+            if (message.getMessageProperties().getTimestamp() != null) {
+                lagTimer.record(Math.max(0, now - message.getMessageProperties().getTimestamp().getTime()),
+                    TimeUnit.MILLISECONDS);
+            }
+        }
+        
+        Outcome[] outcomes = processor.process(events);
+        settle(channel, messages, events, eventMessages, outcomes, rejected);
+        sample.stop(batchTimer);
+    }
+    
+    private void settle(Channel channel, List<Message> messages, List<ReceivedEvent> events,
+                        List<Message> eventMessages, Outcome[] outcomes, List<Message> rejected) throws IOException {
+        boolean allSucceeded = rejected.isEmpty();
+        for (Outcome outcome : outcomes) {
+            allSucceeded &= outcome == Outcome.HANDLED;
+        }
+        if (allSucceeded) {
+            channel.basicAck(deliveryTag(messages.get(messages.size() - 1)), true);
+            return;
+        }
+        
+        for (Message message : rejected) {
+            rejectedCounter.increment();
+            logger.warn("Dead-lettering message without event id or type: {}", message.getMessageProperties());
+            channel.basicNack(deliveryTag(message), false, false);
+        }
+        for (int i = 0; i < eventMessages.size(); i++) {
+            Message message = eventMessages.get(i);
+            if (outcomes[i] == Outcome.HANDLED) {
+                channel.basicAck(deliveryTag(message), false);
+            } else if (outcomes[i] == Outcome.SKIPPED) {
+                channel.basicNack(deliveryTag(message), false, true);
+            } else if (!Boolean.TRUE.equals(message.getMessageProperties().isRedelivered())) {
+                // Requeue once; a second failure goes to the dead-letter queue
+                channel.basicNack(deliveryTag(message), false, true);
+            } else {
+                channel.basicNack(deliveryTag(message), false, false);
+                processor.deadLettered(events.get(i));
+            }
+        }
+    }
+    
+    private static long deliveryTag(Message message) {
+        return message.getMessageProperties().getDeliveryTag();
+    }
+    
+    private static ReceivedEvent toEvent(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        if (properties.getMessageId() == null || properties.getType() == null) {
+            return null;
+        }
+        try {
+            UUID eventId = UUID.fromString(properties.getMessageId());
+            Object aggregateHeader = properties.getHeader(AGGREGATE_ID_HEADER);
+            UUID aggregateId = aggregateHeader == null ? null : UUID.fromString(aggregateHeader.toString());
+            LocalDateTime occurredOn = properties.getTimestamp() == null ? null
+                : LocalDateTime.ofInstant(properties.getTimestamp().toInstant(), ZoneId.systemDefault());
+            return new ReceivedEvent(eventId, properties.getType(), aggregateId, occurredOn,
+                properties.getContentType(), message.getBody());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
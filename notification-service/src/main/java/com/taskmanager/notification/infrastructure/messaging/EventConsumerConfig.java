@@ -0,0 +1,93 @@
+package com.taskmanager.notification.infrastructure.messaging;
+
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.FanoutExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Topology and listener container for consuming domain.events. The queue
+ * dead-letters into its own exchange so messages that keep failing are parked
+ * instead of blocking the batch.
+ */
+@Configuration
+public class EventConsumerConfig {
+    
+    private static final String EXCHANGE_NAME = "domain.events";
+    
+    @Bean
+    public TopicExchange domainEventsExchange() {
+        return new TopicExchange(EXCHANGE_NAME, true, false);
+    }
+    
+    @Bean
+    public FanoutExchange deadLetterExchange(
+            @Value("${notifications.consumer.dead-letter-exchange:domain.events.dlx}") String name) {
+        return new FanoutExchange(name, true, false);
+    }
+    
+    @Bean
+    public Queue notificationEventsQueue(
+            @Value("${notifications.consumer.queue:notification.events}") String name,
+            @Value("${notifications.consumer.dead-letter-exchange:domain.events.dlx}") String deadLetterExchange) {
+        return QueueBuilder.durable(name)
+            .deadLetterExchange(deadLetterExchange)
+            .build();
+    }
+    
+    @Bean
+    public Queue notificationEventsDeadLetterQueue(
+            @Value("${notifications.consumer.queue:notification.events}") String name) {
+        return QueueBuilder.durable(name + ".dlq").build();
+    }
+    
+    @Bean
+    public Binding notificationEventsBinding(Queue notificationEventsQueue, TopicExchange domainEventsExchange,
+                                             @Value("${notifications.consumer.binding-key:#}") String bindingKey) {
+        return BindingBuilder.bind(notificationEventsQueue).to(domainEventsExchange).with(bindingKey);
+    }
+    
+    @Bean
+    public Binding notificationEventsDeadLetterBinding(Queue notificationEventsDeadLetterQueue,
+                                                       FanoutExchange deadLetterExchange) {
+        return BindingBuilder.bind(notificationEventsDeadLetterQueue).to(deadLetterExchange);
+    }
+    
+    @Bean
+    public SeenEventWindow seenEventWindow(
+            @Value("${notifications.consumer.dedup-window:10m}") Duration window,
+            @Value("${notifications.consumer.dedup-max-size:100000}") long maximumSize) {
+        return new SeenEventWindow(window, maximumSize);
+    }
+    
+    @Bean
+    public SimpleRabbitListenerContainerFactory domainEventContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${notifications.consumer.prefetch:250}") int prefetch,
+            @Value("${notifications.consumer.batch-size:50}") int batchSize,
+            @Value("${notifications.consumer.batch-receive-timeout:200ms}") Duration batchReceiveTimeout,
+            @Value("${notifications.consumer.concurrency:1}") int concurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        // The prefetch must cover a full batch or the consumer waits for the receive timeout
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setReceiveTimeout(batchReceiveTimeout.toMillis());
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(concurrency);
+        return factory;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.taskmanager.notification.infrastructure.messaging;
+
+import com.taskmanager.notification.application.EventHandler;
+import com.taskmanager.notification.application.ReceivedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the events of one batch in parallel, partitioned by aggregate id. Each partition
+ * has a single thread, so events of one aggregate are handled one after another in
+ * batch order, also across batches. When an event fails its aggregate is parked: every
+ * other event of that aggregate is skipped, in this batch and in later ones the prefetch
+ * already holds, until the failed event comes back and succeeds or is dead-lettered.
+ * A park that outlives {@code notifications.consumer.park-timeout} is dropped, so an
+ * event that never comes back cannot hold its aggregate forever.
+ */
+@Component
+public class PartitionedEventProcessor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedEventProcessor.class);
+    
+    private final List<EventHandler> handlers;
+    private final SeenEventWindow seenEvents;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService[] partitions;
+    private final long parkTimeoutNanos;
+    // Aggregate id to the failed event holding it, shared by all partitions
+    private final Map<UUID, ParkedAggregate> parked = new ConcurrentHashMap<>();
+    
+    private final Counter processedCounter;
+    private final Counter duplicateCounter;
+    private final Counter failedCounter;
+    private final Counter skippedCounter;
+    private final Counter ignoredCounter;
+    
+    public PartitionedEventProcessor(List<EventHandler> handlers,
+                                     SeenEventWindow seenEvents,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${notifications.consumer.partitions:8}") int partitionCount,
+                                     @Value("${notifications.consumer.park-timeout:5m}") Duration parkTimeout) {
+        this.handlers = handlers;
+        this.parkTimeoutNanos = parkTimeout.toNanos();
+        this.seenEvents = seenEvents;
+        this.meterRegistry = meterRegistry;
+        this.partitions = new ExecutorService[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            String threadName = "event-partition-" + i;
+            partitions[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        
+        Gauge.builder("notifications.consumer.seen", seenEvents, SeenEventWindow::size)
+            .description("Event ids remembered for deduplication")
+            .register(meterRegistry);
+        Gauge.builder("notifications.consumer.parked", parked, Map::size)
+            .description("Aggregates held back behind a failed event")
+            .register(meterRegistry);
+        this.processedCounter = outcomeCounter(meterRegistry, "processed");
+        this.duplicateCounter = outcomeCounter(meterRegistry, "duplicate");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.skippedCounter = outcomeCounter(meterRegistry, "skipped");
+        this.ignoredCounter = outcomeCounter(meterRegistry, "ignored");
+    }
+    
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notifications.consumer.events")
+            .description("Consumed events by outcome")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Handles the batch and returns the outcome of each event. Blocks until every
+     * partition has finished its share.
+     */
+    public Outcome[] process(List<ReceivedEvent> events) {
+        Outcome[] outcomes = new Outcome[events.size()];
+        List<List<Integer>> byPartition = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) {
+            byPartition.add(new ArrayList<>());
+        }
+        for (int i = 0; i < events.size(); i++) {
+            byPartition.get(partitionOf(events.get(i))).add(i);
+        }
+        
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (int p = 0; p < partitions.length; p++) {
+            List<Integer> indexes = byPartition.get(p);
+            if (!indexes.isEmpty()) {
+                running.add(CompletableFuture.runAsync(
+                    () -> processPartition(events, indexes, outcomes), partitions[p]));
+            }
+        }
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).join();
+        return outcomes;
+    }
+    
+    /**
+     * Releases the aggregate of a failed event that will not be redelivered, so the
+     * events behind it can run.
+     */
+    public void deadLettered(ReceivedEvent event) {
+        unpark(event);
+    }
+    
+    private int partitionOf(ReceivedEvent event) {
+        UUID key = event.getAggregateId() != null ? event.getAggregateId() : event.getEventId();
+        return Math.floorMod(key.hashCode(), partitions.length);
+    }
+    
+    private void processPartition(List<ReceivedEvent> events, List<Integer> indexes, Outcome[] outcomes) {
+        for (int index : indexes) {
+            ReceivedEvent event = events.get(index);
+            if (isHeldBack(event)) {
+                skippedCounter.increment();
+                outcomes[index] = Outcome.SKIPPED;
+                continue;
+            }
+            if (!seenEvents.tryClaim(event.getEventId())) {
+                duplicateCounter.increment();
+                logger.debug("Skipping duplicate event {}", event.getEventId());
+                unpark(event);
+                outcomes[index] = Outcome.HANDLED;
+                continue;
+            }
+            try {
+                handle(event);
+                unpark(event);
+                outcomes[index] = Outcome.HANDLED;
+            } catch (Exception e) {
+                seenEvents.release(event.getEventId());
+                failedCounter.increment();
+                if (event.getAggregateId() != null) {
+                    parked.putIfAbsent(event.getAggregateId(),
+                        new ParkedAggregate(event.getEventId(), System.nanoTime()));
+                }
+                outcomes[index] = Outcome.FAILED;
+                logger.warn("Handling event {} ({}) failed", event.getEventId(), event.getEventType(), e);
+            }
+        }
+    }
+    
+    private boolean isHeldBack(ReceivedEvent event) {
+        if (event.getAggregateId() == null) {
+            return false;
+        }
+        ParkedAggregate park = parked.get(event.getAggregateId());
+        if (park == null || park.eventId().equals(event.getEventId())) {
+            return false;
+        }
+        if (System.nanoTime() - park.sinceNanos() > parkTimeoutNanos) {
+            logger.warn("Event {} did not come back in time; releasing aggregate {}",
+                park.eventId(), event.getAggregateId());
+            parked.remove(event.getAggregateId(), park);
+            return false;
+        }
+        return true;
+    }
+    
+    private void unpark(ReceivedEvent event) {
+        if (event.getAggregateId() != null) {
+            parked.computeIfPresent(event.getAggregateId(),
+                (id, park) -> park.eventId().equals(event.getEventId()) ? null : park);
+        }
+    }
+    
+    private void handle(ReceivedEvent event) throws Exception {
+        boolean handled = false;
+        for (EventHandler handler : handlers) {
+            if (handler.supports(event.getEventType())) {
+                Timer.Sample sample = Timer.start();
+                handler.handle(event);
+                sample.stop(Timer.builder("notifications.consumer.handler.latency")
+                    .description("Time spent in event handlers per event")
+                    .tag("type", event.getEventType())
+                    .register(meterRegistry));
+                handled = true;
+            }
+        }
+        if (handled) {
+            processedCounter.increment();
+        } else {
+            ignoredCounter.increment();
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        for (ExecutorService partition : partitions) {
+            partition.shutdown();
+        }
+    }
+    
+    public enum Outcome {
+        /** Handled now or before; ack it. */
+        HANDLED,
+        /** The handler failed; retry or dead-letter it. */
+        FAILED,
+        /** Not attempted because its aggregate is parked; always requeue it. */
+        SKIPPED
+    }
+    
+    private record ParkedAggregate(UUID eventId, long sinceNanos) {}
+}
\ No newline at end of file
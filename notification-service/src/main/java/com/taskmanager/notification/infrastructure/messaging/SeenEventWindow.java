@@ -0,0 +1,42 @@
+package com.taskmanager.notification.infrastructure.messaging;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Event ids handled (or being handled) within the last window. Redeliveries and
+ * duplicate publishes normally arrive within seconds, so a bounded window is enough;
+ * once the size limit is hit the oldest ids are evicted early and a very late
+ * duplicate can slip through.
+ */
+public class SeenEventWindow {
+    
+    private final Cache<UUID, Boolean> seen;
+    
+    public SeenEventWindow(Duration window, long maximumSize) {
+        this.seen = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumSize(maximumSize)
+            .build();
+    }
+    
+    /**
+     * Claims the event for handling; false if it was already handled or another
+     * consumer is handling it right now.
+     */
+    public boolean tryClaim(UUID eventId) {
+        return seen.asMap().putIfAbsent(eventId, Boolean.TRUE) == null;
+    }
+    
+    // Called when handling failed, so the redelivery is not taken for a duplicate
+    public void release(UUID eventId) {
+        seen.invalidate(eventId);
+    }
+    
+    public long size() {
+        return seen.estimatedSize();
+    }
+}
\ No newline at end of file
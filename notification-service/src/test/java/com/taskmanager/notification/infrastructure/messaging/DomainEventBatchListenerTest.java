@@ -0,0 +1,267 @@
+package com.taskmanager.notification.infrastructure.messaging;
+
+import com.rabbitmq.client.Channel;
+import com.taskmanager.notification.application.EventHandler;
+import com.taskmanager.notification.application.ReceivedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DomainEventBatchListenerTest {
+    
+    @Mock
+    private Channel channel;
+    
+    private final RecordingHandler handler = new RecordingHandler();
+    private PartitionedEventProcessor processor;
+    private DomainEventBatchListener listener;
+    private long nextDeliveryTag = 1;
+    
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        processor = new PartitionedEventProcessor(List.of(handler),
+            new SeenEventWindow(Duration.ofMinutes(10), 10_000), meterRegistry, 4, Duration.ofMinutes(5));
+        listener = new DomainEventBatchListener(processor, meterRegistry);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+    
+    @Test
+    void onBatch_ShouldAckWholeBatchOnce_WhenEveryEventSucceeds() throws Exception {
+        // Given
+        List<Message> batch = List.of(message(UUID.randomUUID()), message(UUID.randomUUID()),
+            message(UUID.randomUUID()));
+        
+        // When
+        listener.onBatch(batch, channel);
+        
+        // Then
+        assertThat(handler.handled).hasSize(3);
+        verify(channel).basicAck(3L, true);
+        verifyNoMoreInteractions(channel);
+    }
+    
+    @Test
+    void onBatch_ShouldSkipEvent_WhenItWasAlreadyHandled() throws Exception {
+        // Given
+        UUID aggregateId = UUID.randomUUID();
+        Message first = message(aggregateId);
+        Message duplicate = message(aggregateId, first.getMessageProperties().getMessageId(), true);
+        listener.onBatch(List.of(first), channel);
+        
+        // When
+        listener.onBatch(List.of(duplicate), channel);
+        
+        // Then
+        assertThat(handler.handled).hasSize(1);
+        verify(channel).basicAck(2L, true);
+    }
+    
+    @Test
+    void onBatch_ShouldRequeueFailedEventAndLaterEventsOfSameAggregate_WhenHandlerFails() throws Exception {
+        // Given
+        UUID failing = UUID.randomUUID();
+        Message failed = message(failing);
+        Message behindFailed = message(failing);
+        Message other = message(UUID.randomUUID());
+        handler.failOn.add(failed.getMessageProperties().getMessageId());
+        
+        // When
+        listener.onBatch(List.of(failed, behindFailed, other), channel);
+        
+        // Then
+        assertThat(handler.handled).extracting(ReceivedEvent::getAggregateId).doesNotContain(failing);
+        verify(channel).basicNack(1L, false, true);
+        verify(channel).basicNack(2L, false, true);
+        verify(channel).basicAck(3L, false);
+        verify(channel, never()).basicAck(anyLong(), eq(true));
+    }
+    
+    @Test
+    void onBatch_ShouldHoldBackAggregateAcrossBatches_UntilFailedEventSucceeds() throws Exception {
+        // Given
+        UUID aggregateId = UUID.randomUUID();
+        Message failed = message(aggregateId);
+        String failedId = failed.getMessageProperties().getMessageId();
+        handler.failOn.add(failedId);
+        listener.onBatch(List.of(failed), channel);
+        handler.failOn.clear();
+        // Prefetched behind the failed event, so it arrives before the redelivery
+        Message behindFailed = message(aggregateId);
+        String behindId = behindFailed.getMessageProperties().getMessageId();
+        
+        // When
+        listener.onBatch(List.of(behindFailed), channel);
+        Message skippedAgain = message(aggregateId, behindId, true);
+        listener.onBatch(List.of(skippedAgain), channel);
+        listener.onBatch(List.of(message(aggregateId, failedId, true), message(aggregateId, behindId, true)),
+            channel);
+        
+        // Then
+        assertThat(handler.handled).extracting(event -> event.getEventId().toString())
+            .containsExactly(failedId, behindId);
+        verify(channel).basicNack(2L, false, true);
+        verify(channel).basicNack(3L, false, true);
+        verify(channel).basicAck(5L, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), eq(false));
+    }
+    
+    @Test
+    void onBatch_ShouldReleaseAggregate_WhenFailedEventIsDeadLettered() throws Exception {
+        // Given
+        UUID aggregateId = UUID.randomUUID();
+        Message failed = message(aggregateId);
+        String failedId = failed.getMessageProperties().getMessageId();
+        handler.failOn.add(failedId);
+        listener.onBatch(List.of(failed), channel);
+        listener.onBatch(List.of(message(aggregateId, failedId, true)), channel);
+        
+        // When
+        listener.onBatch(List.of(message(aggregateId)), channel);
+        
+        // Then
+        verify(channel).basicNack(2L, false, false);
+        verify(channel).basicAck(3L, true);
+        assertThat(handler.handled).hasSize(1);
+    }
+    
+    @Test
+    void onBatch_ShouldHandleRedelivery_WhenEarlierAttemptFailed() throws Exception {
+        // Given
+        UUID aggregateId = UUID.randomUUID();
+        Message failed = message(aggregateId);
+        String eventId = failed.getMessageProperties().getMessageId();
+        handler.failOn.add(eventId);
+        listener.onBatch(List.of(failed), channel);
+        handler.failOn.clear();
+        
+        // When
+        listener.onBatch(List.of(message(aggregateId, eventId, true)), channel);
+        
+        // Then
+        assertThat(handler.handled).extracting(event -> event.getEventId().toString()).containsExactly(eventId);
+        verify(channel).basicAck(2L, true);
+    }
+    
+    @Test
+    void onBatch_ShouldDeadLetter_WhenRedeliveredEventFailsAgain() throws Exception {
+        // Given
+        UUID aggregateId = UUID.randomUUID();
+        Message redelivered = message(aggregateId, UUID.randomUUID().toString(), true);
+        handler.failOn.add(redelivered.getMessageProperties().getMessageId());
+        
+        // When
+        listener.onBatch(List.of(redelivered), channel);
+        
+        // Then
+        verify(channel).basicNack(1L, false, false);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+    
+    @Test
+    void onBatch_ShouldDeadLetterMessage_WhenItIsNotADomainEvent() throws Exception {
+        // Given
+        Message event = message(UUID.randomUUID());
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(nextDeliveryTag++);
+        Message unknown = new Message(new byte[0], properties);
+        
+        // When
+        listener.onBatch(List.of(event, unknown), channel);
+        
+        // Then
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicNack(2L, false, false);
+    }
+    
+    @Test
+    void onBatch_ShouldKeepPublishOrderPerAggregate_WhenProcessingInParallel() throws Exception {
+        // Given
+        List<UUID> aggregates = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            UUID.randomUUID(), UUID.randomUUID());
+        Map<UUID, List<String>> published = new LinkedHashMap<>();
+        List<Message> batch = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID aggregateId = aggregates.get(i % aggregates.size());
+            Message message = message(aggregateId);
+            published.computeIfAbsent(aggregateId, id -> new ArrayList<>())
+                .add(message.getMessageProperties().getMessageId());
+            batch.add(message);
+        }
+        
+        // When
+        listener.onBatch(batch, channel);
+        
+        // Then
+        for (UUID aggregateId : aggregates) {
+            assertThat(handler.handled.stream()
+                .filter(event -> event.getAggregateId().equals(aggregateId))
+                .map(event -> event.getEventId().toString()))
+                .containsExactlyElementsOf(published.get(aggregateId));
+        }
+        verify(channel).basicAck(200L, true);
+    }
+    
+    private Message message(UUID aggregateId) {
+        return message(aggregateId, UUID.randomUUID().toString(), false);
+    }
+    
+    private Message message(UUID aggregateId, String eventId, boolean redelivered) {
+        MessageProperties properties = new MessageProperties();
+        properties.setMessageId(eventId);
+        properties.setType("USER_UPDATED");
+        properties.setContentType("application/json");
+        properties.setTimestamp(new Date());
+        properties.setHeader("x-aggregate-id", aggregateId.toString());
+        properties.setDeliveryTag(nextDeliveryTag++);
+        properties.setRedelivered(redelivered);
+        return new Message("{}".getBytes(), properties);
+    }
+    
+    private static final class RecordingHandler implements EventHandler {
+        
+        private final List<ReceivedEvent> handled = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> failOn = Collections.synchronizedSet(new HashSet<>());
+        
+        @Override
+        public boolean supports(String eventType) {
+            return true;
+        }
+        
+        @Override
+        public void handle(ReceivedEvent event) {
+            if (failOn.contains(event.getEventId().toString())) {
+                throw new IllegalStateException("Handler failed for " + event.getEventId());
+            }
+            handled.add(event);
+        }
+    }
+}
\ No newline at end of file
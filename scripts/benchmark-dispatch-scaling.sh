@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+#
+# Runs TaskDispatchBenchmark with 1, 2, 4, ... MAX_WORKERS threads against a Postgres
+# that has the tasks table migrated, and prints claimed tasks/s per worker count for
+# home-shard claiming next to claiming from all shards.
+#
+#   JDBC_URL=jdbc:postgresql://localhost:5432/taskmanager_tasks MAX_WORKERS=16 \
+#       scripts/benchmark-dispatch-scaling.sh
+#
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JDBC_URL="${JDBC_URL:-jdbc:postgresql://localhost:5432/taskmanager_tasks}"
+DB_USER="${DB_USER:-taskmanager}"
+DB_PASSWORD="${DB_PASSWORD:-password}"
+MAX_WORKERS="${MAX_WORKERS:-16}"
+RESULTS_DIR="${RESULTS_DIR:-$ROOT_DIR/target/dispatch-scaling}"
+
+mkdir -p "$RESULTS_DIR"
+
+echo "Building benchmarks..."
+mvn -B -q -f "$ROOT_DIR/pom.xml" -pl benchmarks -am package -DskipTests
+JAR="$ROOT_DIR/benchmarks/target/benchmarks.jar"
+
+threads=1
+while [[ "$threads" -le "$MAX_WORKERS" ]]; do
+    echo "Running with $threads worker(s)..."
+    java -jar "$JAR" TaskDispatchBenchmark -t "$threads" \
+        -p jdbcUrl="$JDBC_URL" -p username="$DB_USER" -p password="$DB_PASSWORD" \
+        -rf csv -rff "$RESULTS_DIR/workers-$threads.csv" > "$RESULTS_DIR/workers-$threads.log"
+    threads=$((threads * 2))
+done
+
+echo
+printf '%-8s %-8s %14s\n' "workers" "sharded" "tasks/s"
+threads=1
+while [[ "$threads" -le "$MAX_WORKERS" ]]; do
+    awk -F, -v t="$threads" '
+        { gsub(/"/, "") }
+        NR == 1 { for (i = 1; i <= NF; i++) if ($i == "Param: sharded") col = i; next }
+        $1 ~ /claimAndComplete:tasks$/ { printf "%-8s %-8s %14.0f\n", t, $col, $5 }
+    ' "$RESULTS_DIR/workers-$threads.csv"
+    threads=$((threads * 2))
+done
+echo
+echo "Raw results are in $RESULTS_DIR"
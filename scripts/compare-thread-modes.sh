@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+#
+# Runs user-service once on platform threads and once in the virtual-threads profile
+# and drives the same load against both, printing throughput and latency side by side.
+#
+# Requires: a Java 21 runtime, the dependencies from docker-compose.yml, and `hey`
+# (https://github.com/rakyll/hey).
+#
+#   TARGET_PATH=/api/v1/users/<id> AUTH_HEADER="Authorization: Bearer <token>" \
+#       scripts/compare-thread-modes.sh
+#
+set -euo pipefail
+
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+PORT="${PORT:-8081}"
+TARGET_PATH="${TARGET_PATH:-/actuator/health}"
+AUTH_HEADER="${AUTH_HEADER:-}"
+CONCURRENCY="${CONCURRENCY:-400}"
+DURATION="${DURATION:-60s}"
+WARMUP="${WARMUP:-15s}"
+RESULTS_DIR="${RESULTS_DIR:-$ROOT_DIR/target/thread-mode-comparison}"
+
+mkdir -p "$RESULTS_DIR"
+
+echo "Building user-service..."
+mvn -B -q -f "$ROOT_DIR/pom.xml" -pl user-service -am package -DskipTests
+JAR="$(ls "$ROOT_DIR"/user-service/target/user-service-*-exec.jar | head -n 1)"
+
+hey_args=(-z "$DURATION" -c "$CONCURRENCY")
+if [[ -n "$AUTH_HEADER" ]]; then
+    hey_args+=(-H "$AUTH_HEADER")
+fi
+
+wait_until_up() {
+    for _ in $(seq 1 90); do
+        if curl -fs "http://localhost:$PORT/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "user-service did not become healthy" >&2
+    return 1
+}
+
+run_mode() {
+    local mode="$1"
+    local profiles="$2"
+    local log="$RESULTS_DIR/$mode.log"
+
+    echo "Starting user-service ($mode)..."
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --server.port="$PORT" --spring.profiles.active="$profiles" > "$log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2> /dev/null || true' EXIT
+
+    wait_until_up
+    hey -z "$WARMUP" -c "$CONCURRENCY" ${AUTH_HEADER:+-H "$AUTH_HEADER"} \
+        "http://localhost:$PORT$TARGET_PATH" > /dev/null
+    hey "${hey_args[@]}" "http://localhost:$PORT$TARGET_PATH" > "$RESULTS_DIR/$mode.txt"
+    curl -fs "http://localhost:$PORT/actuator/metrics/jvm.threads.virtual.pinned" \
+        > "$RESULTS_DIR/$mode-pinned.json" 2> /dev/null || true
+
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    trap - EXIT
+}
+
+summary() {
+    local mode="$1"
+    local file="$RESULTS_DIR/$mode.txt"
+    printf '%-10s %12s %12s %12s %8s\n' "$mode" \
+        "$(awk '/Requests\/sec/ {print $2}' "$file")" \
+        "$(awk '/ 50%/ {print $3}' "$file")" \
+        "$(awk '/ 99%/ {print $3}' "$file")" \
+        "$(awk '/\[5[0-9][0-9]\]/ {sum += $2} END {print sum + 0}' "$file")"
+}
+
+run_mode platform "${SPRING_PROFILES_ACTIVE:-default}"
+run_mode virtual "${SPRING_PROFILES_ACTIVE:-default},virtual-threads"
+
+echo
+printf '%-10s %12s %12s %12s %8s\n' "mode" "req/s" "p50 (s)" "p99 (s)" "5xx"
+summary platform
+summary virtual
+echo
+echo "Raw results, logs and pinning metrics are in $RESULTS_DIR"
+grep -c "VirtualThreadPinned\|pinned for" "$RESULTS_DIR/virtual.log" 2> /dev/null \
+    | xargs -I{} echo "Pinning reports in virtual-thread run: {}"
@@ -0,0 +1,29 @@
+/*
+  # Create transactional outbox for domain events
+  
+  1. New Tables
+    - `outbox_events`
+      - `id` (bigserial, primary key, preserves insertion order)
+      - `event_id` (uuid, unique, not null)
+      - `aggregate_id` (uuid)
+      - `event_type` (text, not null)
+      - `routing_key` (text, not null)
+      - `content_type` (text, not null)
+      - `payload` (bytea, not null)
+      - `created_at` (timestamptz, not null)
+  
+  2. Notes
+    - Rows are written in the same transaction as the aggregate change
+    - The relay claims rows with FOR UPDATE SKIP LOCKED and deletes them once published
+*/
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id bigserial PRIMARY KEY,
+    event_id uuid UNIQUE NOT NULL,
+    aggregate_id uuid,
+    event_type text NOT NULL,
+    routing_key text NOT NULL,
+    content_type text NOT NULL,
+    payload bytea NOT NULL,
+    created_at timestamptz NOT NULL DEFAULT now()
+);
\ No newline at end of file
@@ -0,0 +1,10 @@
+/*
+  # Support keyset pagination over users
+  
+  1. Indexes
+    - `idx_users_created_at_id` on `users(created_at, id)`
+      - Serves `WHERE (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT ?`
+        without sorting or skipping rows
+*/
+
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at, id);
\ No newline at end of file
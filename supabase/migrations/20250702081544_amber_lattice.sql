@@ -0,0 +1,37 @@
+/*
+  # Store user roles as a bitmask on users
+  
+  1. Changes
+    - `users.roles_mask` (integer, not null, default 0)
+      - One bit per role: USER = 1, ADMIN = 2, MANAGER = 4
+      - Bits are fixed; new roles take the next free bit
+  
+  2. Data
+    - Backfill `roles_mask` from `user_roles`
+    - `user_roles` is kept, unchanged, for rollback and is no longer written;
+      drop it in a later migration once nothing reads it
+  
+  3. Indexes
+    - Partial indexes on `users(created_at, id)` for the rare roles (ADMIN, MANAGER)
+      - Serve `WHERE (roles_mask & 2) <> 0 ORDER BY created_at, id` style role listings
+*/
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS roles_mask integer NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET roles_mask = r.mask
+FROM (
+    SELECT user_id,
+           bit_or(CASE role
+                      WHEN 'USER' THEN 1
+                      WHEN 'ADMIN' THEN 2
+                      WHEN 'MANAGER' THEN 4
+                      ELSE 0
+                  END) AS mask
+    FROM user_roles
+    GROUP BY user_id
+) r
+WHERE r.user_id = u.id;
+
+CREATE INDEX IF NOT EXISTS idx_users_role_admin ON users(created_at, id) WHERE (roles_mask & 2) <> 0;
+CREATE INDEX IF NOT EXISTS idx_users_role_manager ON users(created_at, id) WHERE (roles_mask & 4) <> 0;
\ No newline at end of file
@@ -0,0 +1,55 @@
+/*
+  # Create tasks table for the task-service dispatch engine
+  
+  1. New Tables
+    - `tasks`
+      - `id` (uuid, primary key, assigned by the service)
+      - `type` (text, not null) - selects the handler
+      - `payload` (text)
+      - `priority` (text, not null) - dispatch lane: HIGH, NORMAL or LOW
+      - `status` (text, not null) - PENDING, RUNNING, COMPLETED or FAILED
+      - `shard` (integer, not null) - hash of the id, fixed at submission
+      - `due_at` (timestamptz, not null) - earliest time the task may be claimed
+      - `attempts` / `max_attempts` (integer, not null)
+      - `lease_owner` (text) - dispatcher holding the task while RUNNING
+      - `lease_expires_at` (timestamptz) - RUNNING tasks past this are reclaimed
+      - `last_error` (text)
+      - `created_at`, `updated_at` (timestamptz, not null), `completed_at` (timestamptz)
+      - `version` (bigint, not null)
+  
+  2. Indexes
+    - Partial index on `(priority, shard, due_at)` for PENDING tasks
+      - Serves the per-lane claim over a worker's shard range
+    - Partial indexes on `lease_expires_at` and `lease_owner` for RUNNING tasks
+      - Serve the expiry reclaim and the per-dispatcher heartbeat
+  
+  3. Storage
+    - Tasks are updated several times over a short life, so autovacuum runs early
+*/
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id uuid PRIMARY KEY,
+    type text NOT NULL,
+    payload text,
+    priority text NOT NULL,
+    status text NOT NULL DEFAULT 'PENDING',
+    shard integer NOT NULL,
+    due_at timestamptz NOT NULL DEFAULT now(),
+    attempts integer NOT NULL DEFAULT 0,
+    max_attempts integer NOT NULL DEFAULT 3,
+    lease_owner text,
+    lease_expires_at timestamptz,
+    last_error text,
+    created_at timestamptz NOT NULL DEFAULT now(),
+    updated_at timestamptz NOT NULL DEFAULT now(),
+    completed_at timestamptz,
+    version bigint NOT NULL DEFAULT 0,
+    CONSTRAINT chk_tasks_priority CHECK (priority IN ('HIGH', 'NORMAL', 'LOW')),
+    CONSTRAINT chk_tasks_status CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_tasks_dispatch ON tasks(priority, shard, due_at) WHERE status = 'PENDING';
+CREATE INDEX IF NOT EXISTS idx_tasks_lease_expiry ON tasks(lease_expires_at) WHERE status = 'RUNNING';
+CREATE INDEX IF NOT EXISTS idx_tasks_lease_owner ON tasks(lease_owner) WHERE status = 'RUNNING';
+
+ALTER TABLE tasks SET (autovacuum_vacuum_scale_factor = 0.02, autovacuum_analyze_scale_factor = 0.02);
\ No newline at end of file
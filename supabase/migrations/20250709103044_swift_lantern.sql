@@ -0,0 +1,29 @@
+/*
+  # Index users for type-ahead search
+  
+  1. Extensions
+    - `pg_trgm` for trigram similarity
+  
+  2. Indexes (enabled users only, as search never returns disabled ones)
+    - `idx_users_search_email_prefix`, `idx_users_search_first_name_prefix`,
+      `idx_users_search_last_name_prefix`
+      - B-trees on `lower(column)` with `text_pattern_ops`
+      - Serve `lower(column) LIKE 'prefix%'` under any collation
+    - `idx_users_search_trgm`
+      - GIN trigram index on `lower(email || ' ' || first_name || ' ' || last_name)`
+      - Serves the fuzzy `?query <% search text` match (word similarity), so typos
+        and infixes still find the user
+      - Queries must use the same expression to match the index
+*/
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_search_email_prefix
+    ON users (lower(email) text_pattern_ops) WHERE enabled;
+CREATE INDEX IF NOT EXISTS idx_users_search_first_name_prefix
+    ON users (lower(first_name) text_pattern_ops) WHERE enabled;
+CREATE INDEX IF NOT EXISTS idx_users_search_last_name_prefix
+    ON users (lower(last_name) text_pattern_ops) WHERE enabled;
+
+CREATE INDEX IF NOT EXISTS idx_users_search_trgm
+    ON users USING gin (lower(email || ' ' || first_name || ' ' || last_name) gin_trgm_ops) WHERE enabled;
@@ -0,0 +1,28 @@
+/*
+  # Park outbox events the broker cannot route
+  
+  1. New Tables
+    - `outbox_dead_letters`
+      - Same columns as `outbox_events`, keeping the original `id`
+      - `reason` (text, not null) - why the event was parked, e.g. UNROUTABLE
+      - `parked_at` (timestamptz, not null)
+  
+  2. Notes
+    - The relay moves a row here in the claiming transaction when the broker returns
+      it as unroutable, so it no longer blocks the head of `outbox_events`
+    - Replay a parked event by inserting it back into `outbox_events` once a queue is
+      bound for its routing key
+*/
+
+CREATE TABLE IF NOT EXISTS outbox_dead_letters (
+    id bigint PRIMARY KEY,
+    event_id uuid UNIQUE NOT NULL,
+    aggregate_id uuid,
+    event_type text NOT NULL,
+    routing_key text NOT NULL,
+    content_type text NOT NULL,
+    payload bytea NOT NULL,
+    created_at timestamptz NOT NULL,
+    reason text NOT NULL,
+    parked_at timestamptz NOT NULL DEFAULT now()
+);
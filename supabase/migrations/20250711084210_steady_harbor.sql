@@ -0,0 +1,58 @@
+/*
+  # Keep user_roles in sync with users.roles_mask
+
+  1. Changes
+    - `sync_user_roles_from_mask()` trigger function
+      - Rebuilds a user's `user_roles` rows from `roles_mask`
+      - Bits as in 20250702081544: USER = 1, ADMIN = 2, MANAGER = 4
+    - Triggers on `users`
+      - `trg_users_sync_user_roles_insert`: AFTER INSERT
+      - `trg_users_sync_user_roles_update`: AFTER UPDATE OF roles_mask, only when the
+        mask actually changed, since JPA writes every column on update
+
+  2. Data
+    - One-time resync of `user_roles` for every user, covering rows written since
+      20250702081544 stopped maintaining the table
+
+  3. Notes
+    - 20250702081544 said `user_roles` was kept for rollback, but the application
+      no longer writes it. This trigger makes that claim true: the application can
+      be rolled back to reading `user_roles` at any time.
+    - Drop the trigger, the function and `user_roles` together once rollback to
+      the table is no longer needed
+*/
+
+CREATE OR REPLACE FUNCTION sync_user_roles_from_mask() RETURNS trigger AS $$
+BEGIN
+    DELETE FROM user_roles WHERE user_id = NEW.id;
+
+    INSERT INTO user_roles (user_id, role)
+    SELECT NEW.id, r.role
+    FROM (VALUES (1, 'USER'), (2, 'ADMIN'), (4, 'MANAGER')) AS r(bit, role)
+    WHERE (NEW.roles_mask & r.bit) <> 0;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_sync_user_roles_insert ON users;
+DROP TRIGGER IF EXISTS trg_users_sync_user_roles_update ON users;
+
+CREATE TRIGGER trg_users_sync_user_roles_insert
+    AFTER INSERT ON users
+    FOR EACH ROW
+    EXECUTE FUNCTION sync_user_roles_from_mask();
+
+CREATE TRIGGER trg_users_sync_user_roles_update
+    AFTER UPDATE OF roles_mask ON users
+    FOR EACH ROW
+    WHEN (OLD.roles_mask IS DISTINCT FROM NEW.roles_mask)
+    EXECUTE FUNCTION sync_user_roles_from_mask();
+
+DELETE FROM user_roles;
+
+INSERT INTO user_roles (user_id, role)
+SELECT u.id, r.role
+FROM users u
+JOIN (VALUES (1, 'USER'), (2, 'ADMIN'), (4, 'MANAGER')) AS r(bit, role)
+  ON (u.roles_mask & r.bit) <> 0;
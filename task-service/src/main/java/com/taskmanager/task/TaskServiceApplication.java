@@ -0,0 +1,13 @@
+package com.taskmanager.task;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@SpringBootApplication(scanBasePackages = {"com.taskmanager.task", "com.taskmanager.common"})
+@EnableScheduling
+public class TaskServiceApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(TaskServiceApplication.class, args);
+    }
+}
\ No newline at end of file
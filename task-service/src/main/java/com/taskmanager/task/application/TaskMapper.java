@@ -0,0 +1,11 @@
+package com.taskmanager.task.application;
+
+import com.taskmanager.task.application.dto.TaskDTO;
+import com.taskmanager.task.domain.Task;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface TaskMapper {
+    
+    TaskDTO toDTO(Task task);
+}
\ No newline at end of file
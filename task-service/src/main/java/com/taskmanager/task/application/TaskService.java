@@ -0,0 +1,57 @@
+package com.taskmanager.task.application;
+
+import com.taskmanager.task.application.dto.SubmitTaskCommand;
+import com.taskmanager.task.application.dto.TaskDTO;
+import com.taskmanager.task.application.exception.TaskNotFoundException;
+import com.taskmanager.task.domain.Task;
+import com.taskmanager.task.domain.TaskPriority;
+import com.taskmanager.task.infrastructure.repository.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+public class TaskService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TaskService.class);
+    
+    private final TaskRepository taskRepository;
+    private final TaskMapper taskMapper;
+    private final int shardCount;
+    private final int defaultMaxAttempts;
+    
+    public TaskService(TaskRepository taskRepository,
+                       TaskMapper taskMapper,
+                       @Value("${tasks.dispatch.shards:256}") int shardCount,
+                       @Value("${tasks.submit.default-max-attempts:3}") int defaultMaxAttempts) {
+        this.taskRepository = taskRepository;
+        this.taskMapper = taskMapper;
+        this.shardCount = shardCount;
+        this.defaultMaxAttempts = defaultMaxAttempts;
+    }
+    
+    public TaskDTO submitTask(SubmitTaskCommand command) {
+        Task task = Task.submit(
+            command.getType(),
+            command.getPayload(),
+            command.getPriority() == null ? TaskPriority.NORMAL : command.getPriority(),
+            command.getDueAt() == null ? LocalDateTime.now() : command.getDueAt(),
+            command.getMaxAttempts() == null ? defaultMaxAttempts : command.getMaxAttempts(),
+            shardCount
+        );
+        taskRepository.insert(task);
+        
+        logger.debug("Task {} of type {} submitted to shard {}", task.getId(), task.getType(), task.getShard());
+        return taskMapper.toDTO(task);
+    }
+    
+    public TaskDTO getTask(UUID id) {
+        return taskRepository.findById(id)
+            .map(taskMapper::toDTO)
+            .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.taskmanager.task.application.dto;
+
+import com.taskmanager.task.domain.TaskPriority;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+public class SubmitTaskCommand {
+    
+    @NotBlank(message = "Task type is required")
+    @Size(max = 100, message = "Task type must be at most 100 characters")
+    private String type;
+    
+    @Size(max = 65536, message = "Payload must be at most 65536 characters")
+    private String payload;
+    
+    // Defaults to NORMAL
+    private TaskPriority priority;
+    
+    // Defaults to now
+    private LocalDateTime dueAt;
+    
+    @Min(value = 1, message = "Max attempts must be at least 1")
+    @Max(value = 100, message = "Max attempts must be at most 100")
+    private Integer maxAttempts;
+    
+    // Constructors
+    public SubmitTaskCommand() {}
+    
+    public SubmitTaskCommand(String type, String payload, TaskPriority priority, LocalDateTime dueAt,
+                             Integer maxAttempts) {
+        this.type = type;
+        this.payload = payload;
+        this.priority = priority;
+        this.dueAt = dueAt;
+        this.maxAttempts = maxAttempts;
+    }
+    
+    // Getters and setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    
+    public TaskPriority getPriority() { return priority; }
+    public void setPriority(TaskPriority priority) { this.priority = priority; }
+    
+    public LocalDateTime getDueAt() { return dueAt; }
+    public void setDueAt(LocalDateTime dueAt) { this.dueAt = dueAt; }
+    
+    public Integer getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(Integer maxAttempts) { this.maxAttempts = maxAttempts; }
+}
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.taskmanager.task.application.exception;
+
+import com.taskmanager.common.exception.BusinessException;
+
+import java.util.UUID;
+
+public class TaskNotFoundException extends BusinessException {
+    
+    public TaskNotFoundException(UUID taskId) {
+        super("TASK_NOT_FOUND", "Task not found with ID: " + taskId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.taskmanager.task.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A unit of work for the dispatch engine. The shard is derived from the id when the
+ * task is submitted and never changes, so each task has a fixed place in the shard
+ * space that workers divide between them.
+ */
+public class Task {
+    
+    private UUID id;
+    private String type;
+    private String payload;
+    private TaskPriority priority;
+    private TaskStatus status;
+    private int shard;
+    private LocalDateTime dueAt;
+    private int attempts;
+    private int maxAttempts;
+    private String leaseOwner;
+    private LocalDateTime leaseExpiresAt;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+    private Long version;
+    
+    // Constructors
+    public Task() {}
+    
+    public static Task submit(String type, String payload, TaskPriority priority, LocalDateTime dueAt,
+                              int maxAttempts, int shardCount) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("A task needs at least one attempt");
+        }
+        Task task = new Task();
+        task.id = UUID.randomUUID();
+        task.type = type;
+        task.payload = payload;
+        task.priority = priority;
+        task.status = TaskStatus.PENDING;
+        task.shard = shardOf(task.id, shardCount);
+        task.dueAt = dueAt;
+        task.maxAttempts = maxAttempts;
+        task.createdAt = LocalDateTime.now();
+        task.updatedAt = task.createdAt;
+        task.version = 0L;
+        return task;
+    }
+    
+    public static int shardOf(UUID id, int shardCount) {
+        return Math.floorMod(id.hashCode(), shardCount);
+    }
+    
+    // Getters and setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+    
+    public TaskPriority getPriority() { return priority; }
+    public void setPriority(TaskPriority priority) { this.priority = priority; }
+    
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
+    
+    public int getShard() { return shard; }
+    public void setShard(int shard) { this.shard = shard; }
+    
+    public LocalDateTime getDueAt() { return dueAt; }
+    public void setDueAt(LocalDateTime dueAt) { this.dueAt = dueAt; }
+    
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    
+    public int getMaxAttempts() { return maxAttempts; }
+    public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+    
+    public String getLeaseOwner() { return leaseOwner; }
+    public void setLeaseOwner(String leaseOwner) { this.leaseOwner = leaseOwner; }
+    
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+    
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Task task = (Task) o;
+        return Objects.equals(id, task.id);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
\ No newline at end of file
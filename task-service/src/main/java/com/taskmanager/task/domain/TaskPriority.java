@@ -0,0 +1,22 @@
+package com.taskmanager.task.domain;
+
+/**
+ * Dispatch lanes, highest first. The weight is a lane's share of each claimed batch
+ * while every lane has work, so a busy HIGH lane slows LOW tasks down but never
+ * starves them.
+ */
+public enum TaskPriority {
+    HIGH(6),
+    NORMAL(3),
+    LOW(1);
+    
+    private final int weight;
+    
+    TaskPriority(int weight) {
+        this.weight = weight;
+    }
+    
+    public int getWeight() {
+        return weight;
+    }
+}
\ No newline at end of file
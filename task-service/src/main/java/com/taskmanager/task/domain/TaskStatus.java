@@ -0,0 +1,8 @@
+package com.taskmanager.task.domain;
+
+public enum TaskStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
\ No newline at end of file
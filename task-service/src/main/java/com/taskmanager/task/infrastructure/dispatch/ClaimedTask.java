@@ -0,0 +1,58 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+import com.taskmanager.task.domain.TaskPriority;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A task leased to this dispatcher. The attempt number doubles as the fencing token:
+ * completion and failure only apply while the row is still at this attempt.
+ */
+public class ClaimedTask {
+    
+    private final UUID id;
+    private final String type;
+    private final String payload;
+    private final TaskPriority priority;
+    private final int attempt;
+    private final int maxAttempts;
+    private final LocalDateTime dueAt;
+    private final long claimedAtNanos;
+    
+    private volatile boolean leaseLost;
+    
+    public ClaimedTask(UUID id, String type, String payload, TaskPriority priority, int attempt, int maxAttempts,
+                       LocalDateTime dueAt) {
+        this.id = id;
+        this.type = type;
+        this.payload = payload;
+        this.priority = priority;
+        this.attempt = attempt;
+        this.maxAttempts = maxAttempts;
+        this.dueAt = dueAt;
+        this.claimedAtNanos = System.nanoTime();
+    }
+    
+    void markLeaseLost() {
+        this.leaseLost = true;
+    }
+    
+    long getClaimedAtNanos() {
+        return claimedAtNanos;
+    }
+    
+    /**
+     * True once a heartbeat found the lease gone; a long-running handler can check
+     * this and stop early, since its result would be discarded.
+     */
+    public boolean isLeaseLost() { return leaseLost; }
+    
+    public UUID getId() { return id; }
+    public String getType() { return type; }
+    public String getPayload() { return payload; }
+    public TaskPriority getPriority() { return priority; }
+    public int getAttempt() { return attempt; }
+    public int getMaxAttempts() { return maxAttempts; }
+    public LocalDateTime getDueAt() { return dueAt; }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Returns tasks whose lease expired (their dispatcher died or stalled) to PENDING, or
+ * to FAILED once they are out of attempts. Runs on every node; SKIP LOCKED keeps
+ * concurrent runs from working on the same rows.
+ */
+@Component
+public class ExpiredLeaseReclaimer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpiredLeaseReclaimer.class);
+    
+    private final TaskClaimRepository claimRepository;
+    private final int batchSize;
+    private final int maxBatches;
+    
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    
+    public ExpiredLeaseReclaimer(TaskClaimRepository claimRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${tasks.dispatch.reclaim-batch-size:500}") int batchSize,
+                                 @Value("${tasks.dispatch.reclaim-max-batches:20}") int maxBatches) {
+        this.claimRepository = claimRepository;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        
+        this.retriedCounter = Counter.builder("tasks.dispatch.reclaimed")
+            .description("Tasks reset after their lease expired")
+            .tag("outcome", "retry")
+            .register(meterRegistry);
+        this.deadCounter = Counter.builder("tasks.dispatch.reclaimed")
+            .description("Tasks reset after their lease expired")
+            .tag("outcome", "dead")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${tasks.dispatch.reclaim-interval-ms:5000}")
+    public void reclaim() {
+        try {
+            for (int i = 0; i < maxBatches; i++) {
+                List<String> statuses = claimRepository.reclaimExpired(batchSize);
+                for (String status : statuses) {
+                    ("PENDING".equals(status) ? retriedCounter : deadCounter).increment();
+                }
+                if (!statuses.isEmpty()) {
+                    logger.info("Reclaimed {} tasks with expired leases", statuses.size());
+                }
+                if (statuses.size() < batchSize) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Reclaiming expired task leases failed", e);
+        }
+    }
+}
\ No newline at end of file
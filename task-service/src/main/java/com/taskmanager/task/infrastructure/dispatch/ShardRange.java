@@ -0,0 +1,72 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+import java.util.Objects;
+
+/**
+ * A contiguous, inclusive range of shards. Each worker polls its own range first, so
+ * workers across nodes mostly claim from disjoint index ranges and rarely meet each
+ * other's row locks.
+ */
+public class ShardRange {
+    
+    private final int from;
+    private final int to;
+    
+    public ShardRange(int from, int to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Invalid shard range " + from + ".." + to);
+        }
+        this.from = from;
+        this.to = to;
+    }
+    
+    public static ShardRange all(int shardCount) {
+        return new ShardRange(0, shardCount - 1);
+    }
+    
+    /**
+     * Splits the shards into ranges of {@code rangeSize} and gives worker
+     * {@code workerIndex} of a node the range at the node's hash-derived offset plus
+     * the worker index, so workers of one node never share a range while there are
+     * enough ranges and different nodes start at different places.
+     */
+    public static ShardRange forWorker(String nodeId, int workerIndex, int shardCount, int rangeSize) {
+        int ranges = Math.max(1, (shardCount + rangeSize - 1) / rangeSize);
+        int range = Math.floorMod(mix(nodeId.hashCode()) + workerIndex, ranges);
+        int from = range * rangeSize;
+        return new ShardRange(from, Math.min(from + rangeSize, shardCount) - 1);
+    }
+    
+    // Spreads similar node ids (host-1, host-2, ...) over the ranges
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+    
+    public boolean covers(ShardRange other) {
+        return from <= other.from && to >= other.to;
+    }
+    
+    public int getFrom() { return from; }
+    public int getTo() { return to; }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ShardRange that = (ShardRange) o;
+        return from == that.from && to == that.to;
+    }
+    
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to);
+    }
+    
+    @Override
+    public String toString() {
+        return from + ".." + to;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+import com.taskmanager.task.domain.TaskPriority;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The dispatch state machine in SQL. Every statement is a single auto-committed round
+ * trip; row locks are held only for that statement, and SKIP LOCKED lets concurrent
+ * claimers pass over each other's rows instead of queueing behind them. All times
+ * come from the database clock, so nodes with skewed clocks agree on lease expiry.
+ */
+@Repository
+public class TaskClaimRepository {
+    
+    private static final String CLAIM_SQL =
+        "WITH due AS (" +
+        "SELECT id FROM tasks " +
+        "WHERE status = 'PENDING' AND priority = ? AND shard BETWEEN ? AND ? AND due_at <= now() " +
+        "ORDER BY due_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "UPDATE tasks t SET status = 'RUNNING', lease_owner = ?, " +
+        "lease_expires_at = now() + ? * interval '1 millisecond', attempts = t.attempts + 1, " +
+        "updated_at = now(), version = t.version + 1 " +
+        "FROM due WHERE t.id = due.id " +
+        "RETURNING t.id, t.type, t.payload, t.priority, t.attempts, t.max_attempts, t.due_at";
+    
+    // Extends every lease this dispatcher holds in one statement, whatever the count
+    private static final String RENEW_SQL =
+        "UPDATE tasks SET lease_expires_at = now() + ? * interval '1 millisecond' " +
+        "WHERE lease_owner = ? AND status = 'RUNNING' RETURNING id, attempts";
+    
+    private static final String COMPLETE_SQL =
+        "UPDATE tasks SET status = 'COMPLETED', completed_at = now(), lease_owner = NULL, " +
+        "lease_expires_at = NULL, last_error = NULL, updated_at = now(), version = version + 1 " +
+        "WHERE id = ? AND lease_owner = ? AND attempts = ? AND status = 'RUNNING'";
+    
+    private static final String FAIL_SQL =
+        "UPDATE tasks SET status = CASE WHEN ? AND attempts < max_attempts THEN 'PENDING' ELSE 'FAILED' END, " +
+        "due_at = now() + ? * interval '1 millisecond', last_error = ?, lease_owner = NULL, " +
+        "lease_expires_at = NULL, updated_at = now(), version = version + 1 " +
+        "WHERE id = ? AND lease_owner = ? AND attempts = ? AND status = 'RUNNING' " +
+        "RETURNING status";
+    
+    // Hands back claimed tasks that never started, without spending an attempt
+    private static final String RELEASE_SQL =
+        "UPDATE tasks SET status = 'PENDING', attempts = attempts - 1, lease_owner = NULL, " +
+        "lease_expires_at = NULL, updated_at = now(), version = version + 1 " +
+        "WHERE id = ? AND lease_owner = ? AND attempts = ? AND status = 'RUNNING'";
+    
+    private static final String RECLAIM_SQL =
+        "WITH expired AS (" +
+        "SELECT id FROM tasks WHERE status = 'RUNNING' AND lease_expires_at < now() " +
+        "ORDER BY lease_expires_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "UPDATE tasks t SET status = CASE WHEN t.attempts < t.max_attempts THEN 'PENDING' ELSE 'FAILED' END, " +
+        "last_error = 'Lease expired', lease_owner = NULL, lease_expires_at = NULL, updated_at = now(), " +
+        "version = t.version + 1 " +
+        "FROM expired WHERE t.id = expired.id " +
+        "RETURNING t.status";
+    
+    private static final RowMapper<ClaimedTask> CLAIMED_TASK_MAPPER = TaskClaimRepository::mapClaimedTask;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public TaskClaimRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Leases up to {@code limit} due tasks of one lane within the shard range, oldest
+     * due first, skipping rows another claimer has locked.
+     */
+    public List<ClaimedTask> claim(TaskPriority lane, ShardRange shards, String owner, Duration lease, int limit) {
+        return jdbcTemplate.query(CLAIM_SQL, CLAIMED_TASK_MAPPER,
+            lane.name(), shards.getFrom(), shards.getTo(), limit, owner, lease.toMillis());
+    }
+    
+    /**
+     * Renews every lease held by {@code owner} and returns the renewed task ids with
+     * the attempt each is at.
+     */
+    public Map<UUID, Integer> renewLeases(String owner, Duration lease) {
+        Map<UUID, Integer> renewed = new HashMap<>();
+        jdbcTemplate.query(RENEW_SQL, rs -> {
+            renewed.put(rs.getObject("id", UUID.class), rs.getInt("attempts"));
+        }, lease.toMillis(), owner);
+        return renewed;
+    }
+    
+    /**
+     * @return false when the lease was lost and the result discarded
+     */
+    public boolean complete(ClaimedTask task, String owner) {
+        return jdbcTemplate.update(COMPLETE_SQL, task.getId(), owner, task.getAttempt()) == 1;
+    }
+    
+    /**
+     * Returns the task to PENDING after {@code retryDelay}, or to FAILED when it is out
+     * of attempts or {@code retryable} is false.
+     *
+     * @return the new status, or null when the lease was lost
+     */
+    public String fail(ClaimedTask task, String owner, String error, boolean retryable, Duration retryDelay) {
+        return jdbcTemplate.query(FAIL_SQL, rs -> rs.next() ? rs.getString("status") : null,
+            retryable, retryDelay.toMillis(), error, task.getId(), owner, task.getAttempt());
+    }
+    
+    public void release(List<ClaimedTask> tasks, String owner) {
+        jdbcTemplate.batchUpdate(RELEASE_SQL, tasks, tasks.size(), (ps, task) -> {
+            ps.setObject(1, task.getId());
+            ps.setString(2, owner);
+            ps.setInt(3, task.getAttempt());
+        });
+    }
+    
+    /**
+     * Resets up to {@code limit} tasks whose lease has expired and returns the status
+     * each one moved to.
+     */
+    public List<String> reclaimExpired(int limit) {
+        return jdbcTemplate.queryForList(RECLAIM_SQL, String.class, limit);
+    }
+    
+    private static ClaimedTask mapClaimedTask(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp dueAt = rs.getTimestamp("due_at");
+        return new ClaimedTask(
+            rs.getObject("id", UUID.class),
+            rs.getString("type"),
+            rs.getString("payload"),
+            TaskPriority.valueOf(rs.getString("priority")),
+            rs.getInt("attempts"),
+            rs.getInt("max_attempts"),
+            dueAt == null ? null : dueAt.toLocalDateTime()
+        );
+    }
+}
\ No newline at end of file
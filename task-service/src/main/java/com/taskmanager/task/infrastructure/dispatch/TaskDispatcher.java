@@ -0,0 +1,384 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+import com.taskmanager.task.domain.TaskPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs due tasks on a fixed set of worker threads. Each worker claims a batch from its
+ * own shard range, splitting the batch between priority lanes by weight, and falls
+ * back to all shards when its range is empty so shards left behind by stopped nodes
+ * are still drained. A heartbeat renews the leases of every task this dispatcher
+ * holds; tasks whose lease lapses anyway are reset by {@link ExpiredLeaseReclaimer}
+ * on whichever node gets there first.
+ */
+@Component
+public class TaskDispatcher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TaskDispatcher.class);
+    
+    private static final int MAX_ERROR_LENGTH = 2000;
+    
+    private final TaskClaimRepository claimRepository;
+    private final Map<String, TaskHandler> handlers = new HashMap<>();
+    private final String owner;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final int shardCount;
+    private final int rangeSize;
+    private final Duration lease;
+    private final Duration heartbeatInterval;
+    private final Duration idleBackoff;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final Duration shutdownTimeout;
+    
+    private final Map<UUID, ClaimedTask> inFlight = new ConcurrentHashMap<>();
+    private volatile boolean running;
+    private volatile boolean stopping;
+    private ExecutorService workerExecutor;
+    private ScheduledExecutorService heartbeatExecutor;
+    
+    private final Map<TaskPriority, Counter> claimedCounters = new EnumMap<>(TaskPriority.class);
+    private final Counter completedCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Counter leaseLostCounter;
+    private final Timer claimTimer;
+    private final Timer claimDelayTimer;
+    private final Timer executionTimer;
+    
+    public TaskDispatcher(TaskClaimRepository claimRepository,
+                          List<TaskHandler> handlers,
+                          MeterRegistry meterRegistry,
+                          @Value("${tasks.dispatch.node-id:${spring.application.name:task-service}}") String nodeId,
+                          @Value("${tasks.dispatch.enabled:true}") boolean enabled,
+                          @Value("${tasks.dispatch.workers:4}") int workers,
+                          @Value("${tasks.dispatch.batch-size:20}") int batchSize,
+                          @Value("${tasks.dispatch.shards:256}") int shardCount,
+                          @Value("${tasks.dispatch.home-shards:16}") int rangeSize,
+                          @Value("${tasks.dispatch.lease:30s}") Duration lease,
+                          @Value("${tasks.dispatch.heartbeat-interval:10s}") Duration heartbeatInterval,
+                          @Value("${tasks.dispatch.idle-backoff:500ms}") Duration idleBackoff,
+                          @Value("${tasks.dispatch.retry-base-delay:1s}") Duration retryBaseDelay,
+                          @Value("${tasks.dispatch.retry-max-delay:5m}") Duration retryMaxDelay,
+                          @Value("${tasks.dispatch.shutdown-timeout:30s}") Duration shutdownTimeout) {
+        if (!heartbeatInterval.minus(lease.dividedBy(2)).isNegative()) {
+            throw new IllegalArgumentException("tasks.dispatch.heartbeat-interval must be under half the lease");
+        }
+        this.claimRepository = claimRepository;
+        for (TaskHandler handler : handlers) {
+            TaskHandler previous = this.handlers.put(handler.getTaskType(), handler);
+            if (previous != null) {
+                throw new IllegalStateException("Two handlers for task type " + handler.getTaskType());
+            }
+        }
+        // A restarted node must not renew the leases its previous run left behind
+        this.owner = nodeId + ":" + UUID.randomUUID().toString().substring(0, 8);
+        this.enabled = enabled;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.shardCount = shardCount;
+        this.rangeSize = rangeSize;
+        this.lease = lease;
+        this.heartbeatInterval = heartbeatInterval;
+        this.idleBackoff = idleBackoff;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+        this.shutdownTimeout = shutdownTimeout;
+        
+        for (TaskPriority lane : TaskPriority.values()) {
+            claimedCounters.put(lane, Counter.builder("tasks.dispatch.claimed")
+                .description("Tasks leased by this dispatcher")
+                .tag("lane", lane.name())
+                .register(meterRegistry));
+        }
+        Gauge.builder("tasks.dispatch.in-flight", inFlight, Map::size)
+            .description("Tasks currently leased by this dispatcher")
+            .register(meterRegistry);
+        this.completedCounter = Counter.builder("tasks.dispatch.completed")
+            .description("Tasks completed by this dispatcher")
+            .register(meterRegistry);
+        this.retriedCounter = Counter.builder("tasks.dispatch.failed")
+            .description("Task attempts that failed")
+            .tag("outcome", "retry")
+            .register(meterRegistry);
+        this.deadCounter = Counter.builder("tasks.dispatch.failed")
+            .description("Task attempts that failed")
+            .tag("outcome", "dead")
+            .register(meterRegistry);
+        this.leaseLostCounter = Counter.builder("tasks.dispatch.lease.lost")
+            .description("Tasks whose lease lapsed before this dispatcher finished them")
+            .register(meterRegistry);
+        this.claimTimer = Timer.builder("tasks.dispatch.claim.duration")
+            .description("Time to claim one batch, all lane queries included")
+            .register(meterRegistry);
+        this.claimDelayTimer = Timer.builder("tasks.dispatch.claim.delay")
+            .description("Time from a task falling due to it being claimed")
+            .register(meterRegistry);
+        this.executionTimer = Timer.builder("tasks.dispatch.execution")
+            .description("Time spent in task handlers")
+            .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        workerExecutor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "task-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < workers; i++) {
+            ShardRange home = ShardRange.forWorker(owner, i, shardCount, rangeSize);
+            workerExecutor.execute(() -> workerLoop(home));
+        }
+        
+        heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeatExecutor.scheduleWithFixedDelay(this::renewLeases, heartbeatInterval.toMillis(),
+            heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        
+        logger.info("Task dispatcher {} started with {} workers over {} shards", owner, workers, shardCount);
+    }
+    
+    private void workerLoop(ShardRange home) {
+        try {
+            while (!stopping) {
+                boolean idle;
+                try {
+                    idle = runOnce(home) == 0;
+                } catch (RuntimeException e) {
+                    logger.warn("Dispatch cycle failed on shards {}", home, e);
+                    idle = true;
+                }
+                if (idle) {
+                    try {
+                        pauseWhenIdle();
+                    } catch (InterruptedException e) {
+                        // Shutdown never interrupts workers, so a stray interrupt must not end the loop
+                        if (stopping) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        logger.warn("Dispatch worker on shards {} was interrupted; carrying on", home);
+                    }
+                }
+            }
+        } finally {
+            if (!stopping) {
+                logger.error("Dispatch worker on shards {} exited while the dispatcher is running", home);
+            }
+        }
+    }
+    
+    private void pauseWhenIdle() throws InterruptedException {
+        // Jitter keeps idle workers on many nodes from polling in lockstep
+        long millis = idleBackoff.toMillis();
+        Thread.sleep(millis / 2 + ThreadLocalRandom.current().nextLong(millis + 1));
+    }
+    
+    /**
+     * Claims one batch for the worker owning {@code home} and runs it.
+     *
+     * @return the number of tasks claimed
+     */
+    int runOnce(ShardRange home) {
+        List<ClaimedTask> batch = claimBatch(home);
+        for (int i = 0; i < batch.size(); i++) {
+            if (stopping) {
+                List<ClaimedTask> unstarted = batch.subList(i, batch.size());
+                claimRepository.release(unstarted, owner);
+                unstarted.forEach(task -> inFlight.remove(task.getId()));
+                break;
+            }
+            ClaimedTask task = batch.get(i);
+            if (task.isLeaseLost()) {
+                inFlight.remove(task.getId());
+                leaseLostCounter.increment();
+                continue;
+            }
+            execute(task);
+        }
+        return batch.size();
+    }
+    
+    List<ClaimedTask> claimBatch(ShardRange home) {
+        long started = System.nanoTime();
+        List<ClaimedTask> batch = claimByLane(home);
+        if (batch.isEmpty() && !home.covers(ShardRange.all(shardCount))) {
+            batch = claimByLane(ShardRange.all(shardCount));
+        }
+        claimTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (ClaimedTask task : batch) {
+            inFlight.put(task.getId(), task);
+            claimedCounters.get(task.getPriority()).increment();
+            if (task.getDueAt() != null && task.getDueAt().isBefore(now)) {
+                claimDelayTimer.record(Duration.between(task.getDueAt(), now));
+            }
+        }
+        return batch;
+    }
+    
+    private List<ClaimedTask> claimByLane(ShardRange shards) {
+        int totalWeight = 0;
+        for (TaskPriority lane : TaskPriority.values()) {
+            totalWeight += lane.getWeight();
+        }
+        
+        // First pass: every lane gets its weighted share of the batch
+        List<ClaimedTask> batch = new ArrayList<>(batchSize);
+        List<TaskPriority> lanesWithMore = new ArrayList<>();
+        for (TaskPriority lane : TaskPriority.values()) {
+            int share = Math.min(Math.max(1, batchSize * lane.getWeight() / totalWeight), batchSize - batch.size());
+            if (share == 0) {
+                lanesWithMore.add(lane);
+                continue;
+            }
+            List<ClaimedTask> claimed = claimRepository.claim(lane, shards, owner, lease, share);
+            batch.addAll(claimed);
+            if (claimed.size() == share) {
+                lanesWithMore.add(lane);
+            }
+        }
+        
+        // Second pass: room left by quiet lanes goes to busy ones, highest first
+        for (TaskPriority lane : lanesWithMore) {
+            int room = batchSize - batch.size();
+            if (room == 0) {
+                break;
+            }
+            batch.addAll(claimRepository.claim(lane, shards, owner, lease, room));
+        }
+        return batch;
+    }
+    
+    private void execute(ClaimedTask task) {
+        Timer.Sample sample = Timer.start();
+        try {
+            TaskHandler handler = handlers.get(task.getType());
+            if (handler == null) {
+                fail(task, "No handler for task type " + task.getType(), false);
+                return;
+            }
+            handler.handle(task);
+            if (claimRepository.complete(task, owner)) {
+                completedCounter.increment();
+            } else {
+                leaseLostCounter.increment();
+                logger.warn("Task {} finished after its lease was lost; the result was discarded", task.getId());
+            }
+        } catch (Exception e) {
+            // A handler's interrupt belongs to that task, not to the worker running it
+            Thread.interrupted();
+            logger.debug("Task {} failed on attempt {}", task.getId(), task.getAttempt(), e);
+            fail(task, e.toString(), true);
+        } finally {
+            sample.stop(executionTimer);
+            inFlight.remove(task.getId());
+        }
+    }
+    
+    private void fail(ClaimedTask task, String error, boolean retryable) {
+        String trimmed = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        String status = claimRepository.fail(task, owner, trimmed, retryable, retryDelay(task.getAttempt()));
+        if (status == null) {
+            leaseLostCounter.increment();
+        } else if ("PENDING".equals(status)) {
+            retriedCounter.increment();
+        } else {
+            deadCounter.increment();
+            logger.warn("Task {} of type {} failed for good after {} attempts: {}",
+                task.getId(), task.getType(), task.getAttempt(), trimmed);
+        }
+    }
+    
+    private Duration retryDelay(int attempt) {
+        // Exponential backoff, capped
+        int exponent = Math.min(attempt - 1, 30);
+        Duration delay = retryBaseDelay.multipliedBy(1L << exponent);
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+    
+    void renewLeases() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            Map<UUID, Integer> renewed = claimRepository.renewLeases(owner, lease);
+            for (ClaimedTask task : inFlight.values()) {
+                // Tasks claimed while the renewal ran are not in its result yet
+                if (task.getClaimedAtNanos() - started > 0) {
+                    continue;
+                }
+                Integer attempt = renewed.get(task.getId());
+                if (attempt == null || attempt != task.getAttempt()) {
+                    task.markLeaseLost();
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to renew {} task leases", inFlight.size(), e);
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        if (!running) {
+            return;
+        }
+        stopping = true;
+        workerExecutor.shutdown();
+        try {
+            // Workers finish the task in hand and release the rest of their batch;
+            // heartbeats keep running until they are done
+            if (!workerExecutor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("{} tasks still running at shutdown; their leases will expire", inFlight.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            heartbeatExecutor.shutdownNow();
+        }
+    }
+    
+    public String getOwner() {
+        return owner;
+    }
+}
\ No newline at end of file
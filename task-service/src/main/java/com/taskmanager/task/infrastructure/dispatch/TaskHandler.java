@@ -0,0 +1,12 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+/**
+ * Executes tasks of one type. Handlers run on dispatcher worker threads and must be
+ * idempotent: a task whose lease expires mid-run may be handed to another worker.
+ */
+public interface TaskHandler {
+    
+    String getTaskType();
+    
+    void handle(ClaimedTask task) throws Exception;
+}
\ No newline at end of file
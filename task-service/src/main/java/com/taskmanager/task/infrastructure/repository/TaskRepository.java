@@ -0,0 +1,84 @@
+package com.taskmanager.task.infrastructure.repository;
+
+import com.taskmanager.task.domain.Task;
+import com.taskmanager.task.domain.TaskPriority;
+import com.taskmanager.task.domain.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Plain JDBC access to the tasks table. Dispatch state (status, lease, attempts) is
+ * only ever changed by {@link com.taskmanager.task.infrastructure.dispatch.TaskClaimRepository}.
+ */
+@Repository
+public class TaskRepository {
+    
+    private static final String INSERT_TASK_SQL =
+        "INSERT INTO tasks (id, type, payload, priority, status, shard, due_at, attempts, max_attempts, " +
+        "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, 0)";
+    
+    private static final String SELECT_TASK_SQL =
+        "SELECT id, type, payload, priority, status, shard, due_at, attempts, max_attempts, lease_owner, " +
+        "lease_expires_at, last_error, created_at, updated_at, completed_at, version FROM tasks WHERE id = ?";
+    
+    private static final RowMapper<Task> TASK_MAPPER = TaskRepository::mapRow;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    public TaskRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    public Task insert(Task task) {
+        jdbcTemplate.update(INSERT_TASK_SQL, ps -> {
+            ps.setObject(1, task.getId());
+            ps.setString(2, task.getType());
+            ps.setString(3, task.getPayload());
+            ps.setString(4, task.getPriority().name());
+            ps.setString(5, task.getStatus().name());
+            ps.setInt(6, task.getShard());
+            ps.setTimestamp(7, Timestamp.valueOf(task.getDueAt()));
+            ps.setInt(8, task.getMaxAttempts());
+            ps.setTimestamp(9, Timestamp.valueOf(task.getCreatedAt()));
+            ps.setTimestamp(10, Timestamp.valueOf(task.getUpdatedAt()));
+        });
+        return task;
+    }
+    
+    public Optional<Task> findById(UUID id) {
+        return jdbcTemplate.query(SELECT_TASK_SQL, TASK_MAPPER, id).stream().findFirst();
+    }
+    
+    private static Task mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getObject("id", UUID.class));
+        task.setType(rs.getString("type"));
+        task.setPayload(rs.getString("payload"));
+        task.setPriority(TaskPriority.valueOf(rs.getString("priority")));
+        task.setStatus(TaskStatus.valueOf(rs.getString("status")));
+        task.setShard(rs.getInt("shard"));
+        task.setDueAt(toLocalDateTime(rs.getTimestamp("due_at")));
+        task.setAttempts(rs.getInt("attempts"));
+        task.setMaxAttempts(rs.getInt("max_attempts"));
+        task.setLeaseOwner(rs.getString("lease_owner"));
+        task.setLeaseExpiresAt(toLocalDateTime(rs.getTimestamp("lease_expires_at")));
+        task.setLastError(rs.getString("last_error"));
+        task.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        task.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        task.setCompletedAt(toLocalDateTime(rs.getTimestamp("completed_at")));
+        task.setVersion(rs.getLong("version"));
+        return task;
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.taskmanager.task.infrastructure.web;
+
+import com.taskmanager.task.application.TaskService;
+import com.taskmanager.task.application.dto.SubmitTaskCommand;
+import com.taskmanager.task.application.dto.TaskDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/tasks")
+@Tag(name = "Task Management", description = "APIs for submitting and tracking tasks")
+public class TaskController {
+    
+    private final TaskService taskService;
+    
+    public TaskController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+    
+    @PostMapping
+    @Operation(summary = "Submit a task", description = "Queues a task for dispatch once it is due")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Task queued"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    public ResponseEntity<TaskDTO> submitTask(@Valid @RequestBody SubmitTaskCommand command) {
+        TaskDTO task = taskService.submitTask(command);
+        return ResponseEntity.status(HttpStatus.CREATED).body(task);
+    }
+    
+    @GetMapping("/{id}")
+    @Operation(summary = "Get task by ID", description = "Retrieves a task and its dispatch state")
+    public ResponseEntity<TaskDTO> getTask(
+            @Parameter(description = "Task ID") @PathVariable UUID id) {
+        TaskDTO task = taskService.getTask(id);
+        return ResponseEntity.ok(task);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+import com.taskmanager.task.domain.Task;
+import com.taskmanager.task.domain.TaskPriority;
+import com.taskmanager.task.infrastructure.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class TaskClaimRepositoryTest {
+    
+    private static final int SHARDS = 64;
+    private static final ShardRange ALL = ShardRange.all(SHARDS);
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    
+    @Container
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    private static JdbcTemplate jdbcTemplate;
+    
+    private TaskClaimRepository claimRepository;
+    private TaskRepository taskRepository;
+    
+    @BeforeAll
+    static void createSchema() throws Exception {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        jdbcTemplate.execute(Files.readString(
+            Path.of("../supabase/migrations/20250702093517_brisk_relay.sql")));
+    }
+    
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        claimRepository = new TaskClaimRepository(jdbcTemplate);
+        taskRepository = new TaskRepository(jdbcTemplate);
+    }
+    
+    @Test
+    void claim_ShouldNeverHandOutTaskTwice_WhenClaimersRace() throws Exception {
+        // Given
+        for (int i = 0; i < 300; i++) {
+            submit(TaskPriority.NORMAL, 3);
+        }
+        Set<UUID> claimed = ConcurrentHashMap.newKeySet();
+        ExecutorService claimers = Executors.newFixedThreadPool(8);
+        
+        // When
+        List<Future<Integer>> counts = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String owner = "node-" + i;
+            counts.add(claimers.submit(() -> {
+                int total = 0;
+                List<ClaimedTask> batch;
+                while (!(batch = claimRepository.claim(TaskPriority.NORMAL, ALL, owner, LEASE, 7)).isEmpty()) {
+                    batch.forEach(task -> claimed.add(task.getId()));
+                    total += batch.size();
+                }
+                return total;
+            }));
+        }
+        int total = 0;
+        for (Future<Integer> count : counts) {
+            total += count.get();
+        }
+        claimers.shutdown();
+        
+        // Then
+        assertThat(total).isEqualTo(300);
+        assertThat(claimed).hasSize(300);
+    }
+    
+    @Test
+    void claim_ShouldOnlyTakeDueTasksOfTheLaneAndRange() {
+        // Given
+        Task inRange = submit(TaskPriority.HIGH, 3);
+        submit(TaskPriority.LOW, 3);
+        Task notDue = Task.submit("report", null, TaskPriority.HIGH, LocalDateTime.now().plusHours(1), 3, SHARDS);
+        taskRepository.insert(notDue);
+        ShardRange range = new ShardRange(inRange.getShard(), inRange.getShard());
+        
+        // When
+        List<ClaimedTask> batch = claimRepository.claim(TaskPriority.HIGH, range, "node-1", LEASE, 10);
+        
+        // Then
+        assertThat(batch).extracting(ClaimedTask::getId).containsExactly(inRange.getId());
+        assertThat(batch.get(0).getAttempt()).isEqualTo(1);
+    }
+    
+    @Test
+    void reclaimExpired_ShouldRequeueTaskAndFenceOldOwner_WhenLeaseLapses() throws Exception {
+        // Given
+        submit(TaskPriority.NORMAL, 3);
+        ClaimedTask first = claimRepository.claim(TaskPriority.NORMAL, ALL, "node-1", Duration.ofMillis(1), 1).get(0);
+        Thread.sleep(50);
+        
+        // When
+        List<String> reclaimed = claimRepository.reclaimExpired(100);
+        ClaimedTask second = claimRepository.claim(TaskPriority.NORMAL, ALL, "node-2", LEASE, 1).get(0);
+        
+        // Then
+        assertThat(reclaimed).containsExactly("PENDING");
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getAttempt()).isEqualTo(2);
+        assertThat(claimRepository.complete(first, "node-1")).isFalse();
+        assertThat(claimRepository.complete(second, "node-2")).isTrue();
+    }
+    
+    @Test
+    void fail_ShouldMarkTaskFailed_WhenOutOfAttempts() {
+        // Given
+        submit(TaskPriority.NORMAL, 1);
+        ClaimedTask task = claimRepository.claim(TaskPriority.NORMAL, ALL, "node-1", LEASE, 1).get(0);
+        
+        // When
+        String status = claimRepository.fail(task, "node-1", "boom", true, Duration.ZERO);
+        
+        // Then
+        assertThat(status).isEqualTo("FAILED");
+        assertThat(claimRepository.claim(TaskPriority.NORMAL, ALL, "node-1", LEASE, 1)).isEmpty();
+    }
+    
+    @Test
+    void renewLeases_ShouldReturnOnlyTheOwnersTasks() {
+        // Given
+        submit(TaskPriority.NORMAL, 3);
+        submit(TaskPriority.NORMAL, 3);
+        ClaimedTask mine = claimRepository.claim(TaskPriority.NORMAL, ALL, "node-1", LEASE, 1).get(0);
+        claimRepository.claim(TaskPriority.NORMAL, ALL, "node-2", LEASE, 1);
+        
+        // When & Then
+        assertThat(claimRepository.renewLeases("node-1", LEASE)).containsOnlyKeys(mine.getId());
+    }
+    
+    private Task submit(TaskPriority priority, int maxAttempts) {
+        Task task = Task.submit("report", null, priority, LocalDateTime.now().minusSeconds(1), maxAttempts, SHARDS);
+        return taskRepository.insert(task);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.taskmanager.task.infrastructure.dispatch;
+
+import com.taskmanager.task.domain.TaskPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskDispatcherTest {
+    
+    private static final int SHARDS = 64;
+    private static final ShardRange HOME = new ShardRange(0, 15);
+    private static final ShardRange ALL = ShardRange.all(SHARDS);
+    
+    @Mock
+    private TaskClaimRepository claimRepository;
+    
+    @Mock
+    private TaskHandler handler;
+    
+    private TaskDispatcher dispatcher;
+    
+    @BeforeEach
+    void setUp() {
+        lenient().when(handler.getTaskType()).thenReturn("report");
+        dispatcher = new TaskDispatcher(claimRepository, List.of(handler), new SimpleMeterRegistry(), "node-1",
+            true, 1, 10, SHARDS, 16, Duration.ofSeconds(30), Duration.ofSeconds(10), Duration.ofMillis(10),
+            Duration.ofSeconds(1), Duration.ofMinutes(5), Duration.ofSeconds(1));
+    }
+    
+    @Test
+    void claimBatch_ShouldSplitBatchByLaneWeight_WhenEveryLaneHasWork() {
+        // Given
+        when(claimRepository.claim(any(), eq(HOME), anyString(), any(), anyInt()))
+            .thenAnswer(invocation -> tasks(invocation.getArgument(0), invocation.getArgument(4)));
+        
+        // When
+        List<ClaimedTask> batch = dispatcher.claimBatch(HOME);
+        
+        // Then
+        assertThat(batch).hasSize(10);
+        verify(claimRepository).claim(eq(TaskPriority.HIGH), eq(HOME), anyString(), any(), eq(6));
+        verify(claimRepository).claim(eq(TaskPriority.NORMAL), eq(HOME), anyString(), any(), eq(3));
+        verify(claimRepository).claim(eq(TaskPriority.LOW), eq(HOME), anyString(), any(), eq(1));
+        verifyNoMoreInteractions(claimRepository);
+    }
+    
+    @Test
+    void claimBatch_ShouldGiveBusyLaneTheRoom_WhenOtherLanesAreQuiet() {
+        // Given
+        when(claimRepository.claim(eq(TaskPriority.HIGH), eq(HOME), anyString(), any(), anyInt()))
+            .thenAnswer(invocation -> tasks(TaskPriority.HIGH, invocation.getArgument(4)));
+        when(claimRepository.claim(eq(TaskPriority.NORMAL), eq(HOME), anyString(), any(), anyInt()))
+            .thenReturn(List.of());
+        when(claimRepository.claim(eq(TaskPriority.LOW), eq(HOME), anyString(), any(), anyInt()))
+            .thenReturn(List.of());
+        
+        // When
+        List<ClaimedTask> batch = dispatcher.claimBatch(HOME);
+        
+        // Then
+        assertThat(batch).hasSize(10).allMatch(task -> task.getPriority() == TaskPriority.HIGH);
+        verify(claimRepository).claim(eq(TaskPriority.HIGH), eq(HOME), anyString(), any(), eq(4));
+    }
+    
+    @Test
+    void claimBatch_ShouldStealFromAllShards_WhenHomeRangeIsEmpty() {
+        // Given
+        when(claimRepository.claim(any(), eq(HOME), anyString(), any(), anyInt())).thenReturn(List.of());
+        when(claimRepository.claim(any(), eq(ALL), anyString(), any(), anyInt())).thenReturn(List.of());
+        when(claimRepository.claim(eq(TaskPriority.LOW), eq(ALL), anyString(), any(), anyInt()))
+            .thenReturn(tasks(TaskPriority.LOW, 1), List.of());
+        
+        // When
+        List<ClaimedTask> batch = dispatcher.claimBatch(HOME);
+        
+        // Then
+        assertThat(batch).hasSize(1);
+        verify(claimRepository).claim(eq(TaskPriority.LOW), eq(ALL), anyString(), any(), eq(1));
+    }
+    
+    @Test
+    void runOnce_ShouldScheduleRetry_WhenHandlerThrows() throws Exception {
+        // Given
+        ClaimedTask task = tasks(TaskPriority.NORMAL, 1).get(0);
+        when(claimRepository.claim(any(), any(), anyString(), any(), anyInt())).thenReturn(List.of());
+        when(claimRepository.claim(eq(TaskPriority.HIGH), eq(HOME), anyString(), any(), anyInt()))
+            .thenReturn(List.of(task));
+        doThrow(new IllegalStateException("boom")).when(handler).handle(task);
+        when(claimRepository.fail(eq(task), anyString(), anyString(), eq(true), any())).thenReturn("PENDING");
+        
+        // When
+        int claimed = dispatcher.runOnce(HOME);
+        
+        // Then
+        assertThat(claimed).isEqualTo(1);
+        verify(claimRepository).fail(eq(task), eq(dispatcher.getOwner()), contains("boom"), eq(true),
+            eq(Duration.ofSeconds(1)));
+        verify(claimRepository, never()).complete(any(), anyString());
+    }
+    
+    @Test
+    void worker_ShouldKeepRunning_WhenHandlerThrowsInterruptedException() throws Exception {
+        // Given
+        List<ClaimedTask> interrupted = tasks(TaskPriority.HIGH, 1);
+        List<ClaimedTask> next = tasks(TaskPriority.HIGH, 1);
+        when(claimRepository.claim(any(), any(), anyString(), any(), anyInt())).thenReturn(List.of());
+        // The empty claims in between make the worker sleep, which is where a leftover interrupt would surface
+        when(claimRepository.claim(eq(TaskPriority.HIGH), any(), anyString(), any(), anyInt()))
+            .thenReturn(interrupted, List.of(), List.of(), next, List.of());
+        doThrow(new InterruptedException("handler interrupted")).when(handler).handle(interrupted.get(0));
+        when(claimRepository.fail(any(), anyString(), anyString(), anyBoolean(), any())).thenReturn("PENDING");
+        when(claimRepository.complete(any(), anyString())).thenReturn(true);
+        
+        // When
+        dispatcher.start();
+        
+        // Then
+        try {
+            verify(handler, timeout(2000)).handle(next.get(0));
+            verify(claimRepository, timeout(2000)).complete(next.get(0), dispatcher.getOwner());
+            verify(claimRepository).fail(eq(interrupted.get(0)), eq(dispatcher.getOwner()),
+                contains("handler interrupted"), eq(true), any());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+    
+    @Test
+    void renewLeases_ShouldMarkTaskLost_WhenItsLeaseWasNotRenewed() {
+        // Given
+        List<ClaimedTask> held = tasks(TaskPriority.NORMAL, 2);
+        when(claimRepository.claim(any(), any(), anyString(), any(), anyInt())).thenReturn(List.of());
+        when(claimRepository.claim(eq(TaskPriority.HIGH), eq(HOME), anyString(), any(), anyInt())).thenReturn(held);
+        dispatcher.claimBatch(HOME);
+        when(claimRepository.renewLeases(dispatcher.getOwner(), Duration.ofSeconds(30)))
+            .thenReturn(Map.of(held.get(0).getId(), 1));
+        
+        // When
+        dispatcher.renewLeases();
+        
+        // Then
+        assertThat(held.get(0).isLeaseLost()).isFalse();
+        assertThat(held.get(1).isLeaseLost()).isTrue();
+    }
+    
+    private static List<ClaimedTask> tasks(TaskPriority lane, int count) {
+        List<ClaimedTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new ClaimedTask(UUID.randomUUID(), "report", null, lane, 1, 3,
+                LocalDateTime.now().minusSeconds(1)));
+        }
+        return tasks;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.infrastructure.cache.BloomFilter;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of registered emails. A negative answer means the email is
+ * definitely free as far as this node has seen, so callers can skip the database
+ * lookup; writes from other replicas are still caught by the unique constraint.
+ */
+@Component
+public class EmailRegistry {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EmailRegistry.class);
+    
+    private final UserRepository userRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    
+    private volatile BloomFilter filter;
+    private volatile BloomFilter rebuilding;
+    
+    public EmailRegistry(UserRepository userRepository,
+                         @Value("${users.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                         @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+    
+    public boolean mightExist(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(email);
+    }
+    
+    public void register(String email) {
+        // Read the rebuild target first: rebuild() publishes the new filter before it
+        // clears the target, so one of the two reads always reaches the live filter.
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(email);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(email);
+        }
+    }
+    
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveRate);
+        rebuilding = next;
+        long count = 0;
+        try (Stream<String> emails = userRepository.streamAllEmails()) {
+            for (String email : (Iterable<String>) emails::iterator) {
+                next.put(email);
+                count++;
+            }
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+        logger.info("Email filter rebuilt with {} entries", count);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.infrastructure.repository.UserBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for last-login timestamps. Logins only update an in-memory map
+ * holding the latest timestamp per user; a scheduled flush writes them in batched
+ * UPDATEs that leave {@code version} alone, so logins never conflict with profile
+ * edits. Cached profiles may show a stale lastLoginAt until they expire.
+ */
+@Component
+public class LoginActivityRecorder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoginActivityRecorder.class);
+    
+    private final UserBatchRepository userBatchRepository;
+    private final int maxBuffered;
+    private final int batchSize;
+    private final int maxBatchesPerFlush;
+    
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private final Counter droppedCounter;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+    
+    public LoginActivityRecorder(UserBatchRepository userBatchRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${users.login-activity.max-buffered:100000}") int maxBuffered,
+                                 @Value("${users.login-activity.batch-size:500}") int batchSize,
+                                 @Value("${users.login-activity.max-batches-per-flush:20}") int maxBatchesPerFlush) {
+        this.userBatchRepository = userBatchRepository;
+        this.maxBuffered = maxBuffered;
+        this.batchSize = batchSize;
+        this.maxBatchesPerFlush = maxBatchesPerFlush;
+        
+        Gauge.builder("users.login-activity.buffered", pending, Map::size)
+            .description("Users with a last-login timestamp waiting to be written")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("users.login-activity.dropped")
+            .description("Logins not recorded because the buffer was full")
+            .register(meterRegistry);
+        this.flushedCounter = Counter.builder("users.login-activity.flushed")
+            .description("Last-login timestamps written to the database")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("users.login-activity.flush.failures")
+            .description("Last-login batches that failed and were re-buffered")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("users.login-activity.flush.duration")
+            .description("Time to write one batch of last-login timestamps")
+            .register(meterRegistry);
+    }
+    
+    public void record(UUID userId, LocalDateTime loginAt) {
+        // Repeat logins by a buffered user only move the timestamp forward; new users
+        // are turned away once the buffer is full so memory stays bounded.
+        if (pending.size() >= maxBuffered && !pending.containsKey(userId)) {
+            droppedCounter.increment();
+            return;
+        }
+        pending.merge(userId, loginAt, LoginActivityRecorder::latest);
+    }
+    
+    @Scheduled(fixedDelayString = "${users.login-activity.flush-interval-ms:1000}")
+    public void flush() {
+        flush(maxBatchesPerFlush);
+    }
+    
+    int flush(int maxBatches) {
+        if (!flushLock.tryLock()) {
+            return 0;
+        }
+        try {
+            int written = 0;
+            for (int i = 0; i < maxBatches && !pending.isEmpty(); i++) {
+                Map<UUID, LocalDateTime> batch = takeBatch();
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (!write(batch)) {
+                    break;
+                }
+                written += batch.size();
+            }
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    private Map<UUID, LocalDateTime> takeBatch() {
+        Map<UUID, LocalDateTime> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<UUID, LocalDateTime>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            Map.Entry<UUID, LocalDateTime> entry = iterator.next();
+            // Only take the value we saw; a newer login keeps its entry for the next batch
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+    
+    private boolean write(Map<UUID, LocalDateTime> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            userBatchRepository.updateLastLoginAt(batch);
+            sample.stop(flushTimer);
+            flushedCounter.increment(batch.size());
+            logger.debug("Flushed {} last-login timestamps", batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            logger.warn("Failed to flush {} last-login timestamps, will retry", batch.size(), e);
+            batch.forEach((userId, loginAt) -> pending.merge(userId, loginAt, LoginActivityRecorder::latest));
+            return false;
+        }
+    }
+    
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+    
+    @PreDestroy
+    void drain() {
+        // Runs before the DataSource closes: this bean depends on it
+        int buffered = pending.size();
+        flush(Integer.MAX_VALUE);
+        if (!pending.isEmpty()) {
+            logger.warn("Dropping {} last-login timestamps on shutdown", pending.size());
+        } else if (buffered > 0) {
+            logger.info("Flushed {} buffered last-login timestamps on shutdown", buffered);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.infrastructure.cache.CacheNames;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Short-lived negative entries for ids and emails that were looked up and not found,
+ * so repeated lookups of unknown users (stale references held by other services) are
+ * answered without a query. They live in the shared cache with their own short TTL;
+ * createUser and bulk imports remove the entries for new rows. Misses are only
+ * remembered from lookups that ran on the primary: a replica may not have the row
+ * of a user created moments ago. Evictions apply after commit, so a
+ * lookup that read the table just before the commit can still store a stale entry,
+ * which then lasts at most one negative TTL.
+ */
+@Component
+public class MissingUserCache {
+    
+    private static final Boolean MISSING = Boolean.TRUE;
+    
+    private final CacheManager cacheManager;
+    private final Counter idHitCounter;
+    private final Counter emailHitCounter;
+    
+    public MissingUserCache(CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.idHitCounter = hitCounter(meterRegistry, "id");
+        this.emailHitCounter = hitCounter(meterRegistry, "email");
+    }
+    
+    private static Counter hitCounter(MeterRegistry meterRegistry, String lookup) {
+        return Counter.builder("users.lookup.negative-hits")
+            .description("User lookups answered as not found from the negative cache")
+            .tag("by", lookup)
+            .register(meterRegistry);
+    }
+    
+    public boolean isMissing(UUID id) {
+        return isMissing(idKey(id), idHitCounter);
+    }
+    
+    public boolean isMissing(String email) {
+        return isMissing(emailKey(email), emailHitCounter);
+    }
+    
+    // putIfAbsent goes straight through a transaction-aware cache; a put would wait
+    // for a commit that never comes, because the lookup that missed throws.
+    public void rememberMissing(UUID id) {
+        cache().putIfAbsent(idKey(id), MISSING);
+    }
+    
+    public void rememberMissing(String email) {
+        cache().putIfAbsent(emailKey(email), MISSING);
+    }
+    
+    public void forget(UUID id, String email) {
+        Cache cache = cache();
+        cache.evict(idKey(id));
+        cache.evict(emailKey(email));
+    }
+    
+    private boolean isMissing(String key, Counter hitCounter) {
+        if (cache().get(key) == null) {
+            return false;
+        }
+        hitCounter.increment();
+        return true;
+    }
+    
+    private Cache cache() {
+        return cacheManager.getCache(CacheNames.MISSING_USERS);
+    }
+    
+    private static String idKey(UUID id) {
+        return "id:" + id;
+    }
+    
+    private static String emailKey(String email) {
+        return "email:" + email;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing and verification on a CPU-sized pool with a bounded queue,
+ * so a burst of signups or logins waits behind at most {@code queue-capacity} hashes
+ * and is rejected quickly beyond that instead of tying up every request thread.
+ */
+@Service
+public class PasswordHashingService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+    
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final Duration timeout;
+    
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer queueWaitTimer;
+    private final Counter rejectedCounter;
+    
+    private volatile String dummyHash;
+    
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password.hashing.timeout:5s}") Duration timeout) {
+        this.passwordEncoder = passwordEncoder;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.timeout = timeout;
+        
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        
+        this.encodeTimer = Timer.builder("password.hash.duration")
+            .description("Time spent computing password hashes")
+            .tag("operation", "encode")
+            .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration")
+            .description("Time spent computing password hashes")
+            .tag("operation", "matches")
+            .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait")
+            .description("Time hashing tasks wait for a free hashing thread")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+            .description("Hashing tasks rejected because the queue was full")
+            .register(meterRegistry);
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+            .description("Hashing tasks waiting for a thread")
+            .register(meterRegistry);
+    }
+    
+    public String encode(String rawPassword) {
+        return await(submit(() -> passwordEncoder.encode(rawPassword), encodeTimer));
+    }
+    
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return await(submit(() -> passwordEncoder.matches(rawPassword, encodedPassword), matchesTimer));
+    }
+    
+    /**
+     * Checks the password against the hash of a random secret, made with the current
+     * encoder settings, and discards the result. Used when there is no account to check
+     * against, so that path costs as much as a failed password check.
+     */
+    public void matchesDummy(String rawPassword) {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        matches(rawPassword, hash);
+    }
+    
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+    
+    /**
+     * Hashes a batch of passwords while keeping at most one task per hashing thread
+     * in flight, so bulk work leaves the queue free for interactive requests.
+     * Each future fails individually if its hash could not be computed.
+     */
+    public List<CompletableFuture<String>> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rawPasswords.size());
+        for (int i = 0; i < rawPasswords.size(); i++) {
+            if (i >= threads) {
+                hashes.get(i - threads).handle((hash, error) -> null).join();
+            }
+            String rawPassword = rawPasswords.get(i);
+            CompletableFuture<String> hash;
+            try {
+                hash = submit(() -> passwordEncoder.encode(rawPassword), encodeTimer);
+            } catch (ServiceUnavailableException e) {
+                hash = CompletableFuture.failedFuture(e);
+            }
+            hashes.add(hash);
+        }
+        return hashes;
+    }
+    
+    private <T> CompletableFuture<T> submit(Supplier<T> task, Timer durationTimer) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return durationTimer.record(task);
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("PASSWORD_HASHING_BUSY",
+                "Too many password operations in progress, please retry shortly", e);
+        }
+    }
+    
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            throw new ServiceUnavailableException("PASSWORD_HASHING_TIMEOUT",
+                "Password operation timed out, please retry shortly", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        logger.info("Shutting down password hashing pool");
+        executor.shutdownNow();
+    }
+}
\ No newline at end of file
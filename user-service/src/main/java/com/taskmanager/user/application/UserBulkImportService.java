@@ -0,0 +1,202 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.common.event.DomainEvent;
+import com.taskmanager.common.event.EventPublisher;
+import com.taskmanager.user.application.dto.BulkCreateUsersCommand;
+import com.taskmanager.user.application.dto.BulkCreateUsersResult;
+import com.taskmanager.user.application.dto.BulkCreateUsersResult.RowFailure;
+import com.taskmanager.user.application.dto.CreateUserCommand;
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.Role;
+import com.taskmanager.user.domain.User;
+import com.taskmanager.user.domain.event.UserCreatedEvent;
+import com.taskmanager.user.infrastructure.cache.CacheNames;
+import com.taskmanager.user.infrastructure.repository.UserBatchRepository;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many users in one request: one query to find taken emails, password
+ * hashing spread over the hashing pool, JDBC batch inserts and a single batched
+ * outbox write. Rows that cannot be created are reported back individually.
+ */
+@Service
+public class UserBulkImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkImportService.class);
+    
+    private final UserRepository userRepository;
+    private final UserBatchRepository userBatchRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final EventPublisher eventPublisher;
+    private final UserMapper userMapper;
+    private final EmailRegistry emailRegistry;
+    private final MissingUserCache missingUsers;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    
+    public UserBulkImportService(UserRepository userRepository,
+                                 UserBatchRepository userBatchRepository,
+                                 PasswordHashingService passwordHashingService,
+                                 EventPublisher eventPublisher,
+                                 UserMapper userMapper,
+                                 EmailRegistry emailRegistry,
+                                 MissingUserCache missingUsers,
+                                 CacheManager cacheManager,
+                                 Validator validator,
+                                 TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.userBatchRepository = userBatchRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.eventPublisher = eventPublisher;
+        this.userMapper = userMapper;
+        this.emailRegistry = emailRegistry;
+        this.missingUsers = missingUsers;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+    }
+    
+    public BulkCreateUsersResult createUsers(BulkCreateUsersCommand command) {
+        List<CreateUserCommand> rows = command.getUsers();
+        logger.info("Bulk creating {} users", rows.size());
+        
+        List<RowFailure> failures = new ArrayList<>();
+        Map<Integer, CreateUserCommand> candidates = validate(rows, failures);
+        
+        // One round trip for every email in the request
+        Set<String> takenEmails = candidates.isEmpty()
+            ? Set.of()
+            : new HashSet<>(userRepository.findExistingEmails(
+                candidates.values().stream().map(CreateUserCommand::getEmail).collect(Collectors.toList())));
+        candidates.entrySet().removeIf(entry -> {
+            if (takenEmails.contains(entry.getValue().getEmail())) {
+                failures.add(alreadyExists(entry.getKey(), entry.getValue().getEmail()));
+                return true;
+            }
+            return false;
+        });
+        
+        Map<Integer, User> users = hashPasswords(candidates, failures);
+        
+        List<User> inserted = users.isEmpty() ? List.of() : transactionTemplate.execute(status -> insert(users.values()));
+        Set<UUID> insertedIds = inserted.stream().map(User::getId).collect(Collectors.toSet());
+        users.forEach((index, user) -> {
+            if (!insertedIds.contains(user.getId())) {
+                // Lost a race with a concurrent insert of the same email
+                failures.add(alreadyExists(index, user.getEmail()));
+            }
+        });
+        
+        Cache emailCache = cacheManager.getCache(CacheNames.USER_EMAILS);
+        List<UserDTO> created = new ArrayList<>(inserted.size());
+        for (User user : inserted) {
+            emailRegistry.register(user.getEmail());
+            emailCache.put(user.getEmail(), user.getId().toString());
+            missingUsers.forget(user.getId(), user.getEmail());
+            created.add(userMapper.toDTO(user));
+        }
+        
+        failures.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        logger.info("Bulk create finished: {} created, {} failed", created.size(), failures.size());
+        return new BulkCreateUsersResult(created, failures);
+    }
+    
+    private Map<Integer, CreateUserCommand> validate(List<CreateUserCommand> rows, List<RowFailure> failures) {
+        Map<Integer, CreateUserCommand> valid = new TreeMap<>();
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            CreateUserCommand row = rows.get(i);
+            if (row == null) {
+                failures.add(new RowFailure(i, null, "VALIDATION_ERROR", "User entry is required"));
+                continue;
+            }
+            Set<ConstraintViolation<CreateUserCommand>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+                failures.add(new RowFailure(i, row.getEmail(), "VALIDATION_ERROR", message));
+                continue;
+            }
+            if (!seenEmails.add(row.getEmail())) {
+                failures.add(new RowFailure(i, row.getEmail(), "DUPLICATE_EMAIL",
+                    "Email appears more than once in the request"));
+                continue;
+            }
+            valid.put(i, row);
+        }
+        return valid;
+    }
+    
+    private Map<Integer, User> hashPasswords(Map<Integer, CreateUserCommand> candidates, List<RowFailure> failures) {
+        List<Integer> indexes = new ArrayList<>(candidates.keySet());
+        List<CompletableFuture<String>> encoded = passwordHashingService.encodeAll(
+            indexes.stream().map(index -> candidates.get(index).getPassword()).toList());
+        Map<Integer, CompletableFuture<String>> hashes = new TreeMap<>();
+        for (int i = 0; i < indexes.size(); i++) {
+            hashes.put(indexes.get(i), encoded.get(i));
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, User> users = new TreeMap<>();
+        hashes.forEach((index, hash) -> {
+            CreateUserCommand row = candidates.get(index);
+            try {
+                User user = new User(row.getEmail(), row.getFirstName(), row.getLastName(),
+                    hash.join(), Set.of(Role.USER));
+                user.setId(UUID.randomUUID());
+                user.setCreatedAt(now);
+                user.setUpdatedAt(now);
+                user.setVersion(0L);
+                users.put(index, user);
+            } catch (CompletionException e) {
+                logger.warn("Password hashing failed for bulk row {}", index, e.getCause());
+                failures.add(new RowFailure(index, row.getEmail(), "PASSWORD_HASHING_FAILED",
+                    "Password could not be processed"));
+            }
+        });
+        return users;
+    }
+    
+    private List<User> insert(Iterable<User> users) {
+        List<User> batch = new ArrayList<>();
+        users.forEach(batch::add);
+        List<User> inserted = userBatchRepository.insertAll(batch);
+        
+        // The constructor's event was raised before the id was assigned
+        List<DomainEvent> events = new ArrayList<>(inserted.size());
+        for (User user : inserted) {
+            user.clearDomainEvents();
+            events.add(new UserCreatedEvent(user));
+        }
+        eventPublisher.publishEvents(events);
+        return inserted;
+    }
+    
+    private RowFailure alreadyExists(int index, String email) {
+        return new RowFailure(index, email, "USER_ALREADY_EXISTS", "User already exists with email: " + email);
+    }
+    
+}
\ No newline at end of file
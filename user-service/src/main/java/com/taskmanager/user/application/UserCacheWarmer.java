@@ -0,0 +1,154 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.infrastructure.cache.CacheBatches;
+import com.taskmanager.user.infrastructure.cache.CacheNames;
+import com.taskmanager.user.infrastructure.datasource.PrimaryReads;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fills the user caches after startup, so a fresh node or a flushed Redis does not
+ * send its first minutes of lookups to Postgres. Enabled users are streamed most
+ * recent login first and written in batches, one pipelined L2 write per cache and
+ * batch, at no more than {@code rate-per-second} users. Only keys the shared cache
+ * does not hold are written: the cursor's snapshot can be older than entries other
+ * nodes wrote meanwhile, so those are kept and copied into L1. The node reports itself not
+ * ready until warm-up has finished, failed or run out of time; a cold cache only
+ * costs latency, so it never holds the node back beyond that.
+ */
+@Component
+public class UserCacheWarmer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheWarmer.class);
+    
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final int maxUsers;
+    private final int batchSize;
+    private final int ratePerSecond;
+    private final Duration maxDuration;
+    private final Counter warmedCounter;
+    
+    private volatile boolean warm;
+    
+    public UserCacheWarmer(UserRepository userRepository,
+                           CacheManager cacheManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${users.cache-warmup.enabled:true}") boolean enabled,
+                           @Value("${users.cache-warmup.max-users:100000}") int maxUsers,
+                           @Value("${users.cache-warmup.batch-size:500}") int batchSize,
+                           @Value("${users.cache-warmup.rate-per-second:5000}") int ratePerSecond,
+                           @Value("${users.cache-warmup.max-duration:2m}") Duration maxDuration) {
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.batchSize = batchSize;
+        this.ratePerSecond = ratePerSecond;
+        this.maxDuration = maxDuration;
+        this.warmedCounter = Counter.builder("users.cache-warmup.users")
+            .description("Users offered to the caches by startup warm-up; keys already cached are kept")
+            .register(meterRegistry);
+    }
+    
+    public boolean isWarm() {
+        return warm;
+    }
+    
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        if (!enabled) {
+            warm = true;
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        int warmed = 0;
+        Map<Object, Object> profiles = new HashMap<>();
+        Map<Object, Object> emailIds = new HashMap<>();
+        // A lagging replica would fill the shared caches with stale profiles; the query
+        // runs, and takes its connection, when the stream is opened
+        try (Stream<UserDTO> users = PrimaryReads.call(() -> userRepository.streamActiveDtos(maxUsers, batchSize))) {
+            Iterator<UserDTO> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                UserDTO user = iterator.next();
+                profiles.put(user.getId(), user);
+                emailIds.put(user.getEmail(), user.getId().toString());
+                if (profiles.size() < batchSize) {
+                    continue;
+                }
+                warmed += write(profiles, emailIds);
+                if (!pace(started, warmed)) {
+                    break;
+                }
+                if (System.nanoTime() > deadline) {
+                    logger.warn("User cache warm-up stopped after {} users: it exceeded {}", warmed, maxDuration);
+                    break;
+                }
+            }
+            warmed += write(profiles, emailIds);
+            logger.info("User cache warm-up wrote {} users in {} ms", warmed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            logger.warn("User cache warm-up failed after {} users, continuing with a partly cold cache", warmed, e);
+        } finally {
+            warm = true;
+        }
+    }
+    
+    private int write(Map<Object, Object> profiles, Map<Object, Object> emailIds) {
+        int written = profiles.size();
+        if (written == 0) {
+            return 0;
+        }
+        CacheBatches.putAllAbsent(cache(CacheNames.USERS), profiles);
+        // Ids as strings, as UserService stores them
+        CacheBatches.putAllAbsent(cache(CacheNames.USER_EMAILS), emailIds);
+        warmedCounter.increment(written);
+        profiles.clear();
+        emailIds.clear();
+        return written;
+    }
+    
+    // Sleeps until writing this many users is within the rate; false if interrupted
+    private boolean pace(long started, int warmed) {
+        long aheadNanos = warmed * 1_000_000_000L / ratePerSecond - (System.nanoTime() - started);
+        if (aheadNanos <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.info("User cache warm-up interrupted after {} users", warmed);
+            return false;
+        }
+    }
+    
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
\ No newline at end of file
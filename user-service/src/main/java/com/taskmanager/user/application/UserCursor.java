@@ -0,0 +1,63 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.application.exception.InvalidCursorException;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the (created_at, id) ordering of users, exchanged with clients as an
+ * opaque URL-safe token.
+ */
+public final class UserCursor {
+    
+    private static final byte FORMAT_VERSION = 1;
+    private static final int ENCODED_LENGTH = 1 + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+    
+    private final LocalDateTime createdAt;
+    private final UUID id;
+    
+    public UserCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public static UserCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(token);
+        }
+        if (bytes.length != ENCODED_LENGTH || bytes[0] != FORMAT_VERSION) {
+            throw new InvalidCursorException(token);
+        }
+        
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, ENCODED_LENGTH - 1);
+        long epochSecond = buffer.getLong();
+        int nanos = buffer.getInt();
+        if (nanos < 0 || nanos > 999_999_999) {
+            throw new InvalidCursorException(token);
+        }
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        return new UserCursor(createdAt, id);
+    }
+    
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_LENGTH)
+            .put(FORMAT_VERSION)
+            .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+            .putInt(createdAt.getNano())
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public UUID getId() { return id; }
+}
\ No newline at end of file
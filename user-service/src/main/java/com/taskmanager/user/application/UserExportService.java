@@ -0,0 +1,69 @@
+package com.taskmanager.user.application;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.Role;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes users as newline-delimited JSON straight from a database cursor, one row at
+ * a time, so memory use does not depend on how many users there are. Output goes
+ * through one generator and is flushed by its buffer, not per row.
+ */
+@Service
+public class UserExportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserExportService.class);
+    
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter userWriter;
+    private final int fetchSize;
+    
+    public UserExportService(UserRepository userRepository,
+                             ObjectMapper objectMapper,
+                             @Value("${users.export.fetch-size:1000}") int fetchSize) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.userWriter = objectMapper.writerFor(UserDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.fetchSize = fetchSize;
+    }
+    
+    /**
+     * Writes every matching user, in creation order, and returns how many were
+     * written. The output stream is left open.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(Boolean enabled, Role role, OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<UserDTO> users = userRepository.streamDtos(enabled, role, fetchSize);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<UserDTO> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                userWriter.writeValue(generator, iterator.next());
+                exported++;
+            }
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        logger.info("Exported {} users (enabled: {}, role: {})", exported, enabled, role);
+        return exported;
+    }
+}
\ No newline at end of file
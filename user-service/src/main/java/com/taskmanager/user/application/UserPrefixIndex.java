@@ -0,0 +1,180 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory prefix index of the most recently active users, for type-ahead
+ * suggestions without a database round trip. Each user is indexed under their
+ * email, first name, last name and full name, lower case, in one sorted array that
+ * a lookup binary-searches and then scans. The index is rebuilt from scratch on its
+ * own thread every {@code refresh-interval}, so changes, including disabled users,
+ * show up in suggestions only after the next rebuild.
+ */
+@Component
+public class UserPrefixIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserPrefixIndex.class);
+    
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final int maxUsers;
+    private final int fetchSize;
+    private final Duration refreshInterval;
+    private final ScheduledExecutorService scheduler;
+    
+    private volatile Snapshot snapshot;
+    
+    public UserPrefixIndex(UserRepository userRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${users.search.prefix-index.enabled:false}") boolean enabled,
+                           @Value("${users.search.prefix-index.max-users:100000}") int maxUsers,
+                           @Value("${users.search.prefix-index.fetch-size:1000}") int fetchSize,
+                           @Value("${users.search.prefix-index.refresh-interval:5m}") Duration refreshInterval) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxUsers = maxUsers;
+        this.fetchSize = fetchSize;
+        this.refreshInterval = refreshInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-prefix-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Gauge.builder("users.search.prefix-index.terms", this, index -> {
+                Snapshot current = index.snapshot;
+                return current == null ? 0 : current.terms.length;
+            })
+            .description("Terms in the in-memory user prefix index")
+            .register(meterRegistry);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::scheduledRebuild, 0, refreshInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("User prefix index rebuild failed, keeping the previous index", e);
+        }
+    }
+    
+    public void rebuild() {
+        long started = System.nanoTime();
+        List<Term> terms = new ArrayList<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<UserDTO> users = userRepository.streamActiveDtos(maxUsers, fetchSize)) {
+                users.forEach(user -> {
+                    addTerm(terms, user.getEmail(), user);
+                    addTerm(terms, user.getFirstName(), user);
+                    addTerm(terms, user.getLastName(), user);
+                    if (user.getFirstName() != null && user.getLastName() != null) {
+                        addTerm(terms, user.getFirstName() + " " + user.getLastName(), user);
+                    }
+                });
+            }
+        });
+        terms.sort(Comparator.comparing(Term::text));
+        snapshot = new Snapshot(terms);
+        logger.info("User prefix index rebuilt with {} terms in {} ms", terms.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+    
+    private static void addTerm(List<Term> terms, String text, UserDTO user) {
+        if (text != null && !text.isBlank()) {
+            terms.add(new Term(text.toLowerCase(Locale.ROOT), user));
+        }
+    }
+    
+    /**
+     * Up to {@code limit} distinct users with a term starting with {@code prefix}
+     * (lower case), in term order, or empty while the index has not been built.
+     */
+    public Optional<List<UserDTO>> suggest(String prefix, int limit) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Map<UUID, UserDTO> found = new LinkedHashMap<>();
+        for (int i = current.firstAtOrAfter(prefix); i < current.terms.length && found.size() < limit; i++) {
+            if (!current.terms[i].startsWith(prefix)) {
+                break;
+            }
+            found.putIfAbsent(current.users[i].getId(), current.users[i]);
+        }
+        return Optional.of(new ArrayList<>(found.values()));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+    
+    private record Term(String text, UserDTO user) {}
+    
+    // Parallel arrays rather than Term objects keep the binary search on a plain String[]
+    private static final class Snapshot {
+        
+        private final String[] terms;
+        private final UserDTO[] users;
+        
+        private Snapshot(List<Term> sortedTerms) {
+            this.terms = new String[sortedTerms.size()];
+            this.users = new UserDTO[sortedTerms.size()];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = sortedTerms.get(i).text();
+                users[i] = sortedTerms.get(i).user();
+            }
+        }
+        
+        private int firstAtOrAfter(String prefix) {
+            int low = 0;
+            int high = terms.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (terms[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
\ No newline at end of file
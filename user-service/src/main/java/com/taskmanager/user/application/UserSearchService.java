@@ -0,0 +1,80 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.application.exception.InvalidSearchQueryException;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Type-ahead search over enabled users. {@link #search} ranks prefix and fuzzy
+ * (trigram) matches in Postgres; {@link #suggest} answers prefix lookups from the
+ * in-memory {@link UserPrefixIndex} when it is enabled and built, and fills up from
+ * Postgres what the index cannot answer.
+ */
+@Service
+public class UserSearchService {
+    
+    static final int MAX_QUERY_LENGTH = 100;
+    
+    private final UserRepository userRepository;
+    private final UserPrefixIndex userPrefixIndex;
+    private final int maxResults;
+    
+    public UserSearchService(UserRepository userRepository,
+                             UserPrefixIndex userPrefixIndex,
+                             @Value("${users.search.max-results:50}") int maxResults) {
+        this.userRepository = userRepository;
+        this.userPrefixIndex = userPrefixIndex;
+        this.maxResults = maxResults;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<UserDTO> search(String query, int limit) {
+        return userRepository.searchDtos(normalize(query), clamp(limit));
+    }
+    
+    /**
+     * Index hits first; when the index is not built or has fewer than {@code limit}
+     * hits, as for users outside its most recently active ones, the rest comes from
+     * {@link UserRepository#searchDtos}, without repeating users.
+     */
+    // Not transactional: a full page of index hits must not take a connection
+    public List<UserDTO> suggest(String query, int limit) {
+        String prefix = normalize(query);
+        int size = clamp(limit);
+        List<UserDTO> indexed = userPrefixIndex.suggest(prefix, size).orElse(List.of());
+        if (indexed.size() >= size) {
+            return indexed;
+        }
+        Map<UUID, UserDTO> suggestions = new LinkedHashMap<>();
+        indexed.forEach(user -> suggestions.put(user.getId(), user));
+        for (UserDTO user : userRepository.searchDtos(prefix, size)) {
+            if (suggestions.size() == size) {
+                break;
+            }
+            suggestions.putIfAbsent(user.getId(), user);
+        }
+        return new ArrayList<>(suggestions.values());
+    }
+    
+    private int clamp(int limit) {
+        return Math.max(1, Math.min(limit, maxResults));
+    }
+    
+    private static String normalize(String query) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || normalized.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidSearchQueryException(MAX_QUERY_LENGTH);
+        }
+        return normalized;
+    }
+}
\ No newline at end of file
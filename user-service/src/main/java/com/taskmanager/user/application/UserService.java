@@ -1,56 +1,109 @@
 package com.taskmanager.user.application;
 
 import com.taskmanager.common.event.EventPublisher;
+import com.taskmanager.user.application.dto.AuthenticateCommand;
+import com.taskmanager.user.application.dto.ChangePasswordCommand;
 import com.taskmanager.user.application.dto.CreateUserCommand;
+import com.taskmanager.user.application.dto.CursorPage;
+import com.taskmanager.user.application.dto.PatchUserCommand;
 import com.taskmanager.user.application.dto.UpdateUserCommand;
 import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.application.exception.InvalidCredentialsException;
+import com.taskmanager.user.application.exception.UserBatchTooLargeException;
 import com.taskmanager.user.application.exception.UserNotFoundException;
 import com.taskmanager.user.application.exception.UserAlreadyExistsException;
+import com.taskmanager.user.application.exception.UserVersionConflictException;
 import com.taskmanager.user.domain.Role;
 import com.taskmanager.user.domain.User;
+import com.taskmanager.user.domain.event.UserCreatedEvent;
+import com.taskmanager.user.domain.event.UserUpdatedEvent;
+import com.taskmanager.user.infrastructure.cache.CacheBatches;
+import com.taskmanager.user.infrastructure.cache.CacheNames;
+import com.taskmanager.user.infrastructure.datasource.PrimaryReads;
 import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
+@Timed(value = "users.operations", description = "Latency of user service operations, cache hits included")
 public class UserService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final EventPublisher eventPublisher;
     private final UserMapper userMapper;
+    private final EmailRegistry emailRegistry;
+    private final LoginActivityRecorder loginActivityRecorder;
+    private final MissingUserCache missingUsers;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int patchMaxAttempts;
+    private final int batchMaxIds;
     
     public UserService(UserRepository userRepository, 
-                      PasswordEncoder passwordEncoder,
+                      PasswordHashingService passwordHashingService,
                       EventPublisher eventPublisher,
-                      UserMapper userMapper) {
+                      UserMapper userMapper,
+                      EmailRegistry emailRegistry,
+                      LoginActivityRecorder loginActivityRecorder,
+                      MissingUserCache missingUsers,
+                      CacheManager cacheManager,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${users.patch.max-attempts:3}") int patchMaxAttempts,
+                      @Value("${users.batch.max-ids:200}") int batchMaxIds) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.eventPublisher = eventPublisher;
         this.userMapper = userMapper;
+        this.emailRegistry = emailRegistry;
+        this.loginActivityRecorder = loginActivityRecorder;
+        this.missingUsers = missingUsers;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = transactionTemplate;
+        this.patchMaxAttempts = patchMaxAttempts;
+        this.batchMaxIds = batchMaxIds;
     }
     
+    // Hashing runs outside any transaction so no database connection is held while
+    // waiting on the hashing pool; only the insert itself is transactional.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public UserDTO createUser(CreateUserCommand command) {
         logger.info("Creating user with email: {}", command.getEmail());
         
-        if (userRepository.existsByEmail(command.getEmail())) {
+        // The filter answers most "is this email free" checks without a query; a
+        // positive answer (or a filter that is not built yet) falls through to the database.
+        if (emailRegistry.mightExist(command.getEmail()) && userRepository.existsByEmail(command.getEmail())) {
             throw new UserAlreadyExistsException(command.getEmail());
         }
         
-        String encodedPassword = passwordEncoder.encode(command.getPassword());
+        String encodedPassword = passwordHashingService.encode(command.getPassword());
         User user = new User(
             command.getEmail(),
             command.getFirstName(),
@@ -59,38 +112,134 @@ public class UserService {
             Set.of(Role.USER)
         );
         
-        User savedUser = userRepository.save(user);
-        
-        // Publish domain events
-        savedUser.getDomainEvents().forEach(eventPublisher::publishEvent);
-        savedUser.clearDomainEvents();
+        User savedUser = transactionTemplate.execute(status -> {
+            User saved;
+            try {
+                saved = userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                // Another replica registered the same email after our filter check
+                throw new UserAlreadyExistsException(command.getEmail());
+            }
+            emailRegistry.register(saved.getEmail());
+            emailCache().put(saved.getEmail(), saved.getId().toString());
+            missingUsers.forget(saved.getId(), saved.getEmail());
+            
+            // The constructor's event was raised before the id was assigned
+            saved.clearDomainEvents();
+            eventPublisher.publishEvent(new UserCreatedEvent(saved));
+            return saved;
+        });
         
         logger.info("User created successfully with ID: {}", savedUser.getId());
         return userMapper.toDTO(savedUser);
     }
     
-    @Cacheable(value = "users", key = "#id")
+    // sync: concurrent misses for one id share a single load on this node. Loads that
+    // fill the shared caches read from the primary, never from a lagging replica.
+    @Cacheable(value = CacheNames.USERS, key = "#id", sync = true)
     @Transactional(readOnly = true)
     public UserDTO getUserById(UUID id) {
-        User user = userRepository.findById(id)
-            .orElseThrow(() -> new UserNotFoundException(id));
-        return userMapper.toDTO(user);
+        if (missingUsers.isMissing(id)) {
+            throw new UserNotFoundException(id);
+        }
+        // Read on the primary, so a miss is not just a replica that has not seen a new user yet
+        return PrimaryReads.call(() -> userRepository.findDtoById(id))
+            .orElseThrow(() -> {
+                missingUsers.rememberMissing(id);
+                return new UserNotFoundException(id);
+            });
+    }
+    
+    /**
+     * Resolves many users with one multi-key cache read, one query for the misses and
+     * one pipelined cache backfill. Unknown ids are left out; the result follows the
+     * order of the ids, without duplicates.
+     */
+    @Transactional(readOnly = true)
+    public List<UserDTO> getUsersByIds(Collection<UUID> ids) {
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.size() > batchMaxIds) {
+            throw new UserBatchTooLargeException(distinctIds.size(), batchMaxIds);
+        }
+        
+        Cache usersCache = usersCache();
+        Map<Object, Object> cached = CacheBatches.getAll(usersCache, distinctIds);
+        List<UUID> misses = distinctIds.stream().filter(id -> !cached.containsKey(id)).toList();
+        Map<UUID, UserDTO> loaded = new HashMap<>();
+        if (!misses.isEmpty()) {
+            for (UserDTO user : PrimaryReads.call(() -> userRepository.findDtoByIds(misses))) {
+                loaded.put(user.getId(), user);
+            }
+            CacheBatches.putAll(usersCache, loaded);
+        }
+        
+        List<UserDTO> users = new ArrayList<>(distinctIds.size());
+        for (UUID id : distinctIds) {
+            UserDTO user = cached.containsKey(id) ? (UserDTO) cached.get(id) : loaded.get(id);
+            if (user != null) {
+                users.add(user);
+            }
+        }
+        return users;
     }
     
     @Transactional(readOnly = true)
     public UserDTO getUserByEmail(String email) {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new UserNotFoundException(email));
-        return userMapper.toDTO(user);
+        Cache usersCache = usersCache();
+        String cachedId = emailCache().get(email, String.class);
+        if (cachedId != null) {
+            UUID id = UUID.fromString(cachedId);
+            UserDTO cached = usersCache.get(id, UserDTO.class);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        
+        if (missingUsers.isMissing(email)) {
+            throw new UserNotFoundException(email);
+        }
+        // Read on the primary, like getUserById, before a miss is remembered
+        UserDTO userDTO = PrimaryReads.call(() -> userRepository.findDtoByEmail(email))
+            .orElseThrow(() -> {
+                missingUsers.rememberMissing(email);
+                return new UserNotFoundException(email);
+            });
+        emailCache().put(email, userDTO.getId().toString());
+        usersCache.put(userDTO.getId(), userDTO);
+        return userDTO;
     }
     
     @Transactional(readOnly = true)
     public Page<UserDTO> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-            .map(userMapper::toDTO);
+        return userRepository.findDtoPage(pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<UserDTO> getUsersByRole(Role role, Pageable pageable) {
+        return userRepository.findDtoPageByRole(role, pageable);
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> getUsersAfter(String cursor, int size, boolean includeTotal) {
+        // Fetch one extra row to learn whether another page exists without counting
+        UserCursor after = cursor == null || cursor.isBlank() ? null : UserCursor.decode(cursor);
+        List<UserDTO> users = after == null
+            ? userRepository.findDtoKeysetPage(null, null, size + 1)
+            : userRepository.findDtoKeysetPage(after.getCreatedAt(), after.getId(), size + 1);
+        
+        boolean hasMore = users.size() > size;
+        List<UserDTO> page = hasMore ? users.subList(0, size) : users;
+        String nextCursor = null;
+        if (hasMore) {
+            UserDTO last = page.get(page.size() - 1);
+            nextCursor = new UserCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        Long total = includeTotal ? userRepository.count() : null;
+        
+        return new CursorPage<>(List.copyOf(page), nextCursor, hasMore, total);
     }
     
-    @CacheEvict(value = "users", key = "#id")
+    @CacheEvict(value = CacheNames.USERS, key = "#id")
     public UserDTO updateUser(UUID id, UpdateUserCommand command) {
         logger.info("Updating user with ID: {}", id);
         
@@ -108,7 +257,115 @@ public class UserService {
         return userMapper.toDTO(savedUser);
     }
     
-    @CacheEvict(value = "users", key = "#id")
+    /**
+     * Applies the non-null fields of the command with one conditional UPDATE. A version
+     * in the command is a precondition: if the user has moved on, the patch fails with
+     * a conflict. Without one, the version comes from the cached user (or a lookup)
+     * and the patch is retried against the current version when a concurrent writer
+     * got there first, up to {@code users.patch.max-attempts} times.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO patchUser(UUID id, PatchUserCommand command) {
+        if (!command.hasChanges()) {
+            return userRepository.findDtoById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+        }
+        
+        boolean versionPinned = command.getVersion() != null;
+        Long expectedVersion = versionPinned ? command.getVersion() : cachedVersion(id);
+        for (int attempt = 1; attempt <= patchMaxAttempts; attempt++) {
+            if (expectedVersion == null) {
+                expectedVersion = userRepository.findVersionById(id)
+                    .orElseThrow(() -> new UserNotFoundException(id));
+            }
+            long version = expectedVersion;
+            Optional<UserDTO> patched = transactionTemplate.execute(status -> {
+                Optional<UserDTO> row = userRepository.patchProfile(id, version, command.getFirstName(),
+                    command.getLastName());
+                row.ifPresent(user -> {
+                    eventPublisher.publishEvent(new UserUpdatedEvent(user.getId(), user.getEmail(),
+                        user.getFullName()));
+                    // Transaction-aware cache: the put only happens on commit
+                    usersCache().put(id, user);
+                });
+                return row;
+            });
+            if (patched.isPresent()) {
+                logger.info("User patched successfully with ID: {}", id);
+                return patched.get();
+            }
+            
+            // Nothing matched: the user is gone or at another version
+            Long currentVersion = userRepository.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+            if (versionPinned) {
+                throw new UserVersionConflictException(id, version);
+            }
+            logger.debug("Version {} of user {} is stale, retrying at {}", version, id, currentVersion);
+            expectedVersion = currentVersion;
+        }
+        
+        throw new UserVersionConflictException(id, patchMaxAttempts);
+    }
+    
+    @CacheEvict(value = CacheNames.USERS, key = "#id")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void changePassword(UUID id, ChangePasswordCommand command) {
+        logger.info("Changing password for user with ID: {}", id);
+        
+        User current = userRepository.findById(id)
+            .orElseThrow(() -> new UserNotFoundException(id));
+        if (!passwordHashingService.matches(command.getCurrentPassword(), current.getPassword())) {
+            throw new InvalidCredentialsException();
+        }
+        String encodedPassword = passwordHashingService.encode(command.getNewPassword());
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+            user.changePassword(encodedPassword);
+            User savedUser = userRepository.save(user);
+            
+            // Publish domain events
+            savedUser.getDomainEvents().forEach(eventPublisher::publishEvent);
+            savedUser.clearDomainEvents();
+        });
+        
+        logger.info("Password changed successfully for user with ID: {}", id);
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public UserDTO authenticate(AuthenticateCommand command) {
+        Optional<User> found = userRepository.findActiveUserByEmail(command.getEmail());
+        if (found.isEmpty()) {
+            // Pay for a hash check anyway, so the response time does not tell whether the email has an account
+            passwordHashingService.matchesDummy(command.getPassword());
+            throw new InvalidCredentialsException();
+        }
+        User user = found.get();
+        if (!passwordHashingService.matches(command.getPassword(), user.getPassword())) {
+            throw new InvalidCredentialsException();
+        }
+        
+        // Hashes made with an older work factor are upgraded while the raw password is
+        // at hand. This is invisible to clients, so no event is raised and the version
+        // is left alone; the update is skipped if the password changed meanwhile.
+        if (passwordHashingService.needsRehash(user.getPassword())) {
+            String upgraded = passwordHashingService.encode(command.getPassword());
+            if (userRepository.updatePasswordHash(user.getId(), user.getPassword(), upgraded) == 1) {
+                logger.debug("Upgraded password hash for user with ID: {}", user.getId());
+            }
+        }
+        
+        // Written behind in batches, never through the entity and its version
+        LocalDateTime loginAt = LocalDateTime.now();
+        loginActivityRecorder.record(user.getId(), loginAt);
+        UserDTO userDTO = userMapper.toDTO(user);
+        userDTO.setLastLoginAt(loginAt);
+        return userDTO;
+    }
+    
+    @CacheEvict(value = CacheNames.USERS, key = "#id")
     public void deleteUser(UUID id) {
         logger.info("Deleting user with ID: {}", id);
         
@@ -124,4 +381,19 @@ public class UserService {
         
         logger.info("User deleted successfully with ID: {}", id);
     }
+    
+    private Long cachedVersion(UUID id) {
+        UserDTO cached = usersCache().get(id, UserDTO.class);
+        return cached == null ? null : cached.getVersion();
+    }
+    
+    private Cache usersCache() {
+        return cacheManager.getCache(CacheNames.USERS);
+    }
+    
+    private Cache emailCache() {
+        // Ids are stored as strings: the Redis serializer writes final types such as
+        // UUID without type information, so they would come back as strings anyway.
+        return cacheManager.getCache(CacheNames.USER_EMAILS);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.taskmanager.user.application.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class AuthenticateCommand {
+    
+    @NotBlank(message = "Email is required")
+    private String email;
+    
+    @NotBlank(message = "Password is required")
+    private String password;
+    
+    // Constructors
+    public AuthenticateCommand() {}
+    
+    public AuthenticateCommand(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+    
+    // Getters and setters
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.taskmanager.user.application.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkCreateUsersCommand {
+    
+    // Rows are validated one by one so that a bad row is reported instead of failing the request
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 1000, message = "At most 1000 users can be created per request")
+    private List<CreateUserCommand> users;
+    
+    // Constructors
+    public BulkCreateUsersCommand() {}
+    
+    public BulkCreateUsersCommand(List<CreateUserCommand> users) {
+        this.users = users;
+    }
+    
+    // Getters and setters
+    public List<CreateUserCommand> getUsers() { return users; }
+    public void setUsers(List<CreateUserCommand> users) { this.users = users; }
+}
\ No newline at end of file
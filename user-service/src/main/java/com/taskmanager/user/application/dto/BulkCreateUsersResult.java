@@ -0,0 +1,54 @@
+package com.taskmanager.user.application.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCreateUsersResult {
+    
+    private List<UserDTO> created = new ArrayList<>();
+    private List<RowFailure> failures = new ArrayList<>();
+    
+    // Constructors
+    public BulkCreateUsersResult() {}
+    
+    public BulkCreateUsersResult(List<UserDTO> created, List<RowFailure> failures) {
+        this.created = created;
+        this.failures = failures;
+    }
+    
+    // Getters and setters
+    public List<UserDTO> getCreated() { return created; }
+    public void setCreated(List<UserDTO> created) { this.created = created; }
+    
+    public List<RowFailure> getFailures() { return failures; }
+    public void setFailures(List<RowFailure> failures) { this.failures = failures; }
+    
+    public static class RowFailure {
+        private int index;
+        private String email;
+        private String errorCode;
+        private String message;
+        
+        public RowFailure() {}
+        
+        public RowFailure(int index, String email, String errorCode, String message) {
+            this.index = index;
+            this.email = email;
+            this.errorCode = errorCode;
+            this.message = message;
+        }
+        
+        // Getters and setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        
+        public String getErrorCode() { return errorCode; }
+        public void setErrorCode(String errorCode) { this.errorCode = errorCode; }
+        
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.taskmanager.user.application.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long totalElements;
+    
+    // Constructors
+    public CursorPage() {}
+    
+    public CursorPage(List<T> items, String nextCursor, boolean hasMore, Long totalElements) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.totalElements = totalElements;
+    }
+    
+    // Getters and setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    
+    // Only populated when the caller asks for it, since it costs a count(*) over users
+    public Long getTotalElements() { return totalElements; }
+    public void setTotalElements(Long totalElements) { this.totalElements = totalElements; }
+}
\ No newline at end of file
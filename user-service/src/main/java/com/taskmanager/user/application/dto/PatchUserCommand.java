@@ -0,0 +1,49 @@
+package com.taskmanager.user.application.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+/**
+ * A partial profile update: only non-null fields are written. When {@code version}
+ * is given the update applies only if the user is still at that version.
+ */
+public class PatchUserCommand {
+    
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+    
+    // Absent means unchanged, but a given name must not be blank, as with PUT
+    @Pattern(regexp = NOT_BLANK, message = "First name is required")
+    @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
+    private String firstName;
+    
+    @Pattern(regexp = NOT_BLANK, message = "Last name is required")
+    @Size(min = 2, max = 50, message = "Last name must be between 2 and 50 characters")
+    private String lastName;
+    
+    @PositiveOrZero(message = "Version must not be negative")
+    private Long version;
+    
+    // Constructors
+    public PatchUserCommand() {}
+    
+    public PatchUserCommand(String firstName, String lastName, Long version) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.version = version;
+    }
+    
+    public boolean hasChanges() {
+        return firstName != null || lastName != null;
+    }
+    
+    // Getters and setters
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
\ No newline at end of file
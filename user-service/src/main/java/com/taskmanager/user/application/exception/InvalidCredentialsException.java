@@ -0,0 +1,10 @@
+package com.taskmanager.user.application.exception;
+
+import com.taskmanager.common.exception.BusinessException;
+
+public class InvalidCredentialsException extends BusinessException {
+    
+    public InvalidCredentialsException() {
+        super("INVALID_CREDENTIALS", "Invalid email or password");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.taskmanager.user.application.exception;
+
+import com.taskmanager.common.exception.BusinessException;
+
+public class InvalidCursorException extends BusinessException {
+    
+    public InvalidCursorException(String cursor) {
+        super("INVALID_CURSOR", "Invalid pagination cursor: " + cursor);
+    }
+}
\ No newline at end of file
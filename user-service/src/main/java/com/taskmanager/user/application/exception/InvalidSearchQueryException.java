@@ -0,0 +1,10 @@
+package com.taskmanager.user.application.exception;
+
+import com.taskmanager.common.exception.BusinessException;
+
+public class InvalidSearchQueryException extends BusinessException {
+    
+    public InvalidSearchQueryException(int maxLength) {
+        super("INVALID_SEARCH_QUERY", "Search query must be 1 to " + maxLength + " characters");
+    }
+}
\ No newline at end of file
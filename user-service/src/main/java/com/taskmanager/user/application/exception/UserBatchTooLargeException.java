@@ -0,0 +1,10 @@
+package com.taskmanager.user.application.exception;
+
+import com.taskmanager.common.exception.BusinessException;
+
+public class UserBatchTooLargeException extends BusinessException {
+    
+    public UserBatchTooLargeException(int requested, int maximum) {
+        super("USER_BATCH_TOO_LARGE", "Requested " + requested + " users, at most " + maximum + " are allowed per call");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.taskmanager.user.application.exception;
+
+import com.taskmanager.common.exception.ConflictException;
+
+import java.util.UUID;
+
+public class UserVersionConflictException extends ConflictException {
+    
+    public UserVersionConflictException(UUID userId, long expectedVersion) {
+        super("USER_VERSION_CONFLICT", "User with ID: " + userId + " is no longer at version " + expectedVersion);
+    }
+    
+    public UserVersionConflictException(UUID userId, int attempts) {
+        super("USER_VERSION_CONFLICT", "User with ID: " + userId + " kept changing concurrently; gave up after "
+            + attempts + " attempts");
+    }
+}
\ No newline at end of file
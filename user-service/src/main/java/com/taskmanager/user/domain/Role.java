@@ -1,7 +1,45 @@
 package com.taskmanager.user.domain;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Roles are stored as a bitmask in {@code users.roles_mask}. Each role owns a fixed
+ * bit that must never change or be reused; new roles take the next free bit.
+ */
 public enum Role {
-    USER,
-    ADMIN,
-    MANAGER
+    USER(1),
+    ADMIN(1 << 1),
+    MANAGER(1 << 2);
+    
+    private final int bit;
+    
+    Role(int bit) {
+        this.bit = bit;
+    }
+    
+    public int getBit() {
+        return bit;
+    }
+    
+    public static int toMask(Collection<Role> roles) {
+        int mask = 0;
+        if (roles != null) {
+            for (Role role : roles) {
+                mask |= role.bit;
+            }
+        }
+        return mask;
+    }
+    
+    public static Set<Role> fromMask(int mask) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : values()) {
+            if ((mask & role.bit) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
 }
\ No newline at end of file
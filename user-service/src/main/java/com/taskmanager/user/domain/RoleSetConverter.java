@@ -0,0 +1,20 @@
+package com.taskmanager.user.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+
+@Converter
+public class RoleSetConverter implements AttributeConverter<Set<Role>, Integer> {
+    
+    @Override
+    public Integer convertToDatabaseColumn(Set<Role> roles) {
+        return Role.toMask(roles);
+    }
+    
+    @Override
+    public Set<Role> convertToEntityAttribute(Integer mask) {
+        return Role.fromMask(mask == null ? 0 : mask);
+    }
+}
\ No newline at end of file
@@ -29,10 +29,9 @@ public class User extends BaseEntity {
     @Column(nullable = false)
     private String password;
     
-    @Enumerated(EnumType.STRING)
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"))
-    @Column(name = "role")
+    // One integer column instead of a user_roles join on every load
+    @Convert(converter = RoleSetConverter.class)
+    @Column(name = "roles_mask", nullable = false)
     private Set<Role> roles;
     
     @Column(nullable = false)
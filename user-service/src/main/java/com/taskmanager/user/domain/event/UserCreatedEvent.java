@@ -1,8 +1,11 @@
 package com.taskmanager.user.domain.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.taskmanager.common.event.DomainEvent;
 import com.taskmanager.user.domain.User;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public class UserCreatedEvent extends DomainEvent {
@@ -12,10 +15,26 @@ public class UserCreatedEvent extends DomainEvent {
     private final String fullName;
     
     public UserCreatedEvent(User user) {
+        this(user.getId(), user.getEmail(), user.getFullName());
+    }
+    
+    public UserCreatedEvent(UUID userId, String email, String fullName) {
         super();
-        this.userId = user.getId();
-        this.email = user.getEmail();
-        this.fullName = user.getFullName();
+        this.userId = userId;
+        this.email = email;
+        this.fullName = fullName;
+    }
+    
+    @JsonCreator
+    public UserCreatedEvent(@JsonProperty("eventId") UUID eventId,
+                            @JsonProperty("occurredOn") LocalDateTime occurredOn,
+                            @JsonProperty("userId") UUID userId,
+                            @JsonProperty("email") String email,
+                            @JsonProperty("fullName") String fullName) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.email = email;
+        this.fullName = fullName;
     }
     
     @Override
@@ -1,8 +1,11 @@
 package com.taskmanager.user.domain.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.taskmanager.common.event.DomainEvent;
 import com.taskmanager.user.domain.User;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public class UserDeletedEvent extends DomainEvent {
@@ -16,6 +19,16 @@ public class UserDeletedEvent extends DomainEvent {
         this.email = user.getEmail();
     }
     
+    @JsonCreator
+    public UserDeletedEvent(@JsonProperty("eventId") UUID eventId,
+                            @JsonProperty("occurredOn") LocalDateTime occurredOn,
+                            @JsonProperty("userId") UUID userId,
+                            @JsonProperty("email") String email) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.email = email;
+    }
+    
     @Override
     public String getEventType() {
         return "USER_DELETED";
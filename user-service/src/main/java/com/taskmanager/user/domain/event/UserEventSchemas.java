@@ -0,0 +1,97 @@
+package com.taskmanager.user.domain.event;
+
+import com.taskmanager.common.event.BinaryEventReader;
+import com.taskmanager.common.event.BinaryEventWriter;
+import com.taskmanager.common.event.EventSchema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary schemas of the user events. Type ids 1-99 belong to user-service and are
+ * never reassigned; bump a schema's version when its body changes.
+ */
+public final class UserEventSchemas {
+    
+    public static final int USER_CREATED_TYPE_ID = 1;
+    public static final int USER_UPDATED_TYPE_ID = 2;
+    public static final int USER_DELETED_TYPE_ID = 3;
+    
+    private UserEventSchemas() {}
+    
+    public static List<EventSchema<?>> all() {
+        return List.of(new UserCreatedSchema(), new UserUpdatedSchema(), new UserDeletedSchema());
+    }
+    
+    static final class UserCreatedSchema implements EventSchema<UserCreatedEvent> {
+        
+        @Override
+        public int getTypeId() { return USER_CREATED_TYPE_ID; }
+        
+        @Override
+        public int getVersion() { return 1; }
+        
+        @Override
+        public Class<UserCreatedEvent> getEventType() { return UserCreatedEvent.class; }
+        
+        @Override
+        public void write(UserCreatedEvent event, BinaryEventWriter writer) {
+            writer.writeUuid(event.getUserId());
+            writer.writeString(event.getEmail());
+            writer.writeString(event.getFullName());
+        }
+        
+        @Override
+        public UserCreatedEvent read(int version, UUID eventId, LocalDateTime occurredOn, BinaryEventReader reader) {
+            return new UserCreatedEvent(eventId, occurredOn, reader.readUuid(), reader.readString(), reader.readString());
+        }
+    }
+    
+    static final class UserUpdatedSchema implements EventSchema<UserUpdatedEvent> {
+        
+        @Override
+        public int getTypeId() { return USER_UPDATED_TYPE_ID; }
+        
+        @Override
+        public int getVersion() { return 1; }
+        
+        @Override
+        public Class<UserUpdatedEvent> getEventType() { return UserUpdatedEvent.class; }
+        
+        @Override
+        public void write(UserUpdatedEvent event, BinaryEventWriter writer) {
+            writer.writeUuid(event.getUserId());
+            writer.writeString(event.getEmail());
+            writer.writeString(event.getFullName());
+        }
+        
+        @Override
+        public UserUpdatedEvent read(int version, UUID eventId, LocalDateTime occurredOn, BinaryEventReader reader) {
+            return new UserUpdatedEvent(eventId, occurredOn, reader.readUuid(), reader.readString(), reader.readString());
+        }
+    }
+    
+    static final class UserDeletedSchema implements EventSchema<UserDeletedEvent> {
+        
+        @Override
+        public int getTypeId() { return USER_DELETED_TYPE_ID; }
+        
+        @Override
+        public int getVersion() { return 1; }
+        
+        @Override
+        public Class<UserDeletedEvent> getEventType() { return UserDeletedEvent.class; }
+        
+        @Override
+        public void write(UserDeletedEvent event, BinaryEventWriter writer) {
+            writer.writeUuid(event.getUserId());
+            writer.writeString(event.getEmail());
+        }
+        
+        @Override
+        public UserDeletedEvent read(int version, UUID eventId, LocalDateTime occurredOn, BinaryEventReader reader) {
+            return new UserDeletedEvent(eventId, occurredOn, reader.readUuid(), reader.readString());
+        }
+    }
+}
\ No newline at end of file
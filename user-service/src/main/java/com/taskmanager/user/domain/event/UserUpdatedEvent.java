@@ -1,8 +1,11 @@
 package com.taskmanager.user.domain.event;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.taskmanager.common.event.DomainEvent;
 import com.taskmanager.user.domain.User;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 public class UserUpdatedEvent extends DomainEvent {
@@ -18,6 +21,25 @@ public class UserUpdatedEvent extends DomainEvent {
         this.fullName = user.getFullName();
     }
     
+    public UserUpdatedEvent(UUID userId, String email, String fullName) {
+        super();
+        this.userId = userId;
+        this.email = email;
+        this.fullName = fullName;
+    }
+    
+    @JsonCreator
+    public UserUpdatedEvent(@JsonProperty("eventId") UUID eventId,
+                            @JsonProperty("occurredOn") LocalDateTime occurredOn,
+                            @JsonProperty("userId") UUID userId,
+                            @JsonProperty("email") String email,
+                            @JsonProperty("fullName") String fullName) {
+        super(eventId, occurredOn);
+        this.userId = userId;
+        this.email = email;
+        this.fullName = fullName;
+    }
+    
     @Override
     public String getEventType() {
         return "USER_UPDATED";
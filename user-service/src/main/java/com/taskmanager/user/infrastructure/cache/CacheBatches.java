@@ -0,0 +1,60 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Multi-key access to caches handed out by the cache manager. A {@link TwoLevelCache},
+ * also behind the transaction-aware decorator, answers in one round trip per tier;
+ * other caches fall back to one call per key. Writes are applied immediately, not
+ * after commit, as they are only meant for values just read from the database.
+ */
+public final class CacheBatches {
+    
+    private CacheBatches() {}
+    
+    public static Map<Object, Object> getAll(Cache cache, Collection<?> keys) {
+        TwoLevelCache twoLevelCache = twoLevelCache(cache);
+        if (twoLevelCache != null) {
+            return twoLevelCache.getAll(keys);
+        }
+        Map<Object, Object> found = new HashMap<>();
+        for (Object key : keys) {
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                found.put(key, wrapper.get());
+            }
+        }
+        return found;
+    }
+    
+    public static void putAll(Cache cache, Map<?, ?> entries) {
+        TwoLevelCache twoLevelCache = twoLevelCache(cache);
+        if (twoLevelCache != null) {
+            twoLevelCache.putAll(entries);
+            return;
+        }
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        entries.forEach(target::put);
+    }
+    
+    // Only writes keys the cache does not hold yet; see TwoLevelCache#putAllAbsent
+    public static void putAllAbsent(Cache cache, Map<?, ?> entries) {
+        TwoLevelCache twoLevelCache = twoLevelCache(cache);
+        if (twoLevelCache != null) {
+            twoLevelCache.putAllAbsent(entries);
+            return;
+        }
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        entries.forEach(target::putIfAbsent);
+    }
+    
+    private static TwoLevelCache twoLevelCache(Cache cache) {
+        Cache target = cache instanceof TransactionAwareCacheDecorator decorator ? decorator.getTargetCache() : cache;
+        return target instanceof TwoLevelCache twoLevelCache ? twoLevelCache : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+    
+    @Value("${cache.invalidation.channel:user-service.cache.invalidation}")
+    private String invalidationChannel;
+    
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        return new CacheInvalidationPublisher(redisTemplate, invalidationChannel);
+    }
+    
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             CacheProperties cacheProperties,
+                                             ObjectMapper objectMapper,
+                                             CacheInvalidationPublisher invalidationPublisher,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${cache.local.maximum-size:10000}") long localMaximumSize,
+                                             @Value("${cache.local.expire-after-write:60s}") Duration localExpireAfterWrite,
+                                             @Value("${cache.early-refresh.beta:1.0}") double earlyRefreshBeta,
+                                             @Value("${cache.negative.time-to-live:30s}") Duration negativeTimeToLive) {
+        RedisCacheConfiguration redisConfiguration = RedisCacheConfiguration.defaultCacheConfig()
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(redisValueSerializer(objectMapper)));
+        Duration timeToLive = cacheProperties.getRedis().getTimeToLive();
+        if (timeToLive != null) {
+            redisConfiguration = redisConfiguration.entryTtl(timeToLive);
+        }
+        
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+            .cacheDefaults(redisConfiguration)
+            .withCacheConfiguration(CacheNames.MISSING_USERS, redisConfiguration.entryTtl(negativeTimeToLive))
+            .build();
+        redisCacheManager.afterPropertiesSet();
+        
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+            redisCacheManager, invalidationPublisher, localMaximumSize, localExpireAfterWrite,
+            timeToLive, earlyRefreshBeta, meterRegistry);
+        cacheManager.setTimeToLive(CacheNames.MISSING_USERS, negativeTimeToLive);
+        cacheManager.setBulkOperations(new RedisBulkCacheOperations(connectionFactory));
+        // Apply puts and evictions after commit so a concurrent reader cannot re-cache
+        // the pre-commit row between the eviction and the commit.
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+    
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager,
+                                                                            CacheInvalidationPublisher invalidationPublisher) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+            new CacheInvalidationListener(cacheManager, invalidationPublisher.getNodeId()),
+            new ChannelTopic(invalidationChannel));
+        return container;
+    }
+    
+    // Public so the benchmarks module measures the exact encoding used in production
+    public static GenericJackson2JsonRedisSerializer redisValueSerializer(ObjectMapper objectMapper) {
+        ObjectMapper redisMapper = objectMapper.copy();
+        redisMapper.activateDefaultTyping(redisMapper.getPolymorphicTypeValidator(),
+            ObjectMapper.DefaultTyping.NON_FINAL, JsonTypeInfo.As.PROPERTY);
+        GenericJackson2JsonRedisSerializer.registerNullValueSerializer(redisMapper, null);
+        return new GenericJackson2JsonRedisSerializer(redisMapper);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+public class CacheInvalidationListener implements MessageListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+    
+    private final TwoLevelCacheManager cacheManager;
+    private final String nodeId;
+    
+    public CacheInvalidationListener(TwoLevelCacheManager cacheManager, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.nodeId = nodeId;
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring cache invalidation: {}", e.getMessage());
+            return;
+        }
+        
+        if (nodeId.equals(invalidation.getNodeId())) {
+            return;
+        }
+        logger.debug("Evicting {} from local cache {} on remote request",
+            invalidation.isClear() ? "all entries" : invalidation.getKey(), invalidation.getCacheName());
+        cacheManager.evictLocal(invalidation.getCacheName(), invalidation.getKey());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.taskmanager.user.infrastructure.cache;
+
+public class CacheInvalidationMessage {
+    
+    private static final String SEPARATOR = "|";
+    
+    private final String nodeId;
+    private final String cacheName;
+    private final String key;
+    
+    private CacheInvalidationMessage(String nodeId, String cacheName, String key) {
+        this.nodeId = nodeId;
+        this.cacheName = cacheName;
+        this.key = key;
+    }
+    
+    public static CacheInvalidationMessage evict(String nodeId, String cacheName, String key) {
+        return new CacheInvalidationMessage(nodeId, cacheName, key);
+    }
+    
+    public static CacheInvalidationMessage clear(String nodeId, String cacheName) {
+        return new CacheInvalidationMessage(nodeId, cacheName, null);
+    }
+    
+    public static CacheInvalidationMessage decode(String payload) {
+        String[] parts = payload.split("\\" + SEPARATOR, 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Malformed cache invalidation message: " + payload);
+        }
+        return new CacheInvalidationMessage(parts[0], parts[1], parts.length == 3 ? parts[2] : null);
+    }
+    
+    public String encode() {
+        return key == null
+            ? nodeId + SEPARATOR + cacheName
+            : nodeId + SEPARATOR + cacheName + SEPARATOR + key;
+    }
+    
+    public boolean isClear() {
+        return key == null;
+    }
+    
+    // Getters
+    public String getNodeId() { return nodeId; }
+    
+    public String getCacheName() { return cacheName; }
+    
+    public String getKey() { return key; }
+}
\ No newline at end of file
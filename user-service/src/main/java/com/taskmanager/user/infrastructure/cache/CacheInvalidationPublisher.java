@@ -0,0 +1,42 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+public class CacheInvalidationPublisher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+    
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+    
+    public void publishEvict(String cacheName, String key) {
+        send(CacheInvalidationMessage.evict(nodeId, cacheName, key));
+    }
+    
+    public void publishClear(String cacheName) {
+        send(CacheInvalidationMessage.clear(nodeId, cacheName));
+    }
+    
+    public String getNodeId() {
+        return nodeId;
+    }
+    
+    private void send(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, message.encode());
+        } catch (Exception e) {
+            // Other nodes fall back to their L1 expiry if a broadcast is lost.
+            logger.warn("Failed to broadcast cache invalidation for {}", message.getCacheName(), e);
+        }
+    }
+}
\ No newline at end of file
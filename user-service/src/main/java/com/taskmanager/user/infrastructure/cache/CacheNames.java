@@ -0,0 +1,10 @@
+package com.taskmanager.user.infrastructure.cache;
+
+public final class CacheNames {
+    
+    public static final String USERS = "users";
+    public static final String USER_EMAILS = "user-emails";
+    public static final String MISSING_USERS = "missing-users";
+    
+    private CacheNames() {}
+}
\ No newline at end of file
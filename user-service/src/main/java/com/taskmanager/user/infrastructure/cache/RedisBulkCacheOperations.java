@@ -0,0 +1,127 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes against the entries of a {@link RedisCache}, which only
+ * offers single-key operations. Keys and values are encoded with the cache's own
+ * configuration, so entries are interchangeable with those written by the cache.
+ */
+public class RedisBulkCacheOperations {
+    
+    private final RedisConnectionFactory connectionFactory;
+    
+    public RedisBulkCacheOperations(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+    
+    /**
+     * One MGET for all keys; the result holds the cached value or null per key, in
+     * key order.
+     */
+    public List<Object> multiGet(RedisCache cache, List<?> keys) {
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            rawKeys[i] = rawKey(cache, keys.get(i));
+        }
+        
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        List<Object> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] rawValue = rawValues == null ? null : rawValues.get(i);
+            values.add(rawValue == null ? null : configuration.getValueSerializationPair().read(ByteBuffer.wrap(rawValue)));
+        }
+        return values;
+    }
+    
+    /**
+     * Writes all entries with the cache's TTL in one pipeline. Null values are not
+     * written.
+     */
+    public void putAll(RedisCache cache, Map<?, ?> entries) {
+        set(cache, entries, RedisStringCommands.SetOption.upsert());
+    }
+    
+    /**
+     * Writes the entries whose key is not in the cache yet (SET NX) in one pipeline,
+     * and returns the keys that were left alone because they were. Null values are not
+     * written.
+     */
+    public List<Object> putAllAbsent(RedisCache cache, Map<?, ?> entries) {
+        List<Object> keys = new ArrayList<>(entries.size());
+        List<Object> results = set(cache, entries, RedisStringCommands.SetOption.ifAbsent(), keys);
+        List<Object> present = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (!Boolean.TRUE.equals(results.get(i))) {
+                present.add(keys.get(i));
+            }
+        }
+        return present;
+    }
+    
+    private void set(RedisCache cache, Map<?, ?> entries, RedisStringCommands.SetOption option) {
+        set(cache, entries, option, new ArrayList<>(entries.size()));
+    }
+    
+    // One SET per non-null entry, in the order their keys are added to writtenKeys
+    private List<Object> set(RedisCache cache, Map<?, ?> entries, RedisStringCommands.SetOption option,
+                             List<Object> writtenKeys) {
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                    if (entry.getValue() == null) {
+                        continue;
+                    }
+                    Duration timeToLive = configuration.getTtlFunction().getTimeToLive(entry.getKey(), entry.getValue());
+                    Expiration expiration = timeToLive == null || timeToLive.isZero() || timeToLive.isNegative()
+                        ? Expiration.persistent()
+                        : Expiration.from(timeToLive);
+                    connection.stringCommands().set(rawKey(cache, entry.getKey()),
+                        toBytes(configuration.getValueSerializationPair().write(entry.getValue())),
+                        expiration, option);
+                    writtenKeys.add(entry.getKey());
+                }
+            } catch (RuntimeException e) {
+                connection.closePipeline();
+                throw e;
+            }
+            return connection.closePipeline();
+        }
+    }
+    
+    // Mirrors RedisCache#createCacheKey: convert the key to a string, then add the prefix
+    private static byte[] rawKey(RedisCache cache, Object key) {
+        RedisCacheConfiguration configuration = cache.getCacheConfiguration();
+        String convertedKey = key instanceof String string
+            ? string
+            : configuration.getConversionService().convert(key, String.class);
+        String fullKey = configuration.usePrefix()
+            ? configuration.getKeyPrefixFor(cache.getName()) + convertedKey
+            : convertedKey;
+        return fullKey.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
\ No newline at end of file
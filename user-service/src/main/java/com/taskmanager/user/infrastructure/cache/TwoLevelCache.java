@@ -0,0 +1,429 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache with a bounded in-process L1 (Caffeine) in front of a shared L2 (Redis).
+ * Writes and evictions go to both tiers and are announced to other nodes so they
+ * can drop their L1 copy.
+ * <p>
+ * Loads through {@link #get(Object, Callable)} are single-flight per key and node:
+ * callers that miss while a load is running wait for its result instead of loading
+ * again. With an early-refresh beta above zero, hits on entries this node wrote are
+ * occasionally reloaded shortly before the L2 entry expires (XFetch), with a chance
+ * that grows as expiry nears and with the average load time, so hot keys are
+ * refreshed by one caller instead of all missing at once.
+ * <p>
+ * {@code cache.gets} counts lookups by outcome and {@code cache.remote.gets} the share
+ * of them that reached L2, so the L1 hit ratio is one minus their quotient.
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+    
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final RedisBulkCacheOperations bulkOperations;
+    private final double earlyRefreshBeta;
+    // When the L2 copy of each key this node wrote expires, in System.nanoTime() terms
+    private final com.github.benmanes.caffeine.cache.Cache<String, Long> remoteExpiresAt;
+    private final Duration remoteTimeToLive;
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private volatile long averageLoadNanos;
+    
+    private final Counter loadCounter;
+    private final Counter coalescedCounter;
+    private final Counter earlyRefreshCounter;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter remoteHitCounter;
+    private final Counter remoteMissCounter;
+    private final Timer remoteGetTimer;
+    private final Timer remoteMultiGetTimer;
+    
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache remoteCache,
+                         CacheInvalidationPublisher invalidationPublisher) {
+        this(name, localCache, remoteCache, invalidationPublisher, null, null, 0, 0, new SimpleMeterRegistry());
+    }
+    
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache remoteCache,
+                         CacheInvalidationPublisher invalidationPublisher,
+                         RedisBulkCacheOperations bulkOperations,
+                         Duration remoteTimeToLive,
+                         double earlyRefreshBeta,
+                         long maximumSize,
+                         MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        // Without bulk operations (or with a non-Redis L2) multi-key calls fall back to one call per key
+        this.bulkOperations = remoteCache instanceof RedisCache ? bulkOperations : null;
+        this.remoteTimeToLive = remoteTimeToLive;
+        boolean earlyRefresh = remoteTimeToLive != null && !remoteTimeToLive.isZero() && earlyRefreshBeta > 0;
+        this.earlyRefreshBeta = earlyRefresh ? earlyRefreshBeta : 0;
+        this.remoteExpiresAt = earlyRefresh
+            ? Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(remoteTimeToLive).build()
+            : null;
+        
+        this.loadCounter = Counter.builder("cache.loads")
+            .description("Values loaded on a cache miss")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("cache.loads.coalesced")
+            .description("Cache misses that waited for a load already in flight instead of loading")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.earlyRefreshCounter = Counter.builder("cache.refreshes.early")
+            .description("Cache hits that reloaded the value ahead of its expiry")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.hitCounter = getCounter(meterRegistry, "cache.gets", "hit");
+        this.missCounter = getCounter(meterRegistry, "cache.gets", "miss");
+        this.remoteHitCounter = getCounter(meterRegistry, "cache.remote.gets", "hit");
+        this.remoteMissCounter = getCounter(meterRegistry, "cache.remote.gets", "miss");
+        this.remoteGetTimer = remoteTimer(meterRegistry, "get");
+        this.remoteMultiGetTimer = remoteTimer(meterRegistry, "multi-get");
+    }
+    
+    private Counter getCounter(MeterRegistry meterRegistry, String meterName, String result) {
+        return Counter.builder(meterName)
+            .description("Cache lookups by result")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    private Timer remoteTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("cache.remote.latency")
+            .description("Round trip time of L2 reads")
+            .tag("cache", name)
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+    
+    @Override
+    protected Object lookup(Object key) {
+        return lookup(key, true);
+    }
+    
+    private Object lookup(Object key, boolean record) {
+        String localKey = localKey(key);
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            if (record) {
+                hitCounter.increment();
+            }
+            return value;
+        }
+        
+        long started = System.nanoTime();
+        ValueWrapper remoteValue = remoteCache.get(key);
+        if (record) {
+            remoteGetTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            if (remoteValue != null) {
+                hitCounter.increment();
+                remoteHitCounter.increment();
+            } else {
+                missCounter.increment();
+                remoteMissCounter.increment();
+            }
+        }
+        if (remoteValue == null) {
+            return null;
+        }
+        Object storeValue = toStoreValue(remoteValue.get());
+        localCache.put(localKey, storeValue);
+        return storeValue;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            if (shouldRefreshEarly(localKey)) {
+                refreshEarly(key, localKey, valueLoader);
+            }
+            return (T) cached.get();
+        }
+        
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(localKey, load);
+        if (running != null) {
+            coalescedCounter.increment();
+            return (T) await(running);
+        }
+        try {
+            // A load that finished between the miss above and claiming the key has
+            // already filled the cache. Not counted again: the miss above was.
+            ValueWrapper loaded = toValueWrapper(lookup(key, false));
+            Object value = loaded != null ? loaded.get() : loadAndPut(key, valueLoader);
+            load.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(localKey, load);
+        }
+    }
+    
+    private Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // The loading caller's ValueRetrievalException, or whatever put() threw
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private Object loadAndPut(Object key, Callable<?> valueLoader) {
+        loadCounter.increment();
+        long started = System.nanoTime();
+        Object value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        long loadNanos = System.nanoTime() - started;
+        averageLoadNanos = averageLoadNanos == 0 ? loadNanos : (averageLoadNanos * 7 + loadNanos) / 8;
+        put(key, value);
+        return value;
+    }
+    
+    private boolean shouldRefreshEarly(String localKey) {
+        if (earlyRefreshBeta == 0) {
+            return false;
+        }
+        Long expiresAt = remoteExpiresAt.getIfPresent(localKey);
+        if (expiresAt == null || averageLoadNanos == 0) {
+            return false;
+        }
+        // -ln(U) is exponentially distributed, so refreshing t before expiry has a
+        // chance of exp(-t / (loadTime * beta))
+        double headStart = -averageLoadNanos * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return System.nanoTime() + headStart >= expiresAt;
+    }
+    
+    // Runs on the caller's thread like a miss would, but callers never wait for it
+    private void refreshEarly(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<Object> load = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(localKey, load) != null) {
+            return;
+        }
+        earlyRefreshCounter.increment();
+        try {
+            load.complete(loadAndPut(key, valueLoader));
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            logger.debug("Early refresh of {} in cache {} failed, serving the cached value", key, name, e);
+        } finally {
+            inFlight.remove(localKey, load);
+        }
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        remoteCache.put(key, value);
+        localCache.put(localKey(key), toStoreValue(value));
+        if (remoteExpiresAt != null) {
+            remoteExpiresAt.put(localKey(key), System.nanoTime() + remoteTimeToLive.toNanos());
+        }
+        invalidationPublisher.publishEvict(name, localKey(key));
+    }
+    
+    /**
+     * Looks up all keys with one L1 pass and one L2 round trip for the L1 misses.
+     * Keys that are in neither tier are absent from the result.
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        List<Object> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            Object value = localCache.getIfPresent(localKey(key));
+            if (value != null) {
+                found.put(key, fromStoreValue(value));
+            } else {
+                remoteKeys.add(key);
+            }
+        }
+        hitCounter.increment(found.size());
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+        
+        long started = System.nanoTime();
+        List<Object> remoteValues = bulkOperations != null
+            ? bulkOperations.multiGet((RedisCache) remoteCache, remoteKeys)
+            : remoteKeys.stream().map(key -> {
+                ValueWrapper wrapper = remoteCache.get(key);
+                return wrapper == null ? null : wrapper.get();
+            }).toList();
+        remoteMultiGetTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        int localHits = found.size();
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            Object value = fromStoreValue(remoteValues.get(i));
+            if (value != null) {
+                localCache.put(localKey(remoteKeys.get(i)), value);
+                found.put(remoteKeys.get(i), value);
+            }
+        }
+        int remoteHits = found.size() - localHits;
+        hitCounter.increment(remoteHits);
+        missCounter.increment(remoteKeys.size() - remoteHits);
+        remoteHitCounter.increment(remoteHits);
+        remoteMissCounter.increment(remoteKeys.size() - remoteHits);
+        return found;
+    }
+    
+    /**
+     * Fills both tiers with freshly loaded values, writing L2 in one pipeline. Unlike
+     * {@link #put}, other nodes are not told to drop their L1 copy: this is meant for
+     * read-through loads, and writes already evict.
+     */
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (bulkOperations != null) {
+            bulkOperations.putAll((RedisCache) remoteCache, entries);
+        } else {
+            entries.forEach(remoteCache::put);
+        }
+        entries.forEach((key, value) -> {
+            localCache.put(localKey(key), toStoreValue(value));
+            if (remoteExpiresAt != null) {
+                remoteExpiresAt.put(localKey(key), System.nanoTime() + remoteTimeToLive.toNanos());
+            }
+        });
+    }
+    
+    /**
+     * Fills L2 only where it has no entry yet (SET NX, pipelined when possible) and
+     * does not tell other nodes. Where L2 already holds the key its value wins, as it
+     * may have been written after the given one was read, and is copied into L1
+     * instead. Meant for bulk preloads from a database snapshot that may be older than
+     * the shared cache.
+     */
+    public void putAllAbsent(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        Map<Object, Object> present = new HashMap<>();
+        if (bulkOperations != null) {
+            List<Object> presentKeys = bulkOperations.putAllAbsent((RedisCache) remoteCache, entries);
+            if (!presentKeys.isEmpty()) {
+                List<Object> values = bulkOperations.multiGet((RedisCache) remoteCache, presentKeys);
+                for (int i = 0; i < presentKeys.size(); i++) {
+                    present.put(presentKeys.get(i), values.get(i));
+                }
+            }
+        } else {
+            entries.forEach((key, value) -> {
+                ValueWrapper existing = remoteCache.putIfAbsent(key, value);
+                if (existing != null) {
+                    present.put(key, existing.get());
+                }
+            });
+        }
+        entries.forEach((key, value) -> {
+            if (!present.containsKey(key)) {
+                localCache.put(localKey(key), toStoreValue(value));
+                if (remoteExpiresAt != null) {
+                    remoteExpiresAt.put(localKey(key), System.nanoTime() + remoteTimeToLive.toNanos());
+                }
+            } else if (present.get(key) != null) {
+                // Its expiry is unknown here, so it is not tracked for early refresh
+                localCache.put(localKey(key), toStoreValue(present.get(key)));
+            }
+        });
+    }
+    
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.invalidate(localKey(key));
+        forgetExpiry(localKey(key));
+        invalidationPublisher.publishEvict(name, localKey(key));
+    }
+    
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        if (remoteExpiresAt != null) {
+            remoteExpiresAt.invalidateAll();
+        }
+        invalidationPublisher.publishClear(name);
+    }
+    
+    // Another node rewrote or removed the L2 entry, so its expiry is no longer known here
+    void evictLocal(String key) {
+        localCache.invalidate(key);
+        forgetExpiry(key);
+    }
+    
+    void clearLocal() {
+        localCache.invalidateAll();
+        if (remoteExpiresAt != null) {
+            remoteExpiresAt.invalidateAll();
+        }
+    }
+    
+    private void forgetExpiry(String key) {
+        if (remoteExpiresAt != null) {
+            remoteExpiresAt.invalidate(key);
+        }
+    }
+    
+    private static String localKey(Object key) {
+        // L1 keys are kept in the same string form used for L2 and for invalidation
+        // messages, so a remote eviction can address the entry without knowing its type.
+        return String.valueOf(key);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+    
+    private final CacheManager remoteCacheManager;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final long localMaximumSize;
+    private final Duration localExpireAfterWrite;
+    private final Duration remoteTimeToLive;
+    private final double earlyRefreshBeta;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+    private final Map<String, Duration> timeToLiveByCache = new ConcurrentHashMap<>();
+    private volatile RedisBulkCacheOperations bulkOperations;
+    
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                long localMaximumSize,
+                                Duration localExpireAfterWrite,
+                                Duration remoteTimeToLive,
+                                double earlyRefreshBeta,
+                                MeterRegistry meterRegistry) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.invalidationPublisher = invalidationPublisher;
+        this.localMaximumSize = localMaximumSize;
+        this.localExpireAfterWrite = localExpireAfterWrite;
+        this.remoteTimeToLive = remoteTimeToLive;
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    /**
+     * Overrides the L2 TTL the named cache assumes for early refresh, and keeps its L1
+     * entries no longer than that. The Redis TTL itself is configured on the remote
+     * cache manager.
+     */
+    public void setTimeToLive(String cacheName, Duration timeToLive) {
+        timeToLiveByCache.put(cacheName, timeToLive);
+    }
+    
+    // Enables single-round-trip getAll/putAll on caches created after this call
+    public void setBulkOperations(RedisBulkCacheOperations bulkOperations) {
+        this.bulkOperations = bulkOperations;
+    }
+    
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return Collections.emptyList();
+    }
+    
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return twoLevelCaches.computeIfAbsent(name, cacheName -> createCache(cacheName, remoteCache));
+    }
+    
+    private TwoLevelCache createCache(String cacheName, Cache remoteCache) {
+        Duration timeToLive = timeToLiveByCache.getOrDefault(cacheName, remoteTimeToLive);
+        Duration expireAfterWrite = timeToLive != null && timeToLive.compareTo(localExpireAfterWrite) < 0
+            ? timeToLive
+            : localExpireAfterWrite;
+        return new TwoLevelCache(
+            cacheName,
+            Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build(),
+            remoteCache,
+            invalidationPublisher,
+            bulkOperations,
+            timeToLive,
+            earlyRefreshBeta,
+            localMaximumSize,
+            meterRegistry
+        );
+    }
+    
+    public void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = twoLevelCaches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.taskmanager.user.infrastructure.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the reads made inside {@link #call} to the primary, even in read-only
+ * transactions. Meant for reads whose result outlives the caller, such as fills of
+ * the shared caches: a replica within the allowed lag can still return a row older
+ * than a write another caller has already committed, and the cache would then serve
+ * that row to everyone until it expires.
+ *
+ * <p>The routing key is read when the first statement asks for a connection, so the
+ * pin has to cover that statement; a transaction that already holds a replica
+ * connection keeps it. Without replica routing this has no effect.
+ */
+public final class PrimaryReads {
+    
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+    
+    private PrimaryReads() {}
+    
+    public static <T> T call(Supplier<T> read) {
+        if (isPinned()) {
+            return read.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+    
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+}
\ No newline at end of file
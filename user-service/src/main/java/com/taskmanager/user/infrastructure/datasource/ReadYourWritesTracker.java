@@ -0,0 +1,47 @@
+package com.taskmanager.user.infrastructure.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Remembers which callers committed a write within the last window so their reads
+ * stay on the primary until the replicas have caught up. Callers are identified by
+ * the authenticated principal; the memory is local to this instance.
+ */
+public class ReadYourWritesTracker {
+    
+    private final Cache<String, Boolean> recentWriters;
+    
+    public ReadYourWritesTracker(Duration window, long maximumSize) {
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(window)
+            .maximumSize(maximumSize)
+            .build();
+    }
+    
+    public void recordWrite(String caller) {
+        recentWriters.put(caller, Boolean.TRUE);
+    }
+    
+    public boolean wroteRecently(String caller) {
+        return recentWriters.getIfPresent(caller) != null;
+    }
+    
+    /**
+     * The authenticated principal of the current thread, or null for anonymous and
+     * background work, which is never pinned to the primary.
+     */
+    public String currentCaller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.taskmanager.user.infrastructure.datasource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * A replica pool together with the lag last measured on it. A replica starts out
+ * unavailable and is only routed to once a lag check has succeeded.
+ */
+public class ReplicaDataSource {
+    
+    private final String name;
+    private final DataSource dataSource;
+    
+    private volatile boolean available;
+    private volatile long lagMillis = -1;
+    
+    public ReplicaDataSource(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+    
+    void lagMeasured(long lagMillis) {
+        this.lagMillis = lagMillis;
+        this.available = true;
+    }
+    
+    void markUnavailable() {
+        this.available = false;
+    }
+    
+    boolean isWithinLag(Duration maxLag) {
+        return available && lagMillis <= maxLag.toMillis();
+    }
+    
+    public String getName() { return name; }
+    public DataSource getDataSource() { return dataSource; }
+    public boolean isAvailable() { return available; }
+    public long getLagMillis() { return lagMillis; }
+}
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.taskmanager.user.infrastructure.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * Measures replication lag on every replica. A replica that has replayed all the WAL
+ * it received counts as caught up even if the primary has been idle for a while, which
+ * pg_last_xact_replay_timestamp() alone would report as growing lag. That only holds
+ * while the WAL receiver is streaming: a replica cut off from the primary has replayed
+ * everything it received too, so without a streaming receiver it is marked
+ * unavailable. A standalone server (not in recovery) reports no lag.
+ */
+public class ReplicaLagMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    // Reported instead of a lag when the replica is not receiving WAL
+    static final long NOT_STREAMING = -1;
+    
+    static final String LAG_SQL =
+        "SELECT CASE " +
+        "WHEN NOT pg_is_in_recovery() THEN 0 " +
+        "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN " + NOT_STREAMING + " " +
+        "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END::bigint";
+    
+    private final List<ReplicaDataSource> replicas;
+    private final int queryTimeoutSeconds;
+    
+    public ReplicaLagMonitor(List<ReplicaDataSource> replicas, int queryTimeoutSeconds) {
+        this.replicas = List.copyOf(replicas);
+        this.queryTimeoutSeconds = queryTimeoutSeconds;
+    }
+    
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        for (ReplicaDataSource replica : replicas) {
+            try {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(replica.getDataSource());
+                jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+                Long lagMillis = jdbcTemplate.queryForObject(LAG_SQL, Long.class);
+                if (lagMillis != null && lagMillis == NOT_STREAMING) {
+                    if (replica.isAvailable()) {
+                        logger.warn("Replica {} is not streaming from the primary; routing reads to the primary",
+                            replica.getName());
+                    }
+                    replica.markUnavailable();
+                } else {
+                    replica.lagMeasured(lagMillis == null ? 0 : lagMillis);
+                }
+            } catch (RuntimeException e) {
+                if (replica.isAvailable()) {
+                    logger.warn("Replica {} failed its lag check; routing reads to the primary", replica.getName(), e);
+                }
+                replica.markUnavailable();
+            }
+        }
+    }
+}
\ No newline at end of file
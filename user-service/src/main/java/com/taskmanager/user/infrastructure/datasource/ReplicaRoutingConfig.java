@@ -0,0 +1,87 @@
+package com.taskmanager.user.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the single auto-configured pool with a primary pool plus one pool per
+ * replica URL when {@code datasource.replicas.enabled} is set. Replicas use the
+ * primary's credentials.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${datasource.replicas.read-your-writes-window:5s}") Duration window,
+            @Value("${datasource.replicas.read-your-writes-max-callers:100000}") long maximumSize) {
+        return new ReadYourWritesTracker(window, maximumSize);
+    }
+    
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                             DataSourceProperties properties,
+                                                             ReadYourWritesTracker readYourWritesTracker,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${datasource.replicas.urls}") String[] urls,
+                                                             @Value("${datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+                                                             @Value("${datasource.replicas.connection-timeout:2s}") Duration connectionTimeout,
+                                                             @Value("${datasource.replicas.max-lag:2s}") Duration maxLag) {
+        List<ReplicaDataSource> replicas = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(urls[i].trim());
+            pool.setUsername(properties.determineUsername());
+            pool.setPassword(properties.determinePassword());
+            pool.setMaximumPoolSize(maximumPoolSize);
+            pool.setConnectionTimeout(connectionTimeout.toMillis());
+            pool.setReadOnly(true);
+            // Not beans, so Boot's Hikari metrics binder never sees them
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaDataSource(pool.getPoolName(), pool));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker, maxLag, meterRegistry);
+    }
+    
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                               @Value("${datasource.replicas.lag-check-timeout-seconds:1}") int queryTimeoutSeconds) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource.getReplicas(), queryTimeoutSeconds);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(replicaRoutingDataSource);
+        // Set up front so the proxy does not fetch a connection at startup to find out
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return dataSource;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.taskmanager.user.infrastructure.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * A read stays on the primary when it is pinned there with {@link PrimaryReads},
+ * when its caller wrote within the read-your-writes window or when no replica is
+ * reachable within the allowed lag.
+ *
+ * <p>The routing key is read when a connection is requested, so this must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * that defers the request until the first statement, by which time the
+ * transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    
+    private final List<ReplicaDataSource> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    private final Counter primaryWrites;
+    private final Counter primaryNonTransactional;
+    private final Counter primaryPinned;
+    private final Counter primaryReadYourWrites;
+    private final Counter primaryReplicaLag;
+    private final Counter primaryReplicaUnavailable;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+    
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<ReplicaDataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker,
+                                    Duration maxLag,
+                                    MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLag = maxLag;
+        
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (ReplicaDataSource replica : this.replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            replicaReads.put(replica.getName(), connectionCounter(meterRegistry, replica.getName(), "read"));
+            Gauge.builder("datasource.replica.lag", replica, ReplicaDataSource::getLagMillis)
+                .description("Replication lag last measured on the replica, -1 before the first check")
+                .baseUnit("milliseconds")
+                .tag("target", replica.getName())
+                .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                .description("Whether the last lag check on the replica succeeded")
+                .tag("target", replica.getName())
+                .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        
+        this.primaryWrites = connectionCounter(meterRegistry, PRIMARY, "write");
+        this.primaryNonTransactional = connectionCounter(meterRegistry, PRIMARY, "non-transactional");
+        this.primaryPinned = connectionCounter(meterRegistry, PRIMARY, "pinned");
+        this.primaryReadYourWrites = connectionCounter(meterRegistry, PRIMARY, "read-your-writes");
+        this.primaryReplicaLag = connectionCounter(meterRegistry, PRIMARY, "replica-lag");
+        this.primaryReplicaUnavailable = connectionCounter(meterRegistry, PRIMARY, "replica-unavailable");
+    }
+    
+    private static Counter connectionCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing.connections")
+            .description("Connections handed out, by the pool they came from and why it was chosen")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Autocommit work has no read-only flag to route on, and is not a known write
+            primaryNonTransactional.increment();
+            return PRIMARY;
+        }
+        
+        String caller = readYourWritesTracker.currentCaller();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (caller != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // The window starts at commit; a rolled-back write leaves nothing to read back
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWritesTracker.recordWrite(caller);
+                    }
+                });
+            }
+            primaryWrites.increment();
+            return PRIMARY;
+        }
+        
+        if (PrimaryReads.isPinned()) {
+            primaryPinned.increment();
+            return PRIMARY;
+        }
+        
+        if (caller != null && readYourWritesTracker.wroteRecently(caller)) {
+            primaryReadYourWrites.increment();
+            return PRIMARY;
+        }
+        
+        boolean anyAvailable = false;
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            ReplicaDataSource replica = replicas.get((start + i) % replicas.size());
+            if (replica.isWithinLag(maxLag)) {
+                replicaReads.get(replica.getName()).increment();
+                return replica.getName();
+            }
+            anyAvailable |= replica.isAvailable();
+        }
+        (anyAvailable ? primaryReplicaLag : primaryReplicaUnavailable).increment();
+        return PRIMARY;
+    }
+    
+    public List<ReplicaDataSource> getReplicas() {
+        return replicas;
+    }
+    
+    /**
+     * Closes the replica pools, which are owned here rather than by the context. The
+     * primary is left to whoever created it.
+     */
+    public void close() throws Exception {
+        for (ReplicaDataSource replica : replicas) {
+            if (replica.getDataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.taskmanager.user.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.common.event.BinaryEventCodec;
+import com.taskmanager.common.event.EventCodecs;
+import com.taskmanager.common.event.JsonEventCodec;
+import com.taskmanager.user.domain.event.UserEventSchemas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class EventCodecConfig {
+    
+    @Bean
+    public EventCodecs eventCodecs(ObjectMapper objectMapper,
+                                   @Value("${events.codec.content-type:" + BinaryEventCodec.CONTENT_TYPE + "}") String contentType) {
+        return new EventCodecs(
+            List.of(new BinaryEventCodec(UserEventSchemas.all()), new JsonEventCodec(objectMapper)),
+            contentType);
+    }
+}
\ No newline at end of file
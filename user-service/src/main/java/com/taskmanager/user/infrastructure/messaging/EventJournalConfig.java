@@ -0,0 +1,33 @@
+package com.taskmanager.user.infrastructure.messaging;
+
+import com.taskmanager.common.event.EventJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(value = "events.journal.enabled", havingValue = "true")
+public class EventJournalConfig {
+    
+    @Bean(destroyMethod = "close")
+    public EventJournal eventJournal(@Value("${events.journal.directory}") Path directory,
+                                     @Value("${events.journal.segment-size:64MB}") DataSize segmentSize,
+                                     @Value("${events.journal.index-interval:4KB}") DataSize indexInterval) {
+        return new EventJournal(directory, Math.toIntExact(segmentSize.toBytes()),
+            Math.toIntExact(indexInterval.toBytes()));
+    }
+    
+    @Bean
+    public EventJournalMaintenance eventJournalMaintenance(EventJournal eventJournal,
+                                                           MeterRegistry meterRegistry,
+                                                           @Value("${events.journal.retention.max-size:1GB}") DataSize maxSize,
+                                                           @Value("${events.journal.retention.max-age:7d}") Duration maxAge) {
+        return new EventJournalMaintenance(eventJournal, meterRegistry, maxSize.toBytes(), maxAge);
+    }
+}
\ No newline at end of file
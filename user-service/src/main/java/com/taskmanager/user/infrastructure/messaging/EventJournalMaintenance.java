@@ -0,0 +1,60 @@
+package com.taskmanager.user.infrastructure.messaging;
+
+import com.taskmanager.common.event.EventJournal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Forces journal appends to disk on a short interval, so a crash loses at most that
+ * much history, and applies size and age retention.
+ */
+public class EventJournalMaintenance {
+    
+    private static final Logger logger = LoggerFactory.getLogger(EventJournalMaintenance.class);
+    
+    private final EventJournal eventJournal;
+    private final long maxBytes;
+    private final Duration maxAge;
+    
+    public EventJournalMaintenance(EventJournal eventJournal, MeterRegistry meterRegistry, long maxBytes,
+                                   Duration maxAge) {
+        this.eventJournal = eventJournal;
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        
+        Gauge.builder("events.journal.size", eventJournal, EventJournal::sizeInBytes)
+            .description("Disk space taken by event journal segments")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("events.journal.next-offset", eventJournal, EventJournal::nextOffset)
+            .description("Offset the next journaled event will get")
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${events.journal.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            eventJournal.flush();
+        } catch (RuntimeException e) {
+            logger.warn("Event journal flush failed", e);
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${events.journal.retention.check-interval-ms:60000}")
+    public void enforceRetention() {
+        try {
+            int deleted = eventJournal.enforceRetention(maxBytes, maxAge);
+            if (deleted > 0) {
+                logger.info("Deleted {} event journal segments, journal now starts at offset {}",
+                    deleted, eventJournal.firstOffset());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Event journal retention failed", e);
+        }
+    }
+}
\ No newline at end of file
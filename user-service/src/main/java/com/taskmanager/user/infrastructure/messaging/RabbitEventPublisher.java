@@ -1,37 +1,367 @@
 package com.taskmanager.user.infrastructure.messaging;
 
 import com.taskmanager.common.event.DomainEvent;
+import com.taskmanager.common.event.EventCodec;
+import com.taskmanager.common.event.EventCodecs;
+import com.taskmanager.common.event.EventJournal;
 import com.taskmanager.common.event.EventPublisher;
+import com.taskmanager.user.infrastructure.outbox.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Publishes events with correlated publisher confirms. Events handed to
+ * {@link #publishAsync} are buffered and sent on one channel once the buffer reaches
+ * the batch size or the flush interval elapses; outbox batches are sent immediately.
+ * Every message gets a future that completes when the broker acks it, is retried with
+ * backoff when it is nacked or unconfirmed, and fails if it is returned as unroutable.
+ * {@code events.publisher.publish.latency} times each event from hand-off to that
+ * outcome, buffering and retries included. With an {@link EventJournal} configured,
+ * every confirmed event is also appended to it for local replay.
+ */
 @Component
 public class RabbitEventPublisher implements EventPublisher {
     
     private static final Logger logger = LoggerFactory.getLogger(RabbitEventPublisher.class);
     private static final String EXCHANGE_NAME = "domain.events";
+    private static final String AGGREGATE_ID_HEADER = "x-aggregate-id";
     
     private final RabbitTemplate rabbitTemplate;
+    private final EventCodecs eventCodecs;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final int maxPending;
+    
+    private final Queue<PendingPublish> buffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService scheduler;
+    private EventJournal eventJournal;
     
-    public RabbitEventPublisher(RabbitTemplate rabbitTemplate) {
+    private final Counter confirmedCounter;
+    private final Counter nackedCounter;
+    private final Counter returnedCounter;
+    private final Counter retriedCounter;
+    private final Timer confirmTimer;
+    private final Timer sendTimer;
+    private final Timer publishConfirmedTimer;
+    private final Timer publishReturnedTimer;
+    private final Timer publishFailedTimer;
+    
+    public RabbitEventPublisher(RabbitTemplate rabbitTemplate,
+                                EventCodecs eventCodecs,
+                                MeterRegistry meterRegistry,
+                                @Value("${messaging.publisher.batch-size:100}") int batchSize,
+                                @Value("${messaging.publisher.flush-interval:50ms}") Duration flushInterval,
+                                @Value("${messaging.publisher.confirm-timeout:5s}") Duration confirmTimeout,
+                                @Value("${messaging.publisher.max-retries:3}") int maxRetries,
+                                @Value("${messaging.publisher.retry-backoff:200ms}") Duration retryBackoff,
+                                @Value("${messaging.publisher.max-pending:10000}") int maxPending) {
         this.rabbitTemplate = rabbitTemplate;
+        this.eventCodecs = eventCodecs;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+        this.maxRetries = maxRetries;
+        this.retryBackoff = retryBackoff;
+        this.maxPending = maxPending;
+        
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rabbit-event-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::scheduledFlush,
+            flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        
+        Gauge.builder("events.publisher.in-flight", inFlight, AtomicInteger::get)
+            .description("Messages sent and waiting for a publisher confirm")
+            .register(meterRegistry);
+        Gauge.builder("events.publisher.buffered", buffered, AtomicInteger::get)
+            .description("Events waiting for the next flush")
+            .register(meterRegistry);
+        this.confirmedCounter = Counter.builder("events.publisher.confirmed")
+            .description("Messages acked by the broker")
+            .register(meterRegistry);
+        this.nackedCounter = Counter.builder("events.publisher.nacked")
+            .description("Messages nacked by the broker or not confirmed in time")
+            .register(meterRegistry);
+        this.returnedCounter = Counter.builder("events.publisher.returned")
+            .description("Messages returned by the broker as unroutable")
+            .register(meterRegistry);
+        this.retriedCounter = Counter.builder("events.publisher.retried")
+            .description("Message sends retried after a nack, timeout or send failure")
+            .register(meterRegistry);
+        this.confirmTimer = Timer.builder("events.publisher.confirm.latency")
+            .description("Time from send to publisher confirm")
+            .register(meterRegistry);
+        this.sendTimer = Timer.builder("events.publisher.send.duration")
+            .description("Time spent writing a batch of messages to the channel")
+            .register(meterRegistry);
+        this.publishConfirmedTimer = publishTimer(meterRegistry, "confirmed");
+        this.publishReturnedTimer = publishTimer(meterRegistry, "returned");
+        this.publishFailedTimer = publishTimer(meterRegistry, "failed");
+    }
+    
+    private static Timer publishTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("events.publisher.publish.latency")
+            .description("Time from handing an event to the publisher until it is confirmed, returned or given up on")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+    
+    @Autowired(required = false)
+    public void setEventJournal(EventJournal eventJournal) {
+        this.eventJournal = eventJournal;
+    }
+    
+    public static String routingKeyFor(DomainEvent event) {
+        return event.getEventType().toLowerCase().replace("_", ".");
     }
     
     @Override
     public void publishEvent(DomainEvent event) {
+        publishAsync(event).whenComplete((ignored, e) -> {
+            if (e != null) {
+                logger.error("Failed to publish event: {}", event.getEventId(), e);
+            }
+        });
+    }
+    
+    public CompletableFuture<Void> publishAsync(DomainEvent event) {
+        EventCodec codec = eventCodecs.forEvent(event);
+        Message message = toMessage(event.getEventId(), event.getEventType(), event.getAggregateId(),
+            event.getOccurredOn(), codec.getContentType(), codec.encode(event));
+        PendingPublish pending = new PendingPublish(routingKeyFor(event), message);
+        
+        if (buffered.get() + inFlight.get() >= maxPending) {
+            fail(pending, new AmqpException("Event publisher has " + maxPending + " messages pending, rejecting "
+                + event.getEventId()));
+            return pending.result;
+        }
+        buffer.add(pending);
+        logger.debug("Buffered event: {} for aggregate: {}", event.getEventType(), event.getAggregateId());
+        if (buffered.incrementAndGet() >= batchSize) {
+            flush();
+        }
+        return pending.result;
+    }
+    
+    /**
+     * Sends the batch on one channel without waiting. The returned futures complete in
+     * the order the broker confirms, not in list order.
+     */
+    public List<CompletableFuture<Void>> publishBatch(List<OutboxEvent> events) {
+        List<PendingPublish> batch = new ArrayList<>(events.size());
+        List<CompletableFuture<Void>> results = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            PendingPublish pending = new PendingPublish(event.getRoutingKey(), toMessage(event.getEventId(),
+                event.getEventType(), event.getAggregateId(), event.getCreatedAt(), event.getContentType(),
+                event.getPayload()));
+            batch.add(pending);
+            results.add(pending.result);
+        }
+        send(batch);
+        logger.debug("Published batch of {} events", events.size());
+        return results;
+    }
+    
+    public void flush() {
+        // A flush already running drains the buffer; anything added after it finishes
+        // goes out with the next size- or timer-triggered flush.
+        if (!flushLock.tryLock()) {
+            return;
+        }
         try {
-            logger.info("Publishing event: {} for aggregate: {}", 
-                event.getEventType(), event.getAggregateId());
-            
-            String routingKey = event.getEventType().toLowerCase().replace("_", ".");
-            rabbitTemplate.convertAndSend(EXCHANGE_NAME, routingKey, event);
-            
-            logger.debug("Event published successfully: {}", event.getEventId());
+            List<PendingPublish> batch = new ArrayList<>();
+            PendingPublish pending;
+            while ((pending = buffer.poll()) != null) {
+                buffered.decrementAndGet();
+                batch.add(pending);
+            }
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    private void scheduledFlush() {
+        try {
+            flush();
         } catch (Exception e) {
-            logger.error("Failed to publish event: {}", event.getEventId(), e);
-            throw new RuntimeException("Failed to publish domain event", e);
+            logger.warn("Scheduled event flush failed", e);
+        }
+    }
+    
+    private void send(List<PendingPublish> batch) {
+        long started = System.nanoTime();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingPublish pending : batch) {
+                    sendOne(operations, pending);
+                }
+                return null;
+            });
+        } catch (AmqpException e) {
+            // Messages sent before the failure are tracked by their confirms
+            for (PendingPublish pending : batch) {
+                if (!pending.sent) {
+                    retryOrFail(pending, e);
+                }
+            }
+        } finally {
+            sendTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    private void sendOne(RabbitOperations operations, PendingPublish pending) {
+        pending.sent = false;
+        pending.attempts++;
+        CorrelationData correlation = new CorrelationData(pending.messageId() + "#" + pending.attempts);
+        pending.sentAt = System.nanoTime();
+        operations.send(EXCHANGE_NAME, pending.routingKey, pending.message, correlation);
+        pending.sent = true;
+        inFlight.incrementAndGet();
+        correlation.getFuture()
+            .orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)
+            .whenComplete((confirm, e) -> onConfirm(pending, correlation,
+                e == null && confirm.isAck(), e != null ? e.toString() : confirm.getReason()));
+    }
+    
+    private void onConfirm(PendingPublish pending, CorrelationData correlation, boolean ack, String reason) {
+        inFlight.decrementAndGet();
+        confirmTimer.record(System.nanoTime() - pending.sentAt, TimeUnit.NANOSECONDS);
+        if (ack) {
+            ReturnedMessage returned = correlation.getReturned();
+            if (returned != null) {
+                // Retrying cannot help until a queue is bound for the routing key
+                returnedCounter.increment();
+                publishReturnedTimer.record(System.nanoTime() - pending.createdAt, TimeUnit.NANOSECONDS);
+                pending.result.completeExceptionally(
+                    new UnroutableEventException(pending.messageId(), returned.getReplyText()));
+                return;
+            }
+            confirmedCounter.increment();
+            publishConfirmedTimer.record(System.nanoTime() - pending.createdAt, TimeUnit.NANOSECONDS);
+            journal(pending.message);
+            pending.result.complete(null);
+            return;
+        }
+        nackedCounter.increment();
+        retryOrFail(pending, new AmqpException("Event " + pending.messageId() + " was not confirmed: " + reason));
+    }
+    
+    // Journaled in confirm order, which can differ from send order across retries
+    private void journal(Message message) {
+        if (eventJournal == null) {
+            return;
+        }
+        MessageProperties properties = message.getMessageProperties();
+        Object aggregateId = properties.getHeader(AGGREGATE_ID_HEADER);
+        try {
+            eventJournal.append(UUID.fromString(properties.getMessageId()), properties.getType(),
+                aggregateId == null ? null : UUID.fromString(aggregateId.toString()), properties.getContentType(),
+                ByteBuffer.wrap(message.getBody()));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to journal confirmed event {}", properties.getMessageId(), e);
+        }
+    }
+    
+    private void retryOrFail(PendingPublish pending, Exception cause) {
+        if (pending.attempts > maxRetries) {
+            fail(pending, cause);
+            return;
+        }
+        retriedCounter.increment();
+        logger.debug("Retrying event {} after attempt {}: {}", pending.messageId(), pending.attempts, cause.getMessage());
+        try {
+            // Resend off the confirm thread: template calls on it can deadlock
+            scheduler.schedule(() -> send(List.of(pending)),
+                retryBackoff.toMillis() * pending.attempts, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            fail(pending, cause);
+        }
+    }
+    
+    private void fail(PendingPublish pending, Exception cause) {
+        publishFailedTimer.record(System.nanoTime() - pending.createdAt, TimeUnit.NANOSECONDS);
+        pending.result.completeExceptionally(cause);
+    }
+    
+    private Message toMessage(UUID eventId, String eventType, UUID aggregateId, LocalDateTime createdAt,
+                              String contentType, byte[] payload) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(contentType);
+        properties.setMessageId(eventId.toString());
+        properties.setType(eventType);
+        properties.setTimestamp(Timestamp.valueOf(createdAt));
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        if (aggregateId != null) {
+            properties.setHeader(AGGREGATE_ID_HEADER, aggregateId.toString());
+        }
+        return new Message(payload, properties);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+    
+    private static final class PendingPublish {
+        
+        private final String routingKey;
+        private final Message message;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final long createdAt = System.nanoTime();
+        private volatile int attempts;
+        private volatile boolean sent;
+        private volatile long sentAt;
+        
+        private PendingPublish(String routingKey, Message message) {
+            this.routingKey = routingKey;
+            this.message = message;
+        }
+        
+        private String messageId() {
+            return message.getMessageProperties().getMessageId();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.taskmanager.user.infrastructure.messaging;
+
+import org.springframework.amqp.AmqpException;
+
+/**
+ * The broker accepted the message but returned it because no queue is bound for its
+ * routing key. Final: publishing it again fails the same way until the bindings change.
+ */
+public class UnroutableEventException extends AmqpException {
+    
+    public UnroutableEventException(String messageId, String replyText) {
+        super("Event " + messageId + " was returned as unroutable: " + replyText);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.taskmanager.user.infrastructure.monitoring;
+
+import com.taskmanager.user.application.UserCacheWarmer;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Out of service until the user caches have been warmed. Part of the readiness group,
+ * and of the status reported to Eureka, so callers only route to warm nodes.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+    
+    private final UserCacheWarmer userCacheWarmer;
+    
+    public CacheWarmupHealthIndicator(UserCacheWarmer userCacheWarmer) {
+        this.userCacheWarmer = userCacheWarmer;
+    }
+    
+    @Override
+    public Health health() {
+        return userCacheWarmer.isWarm()
+            ? Health.up().build()
+            : Health.outOfService().withDetail("reason", "User cache warm-up in progress").build();
+    }
+}
\ No newline at end of file
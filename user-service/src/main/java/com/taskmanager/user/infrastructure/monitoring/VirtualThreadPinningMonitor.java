@@ -0,0 +1,96 @@
+package com.taskmanager.user.infrastructure.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events while virtual threads are enabled.
+ * Each pinned section longer than the threshold is logged with its stack and recorded
+ * in {@code jvm.threads.virtual.pinned}, tagged with the first frame outside the JDK
+ * (typically the JDBC driver or library that holds a monitor).
+ */
+@Component
+@ConditionalOnProperty(value = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+    
+    private final MeterRegistry meterRegistry;
+    private final Duration threshold;
+    private RecordingStream recordingStream;
+    
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${virtual-threads.pinning.threshold:20ms}") Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+    }
+    
+    @PostConstruct
+    void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        logger.info("Monitoring virtual thread pinning longer than {}", threshold);
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null
+            ? List.of()
+            : event.getStackTrace().getFrames();
+        String source = frames.stream()
+            .map(this::frameName)
+            .filter(name -> !name.startsWith("java.") && !name.startsWith("jdk.") && !name.startsWith("sun."))
+            .findFirst()
+            .orElse("unknown");
+        
+        Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent pinned to their carrier")
+            .tag("source", source)
+            .register(meterRegistry)
+            .record(event.getDuration());
+        
+        if (logger.isWarnEnabled()) {
+            logger.warn("Virtual thread pinned for {} ms at {}\n\t{}",
+                event.getDuration().toMillis(), source, describe(event.getStackTrace()));
+        }
+    }
+    
+    private String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "<no stack trace>";
+        }
+        return stackTrace.getFrames().stream()
+            .limit(LOGGED_FRAMES)
+            .map(frame -> frameName(frame) + ":" + frame.getLineNumber())
+            .collect(Collectors.joining("\n\t"));
+    }
+    
+    private String frameName(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+        }
+    }
+}
\ No newline at end of file
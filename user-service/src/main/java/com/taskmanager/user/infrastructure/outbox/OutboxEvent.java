@@ -0,0 +1,67 @@
+package com.taskmanager.user.infrastructure.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(nullable = false, unique = true, updatable = false)
+    private UUID eventId;
+    
+    @Column(updatable = false)
+    private UUID aggregateId;
+    
+    @Column(nullable = false, updatable = false)
+    private String eventType;
+    
+    @Column(nullable = false, updatable = false)
+    private String routingKey;
+    
+    @Column(nullable = false, updatable = false)
+    private String contentType;
+    
+    @Column(nullable = false, updatable = false)
+    private byte[] payload;
+    
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    protected OutboxEvent() {}
+    
+    public OutboxEvent(UUID eventId, UUID aggregateId, String eventType, String routingKey,
+                       String contentType, byte[] payload) {
+        this.eventId = eventId;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.routingKey = routingKey;
+        this.contentType = contentType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters
+    public Long getId() { return id; }
+    
+    public UUID getEventId() { return eventId; }
+    
+    public UUID getAggregateId() { return aggregateId; }
+    
+    public String getEventType() { return eventType; }
+    
+    public String getRoutingKey() { return routingKey; }
+    
+    public String getContentType() { return contentType; }
+    
+    public byte[] getPayload() { return payload; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
\ No newline at end of file
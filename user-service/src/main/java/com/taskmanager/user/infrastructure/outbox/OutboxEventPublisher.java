@@ -0,0 +1,90 @@
+package com.taskmanager.user.infrastructure.outbox;
+
+import com.taskmanager.common.event.DomainEvent;
+import com.taskmanager.common.event.EventCodec;
+import com.taskmanager.common.event.EventCodecs;
+import com.taskmanager.common.event.EventPublisher;
+import com.taskmanager.user.infrastructure.messaging.RabbitEventPublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Records domain events in the outbox table as part of the caller's transaction.
+ * Delivery to the broker is left to {@link OutboxRelay}.
+ */
+@Component
+@Primary
+public class OutboxEventPublisher implements EventPublisher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxEventPublisher.class);
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO outbox_events (event_id, aggregate_id, event_type, routing_key, content_type, payload, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    
+    private final OutboxRepository outboxRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventCodecs eventCodecs;
+    private final int batchSize;
+    
+    public OutboxEventPublisher(OutboxRepository outboxRepository,
+                                JdbcTemplate jdbcTemplate,
+                                EventCodecs eventCodecs,
+                                @Value("${outbox.insert-batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventCodecs = eventCodecs;
+        this.batchSize = batchSize;
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishEvent(DomainEvent event) {
+        outboxRepository.save(toOutboxEvent(event));
+        logger.debug("Event {} recorded in outbox", event.getEventId());
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishEvents(Collection<? extends DomainEvent> events) {
+        List<OutboxEvent> outboxEvents = new ArrayList<>(events.size());
+        for (DomainEvent event : events) {
+            outboxEvents.add(toOutboxEvent(event));
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, outboxEvents, batchSize, (ps, event) -> {
+            ps.setObject(1, event.getEventId());
+            ps.setObject(2, event.getAggregateId());
+            ps.setString(3, event.getEventType());
+            ps.setString(4, event.getRoutingKey());
+            ps.setString(5, event.getContentType());
+            ps.setBytes(6, event.getPayload());
+            ps.setTimestamp(7, Timestamp.valueOf(event.getCreatedAt()));
+        });
+        logger.debug("{} events recorded in outbox", outboxEvents.size());
+    }
+    
+    private OutboxEvent toOutboxEvent(DomainEvent event) {
+        // The content type is stored with the payload and becomes the AMQP content
+        // type, so consumers decode each message with the codec that wrote it.
+        EventCodec codec = eventCodecs.forEvent(event);
+        return new OutboxEvent(
+            event.getEventId(),
+            event.getAggregateId(),
+            event.getEventType(),
+            RabbitEventPublisher.routingKeyFor(event),
+            codec.getContentType(),
+            codec.encode(event)
+        );
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.taskmanager.user.infrastructure.outbox;
+
+import com.taskmanager.user.infrastructure.messaging.RabbitEventPublisher;
+import com.taskmanager.user.infrastructure.messaging.UnroutableEventException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drains the outbox table in batches and hands each batch to the broker in a single
+ * pipelined publish. Rows are only deleted once the broker has confirmed them; the
+ * rest stay claimed until the transaction ends and are retried on the next poll, so
+ * a failed or slow broker delays delivery without affecting user writes. Events the
+ * broker returns as unroutable would fail the same way on every poll and hold up the
+ * rows behind them, so they are moved to {@code outbox_dead_letters} instead.
+ */
+@Component
+public class OutboxRelay {
+    
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    static final String UNROUTABLE = "UNROUTABLE";
+    
+    private final OutboxRepository outboxRepository;
+    private final RabbitEventPublisher rabbitEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long confirmTimeoutMs;
+    
+    private final Timer batchTimer;
+    private final Timer lagTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Counter publishedCounter;
+    private final Counter failedBatchCounter;
+    private final Counter parkedCounter;
+    
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       RabbitEventPublisher rabbitEventPublisher,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+                       @Value("${outbox.relay.confirm-timeout-ms:30000}") long confirmTimeoutMs) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitEventPublisher = rabbitEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+        
+        this.batchTimer = Timer.builder("outbox.relay.batch.duration")
+            .description("Time to claim, publish and delete one outbox batch")
+            .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+            .description("Age of the oldest event in each relayed batch")
+            .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("outbox.relay.batch.size")
+            .description("Number of events per relayed batch")
+            .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+            .description("Events published from the outbox")
+            .register(meterRegistry);
+        this.failedBatchCounter = Counter.builder("outbox.relay.failures")
+            .description("Outbox batches that failed to publish completely")
+            .register(meterRegistry);
+        this.parkedCounter = Counter.builder("outbox.relay.parked")
+            .description("Outbox events moved to the dead-letter table, by reason")
+            .tag("reason", UNROUTABLE)
+            .register(meterRegistry);
+    }
+    
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (Exception e) {
+                failedBatchCounter.increment();
+                logger.warn("Outbox batch publish failed, will retry on next poll", e);
+                return;
+            }
+            if (relayed < batchSize) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Relays one batch and returns how many of its events are settled: confirmed, or
+     * parked as unroutable. A short count means the outbox is drained or the broker
+     * is failing, and ends the run.
+     */
+    int relayBatch() {
+        Timer.Sample sample = Timer.start();
+        int[] published = new int[1];
+        Integer settled = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxRepository.claimBatch(batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            
+            List<CompletableFuture<Void>> confirms = rabbitEventPublisher.publishBatch(batch);
+            List<OutboxEvent> confirmed = new ArrayList<>(batch.size());
+            List<OutboxEvent> unroutable = new ArrayList<>();
+            awaitConfirms(batch, confirms, confirmed, unroutable);
+            if (!confirmed.isEmpty()) {
+                outboxRepository.deleteAllInBatch(confirmed);
+                lagTimer.record(Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()));
+            }
+            if (!unroutable.isEmpty()) {
+                outboxRepository.parkAll(unroutable.stream().map(OutboxEvent::getEventId).toList(), UNROUTABLE);
+                parkedCounter.increment(unroutable.size());
+                logger.warn("Parked {} outbox events the broker returned as unroutable, e.g. routing key {}",
+                    unroutable.size(), unroutable.get(0).getRoutingKey());
+            }
+            int done = confirmed.size() + unroutable.size();
+            if (done < batch.size()) {
+                failedBatchCounter.increment();
+                logger.warn("{} of {} outbox events were not confirmed, will retry on next poll",
+                    batch.size() - done, batch.size());
+            }
+            published[0] = confirmed.size();
+            return done;
+        });
+        
+        int count = published[0];
+        if (count > 0) {
+            sample.stop(batchTimer);
+            batchSizeSummary.record(count);
+            publishedCounter.increment(count);
+            logger.debug("Relayed {} outbox events", count);
+        }
+        return settled == null ? 0 : settled;
+    }
+    
+    private void awaitConfirms(List<OutboxEvent> batch, List<CompletableFuture<Void>> confirms,
+                               List<OutboxEvent> confirmed, List<OutboxEvent> unroutable) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                confirms.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                confirmed.add(batch.get(i));
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof UnroutableEventException) {
+                    unroutable.add(batch.get(i));
+                } else {
+                    logger.debug("Outbox event {} not confirmed: {}", batch.get(i).getEventId(), e.toString());
+                }
+            } catch (TimeoutException e) {
+                logger.debug("Outbox event {} not confirmed: {}", batch.get(i).getEventId(), e.toString());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.taskmanager.user.infrastructure.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    @Query(value = "SELECT * FROM outbox_events ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> claimBatch(int limit);
+    
+    // Moves the events to outbox_dead_letters in one statement and returns how many moved
+    @Modifying
+    @Query(value = "WITH parked AS (DELETE FROM outbox_events WHERE event_id IN (:eventIds) RETURNING *) " +
+                   "INSERT INTO outbox_dead_letters (id, event_id, aggregate_id, event_type, routing_key, " +
+                   "content_type, payload, created_at, reason) " +
+                   "SELECT id, event_id, aggregate_id, event_type, routing_key, content_type, payload, created_at, " +
+                   ":reason FROM parked",
+           nativeQuery = true)
+    int parkAll(Collection<UUID> eventIds, String reason);
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.taskmanager.user.infrastructure.repository;
+
+import com.taskmanager.user.domain.Role;
+import com.taskmanager.user.domain.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public class UserBatchRepository {
+    
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (id, email, first_name, last_name, password, roles_mask, enabled, account_non_expired, " +
+        "account_non_locked, credentials_non_expired, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0) ON CONFLICT (email) DO NOTHING";
+    
+    private static final String SELECT_EXISTING_IDS_SQL = "SELECT id FROM users WHERE id = ANY (?)";
+    
+    // Leaves version and updated_at alone: login activity is not a profile change.
+    // The guard keeps an older, late-flushed timestamp from overwriting a newer one.
+    private static final String UPDATE_LAST_LOGIN_SQL =
+        "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    
+    public UserBatchRepository(JdbcTemplate jdbcTemplate,
+                               @Value("${users.bulk.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+    
+    /**
+     * Inserts the users with JDBC batches. Users whose email is taken by the time the
+     * insert runs are skipped; the returned list holds the users that were actually
+     * inserted, in input order.
+     */
+    public List<User> insertAll(List<User> users) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, batchSize, (ps, user) -> {
+            ps.setObject(1, user.getId());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getFirstName());
+            ps.setString(4, user.getLastName());
+            ps.setString(5, user.getPassword());
+            ps.setInt(6, Role.toMask(user.getRoles()));
+            ps.setBoolean(7, user.isEnabled());
+            ps.setBoolean(8, user.isAccountNonExpired());
+            ps.setBoolean(9, user.isAccountNonLocked());
+            ps.setBoolean(10, user.isCredentialsNonExpired());
+            ps.setTimestamp(11, Timestamp.valueOf(user.getCreatedAt()));
+            ps.setTimestamp(12, Timestamp.valueOf(user.getUpdatedAt()));
+        });
+        
+        boolean[] inserted = new boolean[users.size()];
+        List<UUID> unknownIds = new ArrayList<>();
+        int row = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                // 0 means ON CONFLICT skipped the row; SUCCESS_NO_INFO, which the driver reports for
+                // every row once reWriteBatchedInserts is on, says nothing either way
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    unknownIds.add(users.get(row).getId());
+                } else {
+                    inserted[row] = count != 0;
+                }
+                row++;
+            }
+        }
+        
+        // Ids are generated per import, so a row with the id exists only if this insert wrote it
+        Set<UUID> existing = unknownIds.isEmpty() ? Set.of() : findExistingIds(unknownIds);
+        List<User> result = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            if (inserted[i] || existing.contains(users.get(i).getId())) {
+                result.add(users.get(i));
+            }
+        }
+        
+        return result;
+    }
+    
+    private Set<UUID> findExistingIds(List<UUID> ids) {
+        return new HashSet<>(jdbcTemplate.query(SELECT_EXISTING_IDS_SQL,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+            (rs, rowNum) -> rs.getObject("id", UUID.class)));
+    }
+    
+    public void updateLastLoginAt(Map<UUID, LocalDateTime> lastLogins) {
+        jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, new ArrayList<>(lastLogins.entrySet()), batchSize,
+            (ps, entry) -> {
+                Timestamp loginAt = Timestamp.valueOf(entry.getValue());
+                ps.setTimestamp(1, loginAt);
+                ps.setObject(2, entry.getKey());
+                ps.setTimestamp(3, loginAt);
+            });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.taskmanager.user.infrastructure.repository;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.Role;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Queries that build {@link UserDTO}s straight from SQL, roles included, without
+ * loading entities into the persistence context. Mixed into {@link UserRepository}.
+ */
+public interface UserProjectionRepository {
+    
+    Optional<UserDTO> findDtoById(UUID id);
+    
+    Optional<UserDTO> findDtoByEmail(String email);
+    
+    // Unknown ids are skipped; the order of the result is unspecified
+    List<UserDTO> findDtoByIds(Collection<UUID> ids);
+    
+    Page<UserDTO> findDtoPage(Pageable pageable);
+    
+    Page<UserDTO> findDtoPageByRole(Role role, Pageable pageable);
+    
+    /**
+     * Users in (createdAt, id) order after the given position, or from the start when
+     * {@code createdAt} is null.
+     */
+    List<UserDTO> findDtoKeysetPage(LocalDateTime createdAt, UUID id, int limit);
+    
+    /**
+     * Writes the non-null name fields in a single statement, provided the user is
+     * still at {@code expectedVersion}, and returns the updated row. Empty when the
+     * user does not exist or has moved to another version.
+     */
+    Optional<UserDTO> patchProfile(UUID id, long expectedVersion, String firstName, String lastName);
+    
+    /**
+     * Up to {@code limit} enabled users, most recent login first, read through a
+     * server-side cursor {@code fetchSize} rows at a time. Must be called in a
+     * transaction and the stream closed.
+     */
+    Stream<UserDTO> streamActiveDtos(int limit, int fetchSize);
+    
+    /**
+     * Every user in (createdAt, id) order, optionally only those with the given enabled
+     * flag and role, read through a server-side cursor {@code fetchSize} rows at a
+     * time. Must be called in a transaction and the stream closed.
+     */
+    Stream<UserDTO> streamDtos(Boolean enabled, Role role, int fetchSize);
+    
+    /**
+     * Enabled users whose email, first or last name starts with {@code query}, or
+     * whose combined search text is word-similar to it, best match first: prefix
+     * matches, then by trigram word similarity. {@code query} must be lower case.
+     */
+    List<UserDTO> searchDtos(String query, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,231 @@
+package com.taskmanager.user.infrastructure.repository;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.Role;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class UserProjectionRepositoryImpl implements UserProjectionRepository {
+    
+    // Roles come from the roles_mask column, so every user is a single row
+    private static final String USER_DTO_COLUMNS =
+        "u.id, u.email, u.first_name, u.last_name, u.roles_mask, u.enabled, u.created_at, u.updated_at, " +
+        "u.last_login_at, u.version";
+    
+    private static final String SELECT_USER_DTO = "SELECT " + USER_DTO_COLUMNS + " FROM users u ";
+    
+    private static final String DEFAULT_ORDER = "u.created_at, u.id";
+    
+    // Must stay identical to the expression of idx_users_search_trgm
+    private static final String SEARCH_TEXT = "lower(u.email || ' ' || u.first_name || ' ' || u.last_name)";
+    
+    private static final String PREFIX_MATCH =
+        "(lower(u.email) LIKE ? OR lower(u.first_name) LIKE ? OR lower(u.last_name) LIKE ?)";
+    
+    // The prefix and trigram conditions are OR-ed, so Postgres can combine their
+    // indexes in one bitmap scan
+    private static final String SEARCH_SQL = SELECT_USER_DTO +
+        "WHERE u.enabled AND (" + PREFIX_MATCH + " OR ? <% " + SEARCH_TEXT + ") " +
+        "ORDER BY " + PREFIX_MATCH + " DESC, word_similarity(?, " + SEARCH_TEXT + ") DESC, u.email LIMIT ?";
+    
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+        "id", "u.id",
+        "email", "u.email",
+        "firstName", "u.first_name",
+        "lastName", "u.last_name",
+        "enabled", "u.enabled",
+        "createdAt", "u.created_at",
+        "updatedAt", "u.updated_at",
+        "lastLoginAt", "u.last_login_at"
+    );
+    
+    private static final RowMapper<UserDTO> USER_DTO_MAPPER = UserProjectionRepositoryImpl::mapRow;
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    UserProjectionRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public Optional<UserDTO> findDtoById(UUID id) {
+        return jdbcTemplate.query(SELECT_USER_DTO + "WHERE u.id = ?", USER_DTO_MAPPER, id).stream().findFirst();
+    }
+    
+    @Override
+    public Optional<UserDTO> findDtoByEmail(String email) {
+        return jdbcTemplate.query(SELECT_USER_DTO + "WHERE u.email = ?", USER_DTO_MAPPER, email).stream().findFirst();
+    }
+    
+    @Override
+    public List<UserDTO> findDtoByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // One array parameter instead of an IN list keeps a single prepared statement
+        // (and plan) for every batch size; the planner treats = ANY like IN.
+        return jdbcTemplate.query(SELECT_USER_DTO + "WHERE u.id = ANY (?)",
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())), USER_DTO_MAPPER);
+    }
+    
+    @Override
+    public Page<UserDTO> findDtoPage(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<UserDTO> all = jdbcTemplate.query(SELECT_USER_DTO + "ORDER BY " + orderBy(pageable.getSort()),
+                USER_DTO_MAPPER);
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        List<UserDTO> content = jdbcTemplate.query(
+            SELECT_USER_DTO + "ORDER BY " + orderBy(pageable.getSort()) + " LIMIT ? OFFSET ?",
+            USER_DTO_MAPPER, pageable.getPageSize(), pageable.getOffset());
+        // The count is skipped when this page already shows where the table ends
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> jdbcTemplate.queryForObject("SELECT count(*) FROM users", Long.class));
+    }
+    
+    @Override
+    public Page<UserDTO> findDtoPageByRole(Role role, Pageable pageable) {
+        // The bit is inlined rather than bound so the planner can match the partial
+        // indexes for the rare roles (ADMIN, MANAGER); USER matches almost every row,
+        // where a scan in sort order is the right plan anyway.
+        String where = "WHERE (u.roles_mask & " + role.getBit() + ") <> 0 ";
+        List<UserDTO> content = pageable.isUnpaged()
+            ? jdbcTemplate.query(SELECT_USER_DTO + where + "ORDER BY " + orderBy(pageable.getSort()), USER_DTO_MAPPER)
+            : jdbcTemplate.query(SELECT_USER_DTO + where + "ORDER BY " + orderBy(pageable.getSort()) + " LIMIT ? OFFSET ?",
+                USER_DTO_MAPPER, pageable.getPageSize(), pageable.getOffset());
+        return PageableExecutionUtils.getPage(content, pageable,
+            () -> jdbcTemplate.queryForObject("SELECT count(*) FROM users u " + where, Long.class));
+    }
+    
+    @Override
+    public List<UserDTO> findDtoKeysetPage(LocalDateTime createdAt, UUID id, int limit) {
+        if (createdAt == null) {
+            return jdbcTemplate.query(SELECT_USER_DTO + "ORDER BY u.created_at, u.id LIMIT ?", USER_DTO_MAPPER, limit);
+        }
+        // Row-value comparison lets Postgres seek straight into idx_users_created_at_id
+        return jdbcTemplate.query(
+            SELECT_USER_DTO + "WHERE (u.created_at, u.id) > (?, ?) ORDER BY u.created_at, u.id LIMIT ?",
+            USER_DTO_MAPPER, Timestamp.valueOf(createdAt), id, limit);
+    }
+    
+    @Override
+    public Optional<UserDTO> patchProfile(UUID id, long expectedVersion, String firstName, String lastName) {
+        // Only the supplied columns are written, so concurrent edits to other columns
+        // survive; the version check and bump replace Hibernate's optimistic lock.
+        StringBuilder sql = new StringBuilder("UPDATE users u SET ");
+        List<Object> args = new ArrayList<>(6);
+        if (firstName != null) {
+            sql.append("first_name = ?, ");
+            args.add(firstName);
+        }
+        if (lastName != null) {
+            sql.append("last_name = ?, ");
+            args.add(lastName);
+        }
+        sql.append("updated_at = ?, version = u.version + 1 WHERE u.id = ? AND u.version = ? RETURNING ")
+            .append(USER_DTO_COLUMNS);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.add(id);
+        args.add(expectedVersion);
+        return jdbcTemplate.query(sql.toString(), USER_DTO_MAPPER, args.toArray()).stream().findFirst();
+    }
+    
+    @Override
+    public Stream<UserDTO> streamActiveDtos(int limit, int fetchSize) {
+        // The driver only uses a cursor with a fetch size outside autocommit; otherwise
+        // it would buffer the whole result
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_USER_DTO +
+                "WHERE u.enabled ORDER BY u.last_login_at DESC NULLS LAST, u.id LIMIT ?");
+            statement.setFetchSize(fetchSize);
+            statement.setInt(1, limit);
+            return statement;
+        }, USER_DTO_MAPPER);
+    }
+    
+    @Override
+    public Stream<UserDTO> streamDtos(Boolean enabled, Role role, int fetchSize) {
+        List<String> conditions = new ArrayList<>(2);
+        if (enabled != null) {
+            conditions.add("u.enabled = " + enabled);
+        }
+        if (role != null) {
+            // Inlined for the partial role indexes, as in findDtoPageByRole
+            conditions.add("(u.roles_mask & " + role.getBit() + ") <> 0");
+        }
+        String sql = SELECT_USER_DTO
+            + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + " ")
+            + "ORDER BY " + DEFAULT_ORDER;
+        return jdbcTemplate.queryForStream(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, USER_DTO_MAPPER);
+    }
+    
+    @Override
+    public List<UserDTO> searchDtos(String query, int limit) {
+        String prefix = escapeLike(query) + "%";
+        return jdbcTemplate.query(SEARCH_SQL, USER_DTO_MAPPER,
+            prefix, prefix, prefix, query, prefix, prefix, prefix, query, limit);
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return DEFAULT_ORDER;
+        }
+        // Only whitelisted properties reach the SQL; the id tiebreaker keeps pages stable
+        return sort.stream()
+            .map(order -> {
+                String column = SORT_COLUMNS.get(order.getProperty());
+                if (column == null) {
+                    throw new IllegalArgumentException("Cannot sort users by " + order.getProperty());
+                }
+                return column + (order.isAscending() ? " ASC" : " DESC");
+            })
+            .collect(Collectors.joining(", ")) + ", u.id";
+    }
+    
+    private static UserDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        UserDTO dto = new UserDTO();
+        dto.setId(rs.getObject("id", UUID.class));
+        dto.setEmail(rs.getString("email"));
+        dto.setFirstName(rs.getString("first_name"));
+        dto.setLastName(rs.getString("last_name"));
+        dto.setFullName(dto.getFirstName() + " " + dto.getLastName());
+        dto.setEnabled(rs.getBoolean("enabled"));
+        dto.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        dto.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        dto.setLastLoginAt(toLocalDateTime(rs.getTimestamp("last_login_at")));
+        dto.setRoles(Role.fromMask(rs.getInt("roles_mask")));
+        dto.setVersion(rs.getLong("version"));
+        return dto;
+    }
+    
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
\ No newline at end of file
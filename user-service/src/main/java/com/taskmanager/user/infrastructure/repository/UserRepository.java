@@ -1,15 +1,24 @@
 package com.taskmanager.user.infrastructure.repository;
 
 import com.taskmanager.user.domain.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserProjectionRepository {
     
     Optional<User> findByEmail(String email);
     
@@ -17,4 +26,19 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.enabled = true")
     Optional<User> findActiveUserByEmail(String email);
+    
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(UUID id);
+    
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
+    
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :currentPassword")
+    int updatePasswordHash(UUID id, String currentPassword, String newPassword);
 }
\ No newline at end of file
@@ -1,9 +1,19 @@
 package com.taskmanager.user.infrastructure.web;
 
+import com.taskmanager.user.application.UserBulkImportService;
+import com.taskmanager.user.application.UserExportService;
+import com.taskmanager.user.application.UserSearchService;
 import com.taskmanager.user.application.UserService;
+import com.taskmanager.user.application.dto.AuthenticateCommand;
+import com.taskmanager.user.application.dto.BulkCreateUsersCommand;
+import com.taskmanager.user.application.dto.BulkCreateUsersResult;
+import com.taskmanager.user.application.dto.ChangePasswordCommand;
 import com.taskmanager.user.application.dto.CreateUserCommand;
+import com.taskmanager.user.application.dto.CursorPage;
+import com.taskmanager.user.application.dto.PatchUserCommand;
 import com.taskmanager.user.application.dto.UpdateUserCommand;
 import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.Role;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,22 +22,39 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.access.prepost.PreFilter;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/users")
 @Tag(name = "User Management", description = "APIs for managing users")
 public class UserController {
     
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final int EXPORT_GZIP_BUFFER_BYTES = 64 * 1024;
+    
     private final UserService userService;
+    private final UserBulkImportService userBulkImportService;
+    private final UserExportService userExportService;
+    private final UserSearchService userSearchService;
     
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserBulkImportService userBulkImportService,
+                          UserExportService userExportService, UserSearchService userSearchService) {
         this.userService = userService;
+        this.userBulkImportService = userBulkImportService;
+        this.userExportService = userExportService;
+        this.userSearchService = userSearchService;
     }
     
     @PostMapping
@@ -35,13 +62,26 @@ public class UserController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "User created successfully"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "409", description = "User already exists")
+        @ApiResponse(responseCode = "409", description = "User already exists"),
+        @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry later")
     })
     public ResponseEntity<UserDTO> createUser(@Valid @RequestBody CreateUserCommand command) {
         UserDTO user = userService.createUser(command);
         return ResponseEntity.status(HttpStatus.CREATED).body(user);
     }
     
+    @PostMapping("/bulk")
+    @Operation(summary = "Create users in bulk", description = "Creates many user accounts in one request and reports failures per row")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Request processed; see failures for rows that were not created"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkCreateUsersResult> createUsers(@Valid @RequestBody BulkCreateUsersCommand command) {
+        BulkCreateUsersResult result = userBulkImportService.createUsers(command);
+        return ResponseEntity.ok(result);
+    }
+    
     @GetMapping("/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieves a user by their unique identifier")
     @ApiResponses(value = {
@@ -55,6 +95,20 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
     
+    @GetMapping("/batch")
+    @Operation(summary = "Get users by IDs", description = "Retrieves many users in one call; IDs the caller may not read or that do not exist are left out")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Users found, in request order"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs")
+    })
+    // The per-user rule of GET /{id}, applied to every requested id before lookup
+    @PreFilter(value = "hasRole('ADMIN') or authentication.name == filterObject.toString()", filterTarget = "ids")
+    public ResponseEntity<List<UserDTO>> getUsersByIds(
+            @Parameter(description = "User IDs, comma separated or repeated") @RequestParam List<UUID> ids) {
+        List<UserDTO> users = userService.getUsersByIds(ids);
+        return ResponseEntity.ok(users);
+    }
+    
     @GetMapping("/email/{email}")
     @Operation(summary = "Get user by email", description = "Retrieves a user by their email address")
     @PreAuthorize("hasRole('ADMIN')")
@@ -65,10 +119,89 @@ public class UserController {
     }
     
     @GetMapping
-    @Operation(summary = "Get all users", description = "Retrieves a paginated list of all users")
+    @Operation(summary = "Get all users", description = "Retrieves a paginated list of all users, optionally only those with a given role")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Page<UserDTO>> getAllUsers(Pageable pageable) {
-        Page<UserDTO> users = userService.getAllUsers(pageable);
+    public ResponseEntity<Page<UserDTO>> getAllUsers(
+            @Parameter(description = "Only users with this role") @RequestParam(required = false) Role role,
+            Pageable pageable) {
+        Page<UserDTO> users = role == null
+            ? userService.getAllUsers(pageable)
+            : userService.getUsersByRole(role, pageable);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/search")
+    @Operation(summary = "Search users", description = "Finds enabled users by email or name prefix, or by a close match; prefix matches rank first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Matching users, best first"),
+        @ApiResponse(responseCode = "400", description = "Empty or too long query")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<UserDTO>> searchUsers(
+            @Parameter(description = "Search text (1-100 characters)") @RequestParam String q,
+            @Parameter(description = "Maximum results (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        List<UserDTO> users = userSearchService.search(q, limit);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping("/search/suggest")
+    @Operation(summary = "Suggest users", description = "Type-ahead: enabled users whose email or name starts with the text, from the in-memory index when enabled")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suggested users"),
+        @ApiResponse(responseCode = "400", description = "Empty or too long query")
+    })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<UserDTO>> suggestUsers(
+            @Parameter(description = "Text typed so far (1-100 characters)") @RequestParam String q,
+            @Parameter(description = "Maximum results (1-50)") @RequestParam(defaultValue = "10") int limit) {
+        List<UserDTO> users = userSearchService.suggest(q, limit);
+        return ResponseEntity.ok(users);
+    }
+    
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export users", description = "Streams every user as newline-delimited JSON in creation order; gzip-compressed when the client accepts it")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "One JSON user per line")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(description = "Only enabled or only disabled users") @RequestParam(required = false) Boolean enabled,
+            @Parameter(description = "Only users with this role") @RequestParam(required = false) Role role,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_GZIP_BUFFER_BYTES);
+                userExportService.exportUsers(enabled, role, compressed);
+                compressed.finish();
+            } else {
+                userExportService.exportUsers(enabled, role, out);
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("users.ndjson").build().toString())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    @GetMapping("/cursor")
+    @Operation(summary = "List users by cursor", description = "Retrieves users in creation order using an opaque continuation token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Page of users"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<UserDTO>> getUsersByCursor(
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Include the total user count") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        CursorPage<UserDTO> users = userService.getUsersAfter(cursor, pageSize, includeTotal);
         return ResponseEntity.ok(users);
     }
     
@@ -82,6 +215,47 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
     
+    @PatchMapping("/{id}")
+    @Operation(summary = "Patch user", description = "Updates only the given fields, optionally at an expected version")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "User updated"),
+        @ApiResponse(responseCode = "409", description = "User is no longer at the expected version")
+    })
+    @PreAuthorize("hasRole('ADMIN') or authentication.name == #id.toString()")
+    public ResponseEntity<UserDTO> patchUser(
+            @Parameter(description = "User ID") @PathVariable UUID id,
+            @Valid @RequestBody PatchUserCommand command) {
+        UserDTO user = userService.patchUser(id, command);
+        return ResponseEntity.ok(user);
+    }
+    
+    @PutMapping("/{id}/password")
+    @Operation(summary = "Change password", description = "Changes a user's password after verifying the current one")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Password changed"),
+        @ApiResponse(responseCode = "400", description = "Invalid input data or wrong current password"),
+        @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry later")
+    })
+    @PreAuthorize("hasRole('ADMIN') or authentication.name == #id.toString()")
+    public ResponseEntity<Void> changePassword(
+            @Parameter(description = "User ID") @PathVariable UUID id,
+            @Valid @RequestBody ChangePasswordCommand command) {
+        userService.changePassword(id, command);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/authenticate")
+    @Operation(summary = "Verify credentials", description = "Checks an email and password pair and returns the matching active user")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Credentials are valid"),
+        @ApiResponse(responseCode = "400", description = "Invalid email or password"),
+        @ApiResponse(responseCode = "503", description = "Password hashing capacity exhausted, retry later")
+    })
+    public ResponseEntity<UserDTO> authenticate(@Valid @RequestBody AuthenticateCommand command) {
+        UserDTO user = userService.authenticate(command);
+        return ResponseEntity.ok(user);
+    }
+    
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Deactivates a user account")
     @PreAuthorize("hasRole('ADMIN')")
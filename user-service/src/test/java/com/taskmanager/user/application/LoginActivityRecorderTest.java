@@ -0,0 +1,88 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.infrastructure.repository.UserBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginActivityRecorderTest {
+    
+    @Mock
+    private UserBatchRepository userBatchRepository;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private LoginActivityRecorder recorder;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new LoginActivityRecorder(userBatchRepository, meterRegistry, 2, 10, 5);
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldWriteLatestLoginPerUser_InOneBatch() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        LocalDateTime first = LocalDateTime.of(2025, 7, 1, 9, 0);
+        LocalDateTime second = first.plusMinutes(5);
+        recorder.record(userId, second);
+        recorder.record(userId, first);
+        
+        // When
+        recorder.flush();
+        
+        // Then
+        ArgumentCaptor<Map<UUID, LocalDateTime>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(userBatchRepository).updateLastLoginAt(batch.capture());
+        assertThat(batch.getValue()).containsExactly(entry(userId, second));
+        assertThat(meterRegistry.counter("users.login-activity.flushed").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("users.login-activity.buffered").gauge().value()).isZero();
+    }
+    
+    @Test
+    void flush_ShouldKeepTimestampsBuffered_WhenWriteFails() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        recorder.record(userId, LocalDateTime.now());
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(userBatchRepository).updateLastLoginAt(anyMap());
+        
+        // When
+        recorder.flush();
+        recorder.drain();
+        
+        // Then
+        verify(userBatchRepository, times(2)).updateLastLoginAt(anyMap());
+        assertThat(meterRegistry.counter("users.login-activity.flush.failures").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("users.login-activity.flushed").count()).isEqualTo(1);
+    }
+    
+    @Test
+    void record_ShouldDropNewUsers_WhenBufferIsFull() {
+        // Given
+        recorder.record(UUID.randomUUID(), LocalDateTime.now());
+        recorder.record(UUID.randomUUID(), LocalDateTime.now());
+        
+        // When
+        recorder.record(UUID.randomUUID(), LocalDateTime.now());
+        
+        // Then
+        assertThat(meterRegistry.counter("users.login-activity.dropped").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("users.login-activity.buffered").gauge().value()).isEqualTo(2);
+    }
+}
\ No newline at end of file
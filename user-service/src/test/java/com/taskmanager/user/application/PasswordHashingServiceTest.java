@@ -0,0 +1,108 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
+    private PasswordHashingService hashingService;
+    
+    @AfterEach
+    void tearDown() {
+        hashingService.shutdown();
+    }
+    
+    @Test
+    void encode_ShouldRejectImmediately_WhenQueueIsFull() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        hashingService = new PasswordHashingService(blockingEncoder(started, release), meterRegistry,
+            1, 1, Duration.ofSeconds(5));
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashingService.encode("first"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashingService.encode("second"));
+        waitForQueueDepth(1);
+        
+        // When & Then
+        assertThatThrownBy(() -> hashingService.encode("third"))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessageContaining("retry");
+        assertThat(meterRegistry.counter("password.hash.rejected").count()).isEqualTo(1);
+        
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:second");
+    }
+    
+    @Test
+    void needsRehash_ShouldDetectHashesWithLowerWorkFactor() {
+        // Given
+        hashingService = new PasswordHashingService(new BCryptPasswordEncoder(5), meterRegistry,
+            1, 4, Duration.ofSeconds(5));
+        String weakHash = new BCryptPasswordEncoder(4).encode("password123");
+        
+        // When & Then
+        assertThat(hashingService.needsRehash(weakHash)).isTrue();
+        assertThat(hashingService.needsRehash(hashingService.encode("password123"))).isFalse();
+        assertThat(hashingService.matches("password123", weakHash)).isTrue();
+    }
+    
+    @Test
+    void matchesDummy_ShouldCheckAHash_AndEncodeTheDummyOnlyOnce() {
+        // Given
+        hashingService = new PasswordHashingService(new BCryptPasswordEncoder(4), meterRegistry,
+            1, 4, Duration.ofSeconds(5));
+        
+        // When
+        hashingService.matchesDummy("password123");
+        hashingService.matchesDummy("letmein");
+        
+        // Then
+        assertThat(meterRegistry.get("password.hash.duration").tag("operation", "encode").timer().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count())
+            .isEqualTo(2);
+    }
+    
+    private void waitForQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < depth) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+    
+    private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash:" + rawPassword;
+            }
+            
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encodedPassword.equals("hash:" + rawPassword);
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.common.event.EventPublisher;
+import com.taskmanager.user.application.dto.BulkCreateUsersCommand;
+import com.taskmanager.user.application.dto.BulkCreateUsersResult;
+import com.taskmanager.user.application.dto.CreateUserCommand;
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.User;
+import com.taskmanager.user.infrastructure.repository.UserBatchRepository;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBulkImportServiceTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private UserBatchRepository userBatchRepository;
+    
+    @Mock
+    private PasswordHashingService passwordHashingService;
+    
+    @Mock
+    private EventPublisher eventPublisher;
+    
+    @Mock
+    private UserMapper userMapper;
+    
+    @Mock
+    private EmailRegistry emailRegistry;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private MissingUserCache missingUsers;
+    private UserBulkImportService bulkImportService;
+    
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new ConcurrentMapCacheManager();
+        missingUsers = new MissingUserCache(cacheManager, new SimpleMeterRegistry());
+        bulkImportService = new UserBulkImportService(userRepository, userBatchRepository, passwordHashingService,
+            eventPublisher, userMapper, emailRegistry, missingUsers, cacheManager,
+            Validation.buildDefaultValidatorFactory().getValidator(), transactionTemplate);
+    }
+    
+    @Test
+    void createUsers_ShouldReportFailuresPerRow_AndInsertTheRest() {
+        // Given
+        BulkCreateUsersCommand command = new BulkCreateUsersCommand(List.of(
+            new CreateUserCommand("new@example.com", "John", "Doe", "password123"),
+            new CreateUserCommand("taken@example.com", "Jane", "Doe", "password123"),
+            new CreateUserCommand("new@example.com", "John", "Again", "password123"),
+            new CreateUserCommand("not-an-email", "Bad", "Row", "password123")
+        ));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+        when(passwordHashingService.encodeAll(anyList())).thenAnswer(invocation ->
+            invocation.<List<String>>getArgument(0).stream()
+                .map(password -> CompletableFuture.completedFuture("encodedPassword"))
+                .toList());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(userBatchRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.toDTO(any(User.class))).thenReturn(new UserDTO());
+        
+        // When
+        BulkCreateUsersResult result = bulkImportService.createUsers(command);
+        
+        // Then
+        assertThat(result.getCreated()).hasSize(1);
+        assertThat(result.getFailures())
+            .extracting(BulkCreateUsersResult.RowFailure::getIndex, BulkCreateUsersResult.RowFailure::getErrorCode)
+            .containsExactly(
+                tuple(1, "USER_ALREADY_EXISTS"),
+                tuple(2, "DUPLICATE_EMAIL"),
+                tuple(3, "VALIDATION_ERROR"));
+        verify(passwordHashingService).encodeAll(List.of("password123"));
+        verify(eventPublisher).publishEvents(argThat(events -> events.size() == 1));
+        verify(emailRegistry).register("new@example.com");
+    }
+    
+    @Test
+    void createUsers_ShouldForgetNegativeEntries_ForInsertedUsers() {
+        // Given
+        missingUsers.rememberMissing("late@example.com");
+        BulkCreateUsersCommand command = new BulkCreateUsersCommand(List.of(
+            new CreateUserCommand("late@example.com", "Jane", "Doe", "password123")));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+        when(passwordHashingService.encodeAll(anyList()))
+            .thenReturn(List.of(CompletableFuture.completedFuture("encodedPassword")));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        List<UUID> insertedIds = new ArrayList<>();
+        when(userBatchRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            // A lookup of the new id that raced the insert
+            users.forEach(user -> {
+                missingUsers.rememberMissing(user.getId());
+                insertedIds.add(user.getId());
+            });
+            return users;
+        });
+        when(userMapper.toDTO(any(User.class))).thenReturn(new UserDTO());
+        
+        // When
+        bulkImportService.createUsers(command);
+        
+        // Then
+        assertThat(missingUsers.isMissing("late@example.com")).isFalse();
+        assertThat(insertedIds).hasSize(1);
+        assertThat(missingUsers.isMissing(insertedIds.get(0))).isFalse();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.infrastructure.cache.CacheNames;
+import com.taskmanager.user.infrastructure.datasource.PrimaryReads;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheWarmerTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    private SimpleMeterRegistry meterRegistry;
+    private CacheManager cacheManager;
+    private UserCacheWarmer warmer;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager();
+        warmer = new UserCacheWarmer(userRepository, cacheManager, meterRegistry, true, 100, 2, 10_000,
+            Duration.ofMinutes(1));
+    }
+    
+    @Test
+    void warmUp_ShouldFillProfileAndEmailCachesInBatches_AndBecomeWarm() {
+        // Given
+        List<UserDTO> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(user("user" + i + "@example.com"));
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        AtomicBoolean pinned = new AtomicBoolean();
+        when(userRepository.streamActiveDtos(100, 2)).thenAnswer(invocation -> {
+            pinned.set(PrimaryReads.isPinned());
+            return users.stream().onClose(() -> closed.set(true));
+        });
+        assertThat(warmer.isWarm()).isFalse();
+        
+        // When
+        warmer.warmUp();
+        
+        // Then
+        assertThat(warmer.isWarm()).isTrue();
+        assertThat(closed).isTrue();
+        assertThat(pinned).as("cursor opened on the primary").isTrue();
+        for (UserDTO user : users) {
+            assertThat(cacheManager.getCache(CacheNames.USERS).get(user.getId()).get()).isSameAs(user);
+            assertThat(cacheManager.getCache(CacheNames.USER_EMAILS).get(user.getEmail()).get())
+                .isEqualTo(user.getId().toString());
+        }
+        assertThat(meterRegistry.counter("users.cache-warmup.users").count()).isEqualTo(5);
+    }
+    
+    @Test
+    void warmUp_ShouldKeepEntriesAlreadyCached() {
+        // Given
+        UserDTO snapshot = user("renamed@example.com");
+        UserDTO newer = user("renamed@example.com");
+        newer.setId(snapshot.getId());
+        cacheManager.getCache(CacheNames.USERS).put(newer.getId(), newer);
+        UserDTO uncached = user("cold@example.com");
+        when(userRepository.streamActiveDtos(100, 2)).thenReturn(Stream.of(snapshot, uncached));
+        
+        // When
+        warmer.warmUp();
+        
+        // Then
+        assertThat(cacheManager.getCache(CacheNames.USERS).get(newer.getId()).get()).isSameAs(newer);
+        assertThat(cacheManager.getCache(CacheNames.USERS).get(uncached.getId()).get()).isSameAs(uncached);
+    }
+    
+    @Test
+    void warmUp_ShouldStillBecomeWarm_WhenStreamingFails() {
+        // Given
+        UserDTO first = user("first@example.com");
+        UserDTO second = user("second@example.com");
+        // The third row fails, as a replica cancelling the query would
+        Stream<UserDTO> failing = Stream.of(first, second, null).map(user -> {
+            if (user == null) {
+                throw new QueryTimeoutException("canceling statement due to conflict with recovery");
+            }
+            return user;
+        });
+        when(userRepository.streamActiveDtos(100, 2)).thenReturn(failing);
+        
+        // When
+        warmer.warmUp();
+        
+        // Then
+        assertThat(warmer.isWarm()).isTrue();
+        assertThat(cacheManager.getCache(CacheNames.USERS).get(first.getId())).isNotNull();
+        assertThat(meterRegistry.counter("users.cache-warmup.users").count()).isEqualTo(2);
+    }
+    
+    @Test
+    void warmUp_ShouldOnlyMarkWarm_WhenDisabled() {
+        // Given
+        warmer = new UserCacheWarmer(userRepository, cacheManager, meterRegistry, false, 100, 2, 10_000,
+            Duration.ofMinutes(1));
+        
+        // When
+        warmer.warmUp();
+        
+        // Then
+        assertThat(warmer.isWarm()).isTrue();
+        verifyNoInteractions(userRepository);
+    }
+    
+    private UserDTO user(String email) {
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        return user;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.taskmanager.user.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.domain.Role;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    
+    private UserExportService exportService;
+    
+    @BeforeEach
+    void setUp() {
+        exportService = new UserExportService(userRepository, objectMapper, 250);
+    }
+    
+    @Test
+    void exportUsers_ShouldWriteOneJsonObjectPerLine_AndCloseTheCursor() throws Exception {
+        // Given
+        List<UserDTO> users = List.of(user("jane@example.com"), user("john@example.com"), user("ann@example.com"));
+        AtomicBoolean closed = new AtomicBoolean();
+        when(userRepository.streamDtos(true, Role.ADMIN, 250)).thenReturn(users.stream().onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        long exported = exportService.exportUsers(true, Role.ADMIN, out);
+        
+        // Then
+        String ndjson = out.toString(StandardCharsets.UTF_8);
+        assertThat(exported).isEqualTo(3);
+        assertThat(closed).isTrue();
+        assertThat(ndjson).endsWith("\n");
+        List<String> lines = ndjson.lines().toList();
+        assertThat(lines).hasSize(3);
+        for (int i = 0; i < lines.size(); i++) {
+            UserDTO parsed = objectMapper.readValue(lines.get(i), UserDTO.class);
+            assertThat(parsed.getId()).isEqualTo(users.get(i).getId());
+            assertThat(parsed.getEmail()).isEqualTo(users.get(i).getEmail());
+        }
+    }
+    
+    @Test
+    void exportUsers_ShouldWriteNothing_WhenNoUserMatches() throws Exception {
+        // Given
+        when(userRepository.streamDtos(null, null, 250)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // When
+        long exported = exportService.exportUsers(null, null, out);
+        
+        // Then
+        assertThat(exported).isZero();
+        assertThat(out.size()).isZero();
+    }
+    
+    private UserDTO user(String email) {
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setEnabled(true);
+        user.setRoles(Set.of(Role.ADMIN));
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+}
\ No newline at end of file
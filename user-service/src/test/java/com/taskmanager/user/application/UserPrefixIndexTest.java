@@ -0,0 +1,87 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrefixIndexTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private UserPrefixIndex index;
+    
+    @BeforeEach
+    void setUp() {
+        index = new UserPrefixIndex(userRepository, transactionManager, new SimpleMeterRegistry(), true, 100, 50,
+            Duration.ofMinutes(5));
+    }
+    
+    @Test
+    void suggest_ShouldBeUnavailable_BeforeFirstRebuild() {
+        // When / Then
+        assertThat(index.suggest("jo", 10)).isEmpty();
+    }
+    
+    @Test
+    void suggest_ShouldMatchEmailAndNamePrefixesOnce_InTermOrder() {
+        // Given
+        UserDTO john = user("jsmith@example.com", "John", "Smith");
+        UserDTO joan = user("joan@example.com", "Joan", "Jones");
+        UserDTO anna = user("anna@example.com", "Anna", "Johnson");
+        when(userRepository.streamActiveDtos(100, 50)).thenReturn(Stream.of(john, joan, anna));
+        
+        // When
+        index.rebuild();
+        
+        // Then
+        // "joan" < "john" < "johnson"; joan matches four of her terms but is listed once
+        assertThat(index.suggest("jo", 10)).hasValueSatisfying(users ->
+            assertThat(users).containsExactly(joan, john, anna));
+        assertThat(index.suggest("john s", 10)).hasValue(List.of(john));
+        assertThat(index.suggest("jo", 2)).hasValueSatisfying(users -> assertThat(users).hasSize(2));
+        assertThat(index.suggest("zz", 10)).hasValue(List.of());
+    }
+    
+    @Test
+    void rebuild_ShouldReplaceThePreviousIndex() {
+        // Given
+        UserDTO before = user("before@example.com", "Bea", "Fore");
+        UserDTO after = user("after@example.com", "Bea", "After");
+        when(userRepository.streamActiveDtos(100, 50)).thenReturn(Stream.of(before), Stream.of(after));
+        index.rebuild();
+        
+        // When
+        index.rebuild();
+        
+        // Then
+        assertThat(index.suggest("bea", 10)).hasValue(List.of(after));
+    }
+    
+    private UserDTO user(String email, String firstName, String lastName) {
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.taskmanager.user.application;
+
+import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.application.exception.InvalidSearchQueryException;
+import com.taskmanager.user.infrastructure.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSearchServiceTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private UserPrefixIndex userPrefixIndex;
+    
+    private UserSearchService searchService;
+    
+    @BeforeEach
+    void setUp() {
+        searchService = new UserSearchService(userRepository, userPrefixIndex, 50);
+    }
+    
+    @Test
+    void search_ShouldNormalizeQueryAndClampLimit() {
+        // Given
+        List<UserDTO> users = List.of(new UserDTO());
+        when(userRepository.searchDtos("john", 50)).thenReturn(users);
+        
+        // When
+        List<UserDTO> result = searchService.search("  John ", 1000);
+        
+        // Then
+        assertThat(result).isSameAs(users);
+    }
+    
+    @Test
+    void search_ShouldReject_WhenQueryIsBlankOrTooLong() {
+        // When / Then
+        assertThatThrownBy(() -> searchService.search("   ", 10))
+            .isInstanceOf(InvalidSearchQueryException.class);
+        assertThatThrownBy(() -> searchService.search("a".repeat(UserSearchService.MAX_QUERY_LENGTH + 1), 10))
+            .isInstanceOf(InvalidSearchQueryException.class);
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void suggest_ShouldAnswerFromIndex_WhenItFillsTheLimit() {
+        // Given
+        List<UserDTO> users = List.of(user(), user());
+        when(userPrefixIndex.suggest("jo", 2)).thenReturn(Optional.of(users));
+        
+        // When
+        List<UserDTO> result = searchService.suggest("Jo", 2);
+        
+        // Then
+        assertThat(result).isSameAs(users);
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void suggest_ShouldTopUpFromDatabase_WhenIndexHasTooFewHits() {
+        // Given
+        UserDTO recent = user();
+        UserDTO inactive = user();
+        when(userPrefixIndex.suggest("jo", 3)).thenReturn(Optional.of(List.of(recent)));
+        when(userRepository.searchDtos("jo", 3)).thenReturn(List.of(recent, inactive));
+        
+        // When
+        List<UserDTO> result = searchService.suggest("jo", 3);
+        
+        // Then
+        assertThat(result).containsExactly(recent, inactive);
+    }
+    
+    @Test
+    void suggest_ShouldFallBackToDatabase_WhenIndexIsUnavailable() {
+        // Given
+        UserDTO user = user();
+        when(userPrefixIndex.suggest("jo", 1)).thenReturn(Optional.empty());
+        when(userRepository.searchDtos("jo", 1)).thenReturn(List.of(user));
+        
+        // When
+        List<UserDTO> result = searchService.suggest("jo", 0);
+        
+        // Then
+        assertThat(result).containsExactly(user);
+    }
+    
+    private UserDTO user() {
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+}
\ No newline at end of file
@@ -1,27 +1,47 @@
 package com.taskmanager.user.application;
 
 import com.taskmanager.common.event.EventPublisher;
+import com.taskmanager.user.application.dto.AuthenticateCommand;
 import com.taskmanager.user.application.dto.CreateUserCommand;
+import com.taskmanager.user.application.dto.CursorPage;
+import com.taskmanager.user.application.dto.PatchUserCommand;
 import com.taskmanager.user.application.dto.UserDTO;
+import com.taskmanager.user.application.exception.InvalidCredentialsException;
 import com.taskmanager.user.application.exception.UserAlreadyExistsException;
+import com.taskmanager.user.application.exception.UserBatchTooLargeException;
 import com.taskmanager.user.application.exception.UserNotFoundException;
+import com.taskmanager.user.application.exception.UserVersionConflictException;
 import com.taskmanager.user.domain.Role;
 import com.taskmanager.user.domain.User;
+import com.taskmanager.user.domain.event.UserCreatedEvent;
+import com.taskmanager.user.domain.event.UserUpdatedEvent;
+import com.taskmanager.user.infrastructure.datasource.PrimaryReads;
 import com.taskmanager.user.infrastructure.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,7 +51,7 @@ class UserServiceTest {
     private UserRepository userRepository;
     
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
     
     @Mock
     private EventPublisher eventPublisher;
@@ -39,11 +59,30 @@ class UserServiceTest {
     @Mock
     private UserMapper userMapper;
     
+    @Mock
+    private EmailRegistry emailRegistry;
+    
+    @Mock
+    private LoginActivityRecorder loginActivityRecorder;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private CacheManager cacheManager;
+    
     private UserService userService;
     
     @BeforeEach
     void setUp() {
-        userService = new UserService(userRepository, passwordEncoder, eventPublisher, userMapper);
+        cacheManager = new ConcurrentMapCacheManager();
+        userService = new UserService(userRepository, passwordHashingService, eventPublisher, userMapper,
+            emailRegistry, loginActivityRecorder, new MissingUserCache(cacheManager, new SimpleMeterRegistry()),
+            cacheManager, transactionTemplate, 3, 200);
+    }
+    
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
     
     @Test
@@ -53,8 +92,10 @@ class UserServiceTest {
             "test@example.com", "John", "Doe", "password123"
         );
         
+        when(emailRegistry.mightExist(command.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(command.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(command.getPassword())).thenReturn("encodedPassword");
+        when(passwordHashingService.encode(command.getPassword())).thenReturn("encodedPassword");
+        runTransactionsInline();
         
         User savedUser = new User(
             command.getEmail(),
@@ -63,11 +104,12 @@ class UserServiceTest {
             "encodedPassword",
             Set.of(Role.USER)
         );
+        savedUser.setId(UUID.randomUUID());
         
         UserDTO expectedDTO = new UserDTO();
         expectedDTO.setEmail(command.getEmail());
         
-        when(userRepository.save(any(User.class))).thenReturn(savedUser);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
         when(userMapper.toDTO(savedUser)).thenReturn(expectedDTO);
         
         // When
@@ -78,9 +120,55 @@ class UserServiceTest {
         assertThat(result.getEmail()).isEqualTo(command.getEmail());
         
         verify(userRepository).existsByEmail(command.getEmail());
-        verify(passwordEncoder).encode(command.getPassword());
-        verify(userRepository).save(any(User.class));
+        verify(passwordHashingService).encode(command.getPassword());
+        verify(userRepository).saveAndFlush(any(User.class));
         verify(eventPublisher).publishEvent(any());
+        verify(emailRegistry).register(command.getEmail());
+    }
+    
+    @Test
+    void createUser_ShouldPublishCreatedEventWithAssignedId() {
+        // Given
+        CreateUserCommand command = new CreateUserCommand(
+            "new@example.com", "John", "Doe", "password123"
+        );
+        User savedUser = new User(command.getEmail(), "John", "Doe", "encodedPassword", Set.of(Role.USER));
+        savedUser.setId(UUID.randomUUID());
+        
+        when(emailRegistry.mightExist(command.getEmail())).thenReturn(false);
+        when(passwordHashingService.encode(command.getPassword())).thenReturn("encodedPassword");
+        runTransactionsInline();
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
+        
+        // When
+        userService.createUser(command);
+        
+        // Then
+        ArgumentCaptor<UserCreatedEvent> event = ArgumentCaptor.forClass(UserCreatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getAggregateId()).isNotNull().isEqualTo(savedUser.getId());
+        assertThat(savedUser.getDomainEvents()).isEmpty();
+    }
+    
+    @Test
+    void createUser_ShouldSkipExistenceQuery_WhenEmailFilterReportsFree() {
+        // Given
+        CreateUserCommand command = new CreateUserCommand(
+            "new@example.com", "John", "Doe", "password123"
+        );
+        User savedUser = new User(command.getEmail(), "John", "Doe", "encodedPassword", Set.of(Role.USER));
+        savedUser.setId(UUID.randomUUID());
+        
+        when(emailRegistry.mightExist(command.getEmail())).thenReturn(false);
+        when(passwordHashingService.encode(command.getPassword())).thenReturn("encodedPassword");
+        runTransactionsInline();
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
+        
+        // When
+        userService.createUser(command);
+        
+        // Then
+        verify(userRepository, never()).existsByEmail(anyString());
     }
     
     @Test
@@ -90,6 +178,7 @@ class UserServiceTest {
             "existing@example.com", "John", "Doe", "password123"
         );
         
+        when(emailRegistry.mightExist(command.getEmail())).thenReturn(true);
         when(userRepository.existsByEmail(command.getEmail())).thenReturn(true);
         
         // When & Then
@@ -98,19 +187,17 @@ class UserServiceTest {
             .hasMessageContaining("existing@example.com");
         
         verify(userRepository).existsByEmail(command.getEmail());
-        verifyNoMoreInteractions(userRepository, passwordEncoder, eventPublisher);
+        verifyNoMoreInteractions(userRepository, passwordHashingService, eventPublisher);
     }
     
     @Test
     void getUserById_ShouldReturnUser_WhenUserExists() {
         // Given
         UUID userId = UUID.randomUUID();
-        User user = new User("test@example.com", "John", "Doe", "password", Set.of(Role.USER));
         UserDTO expectedDTO = new UserDTO();
         expectedDTO.setId(userId);
         
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-        when(userMapper.toDTO(user)).thenReturn(expectedDTO);
+        when(userRepository.findDtoById(userId)).thenReturn(Optional.of(expectedDTO));
         
         // When
         UserDTO result = userService.getUserById(userId);
@@ -119,22 +206,306 @@ class UserServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getId()).isEqualTo(userId);
         
-        verify(userRepository).findById(userId);
-        verify(userMapper).toDTO(user);
+        verify(userRepository).findDtoById(userId);
+        verify(userRepository, never()).findById(any());
+        verifyNoInteractions(userMapper);
     }
     
     @Test
     void getUserById_ShouldThrowException_WhenUserNotFound() {
         // Given
         UUID userId = UUID.randomUUID();
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.findDtoById(userId)).thenReturn(Optional.empty());
         
         // When & Then
         assertThatThrownBy(() -> userService.getUserById(userId))
             .isInstanceOf(UserNotFoundException.class)
             .hasMessageContaining(userId.toString());
         
-        verify(userRepository).findById(userId);
+        verify(userRepository).findDtoById(userId);
         verifyNoInteractions(userMapper);
     }
+    
+    @Test
+    void cacheFillingLookups_ShouldReadFromPrimary() {
+        // Given
+        UserDTO user = userWithId(UUID.randomUUID());
+        user.setEmail("test@example.com");
+        List<Boolean> pinned = new ArrayList<>();
+        when(userRepository.findDtoById(user.getId())).thenAnswer(invocation -> {
+            pinned.add(PrimaryReads.isPinned());
+            return Optional.of(user);
+        });
+        when(userRepository.findDtoByEmail(user.getEmail())).thenAnswer(invocation -> {
+            pinned.add(PrimaryReads.isPinned());
+            return Optional.of(user);
+        });
+        when(userRepository.findDtoByIds(List.of(user.getId()))).thenAnswer(invocation -> {
+            pinned.add(PrimaryReads.isPinned());
+            return List.of(user);
+        });
+        
+        // When
+        userService.getUserById(user.getId());
+        userService.getUserByEmail(user.getEmail());
+        cacheManager.getCache("users").clear();
+        userService.getUsersByIds(List.of(user.getId()));
+        
+        // Then
+        assertThat(pinned).containsExactly(true, true, true);
+        assertThat(PrimaryReads.isPinned()).isFalse();
+    }
+    
+    @Test
+    void getUserById_ShouldNotQueryAgain_WhenIdWasRecentlyNotFound() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findDtoById(userId)).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> userService.getUserById(userId)).isInstanceOf(UserNotFoundException.class);
+        
+        // When & Then
+        assertThatThrownBy(() -> userService.getUserById(userId))
+            .isInstanceOf(UserNotFoundException.class)
+            .hasMessageContaining(userId.toString());
+        verify(userRepository, times(1)).findDtoById(userId);
+    }
+    
+    @Test
+    void getUserById_ShouldRememberMissing_OnlyFromPrimaryLookup() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        List<Boolean> pinned = new ArrayList<>();
+        when(userRepository.findDtoById(userId)).thenAnswer(invocation -> {
+            pinned.add(PrimaryReads.isPinned());
+            return Optional.empty();
+        });
+        
+        // When
+        assertThatThrownBy(() -> userService.getUserById(userId)).isInstanceOf(UserNotFoundException.class);
+        
+        // Then
+        assertThat(pinned).containsExactly(true);
+        assertThat(cacheManager.getCache("missing-users").get("id:" + userId)).isNotNull();
+    }
+    
+    @Test
+    void getUserByEmail_ShouldNotQueryAgain_WhenEmailWasRecentlyNotFound() {
+        // Given
+        when(userRepository.findDtoByEmail("ghost@example.com")).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> userService.getUserByEmail("ghost@example.com"))
+            .isInstanceOf(UserNotFoundException.class);
+        
+        // When & Then
+        assertThatThrownBy(() -> userService.getUserByEmail("ghost@example.com"))
+            .isInstanceOf(UserNotFoundException.class);
+        verify(userRepository, times(1)).findDtoByEmail("ghost@example.com");
+    }
+    
+    @Test
+    void createUser_ShouldForgetNegativeEntry_WhenEmailIsRegistered() {
+        // Given
+        CreateUserCommand command = new CreateUserCommand("late@example.com", "Jane", "Doe", "password123");
+        when(userRepository.findDtoByEmail(command.getEmail())).thenReturn(Optional.empty());
+        assertThatThrownBy(() -> userService.getUserByEmail(command.getEmail()))
+            .isInstanceOf(UserNotFoundException.class);
+        
+        when(emailRegistry.mightExist(command.getEmail())).thenReturn(false);
+        when(passwordHashingService.encode(command.getPassword())).thenReturn("encodedPassword");
+        runTransactionsInline();
+        User savedUser = new User(command.getEmail(), command.getFirstName(), command.getLastName(),
+            "encodedPassword", Set.of(Role.USER));
+        savedUser.setId(UUID.randomUUID());
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(savedUser);
+        
+        // When
+        userService.createUser(command);
+        
+        // Then
+        assertThat(cacheManager.getCache("missing-users").get("email:" + command.getEmail())).isNull();
+    }
+    
+    @Test
+    void getUsersByIds_ShouldQueryOnlyCacheMisses_AndBackfillCache() {
+        // Given
+        UserDTO cachedUser = userWithId(UUID.randomUUID());
+        UserDTO storedUser = userWithId(UUID.randomUUID());
+        UUID unknownId = UUID.randomUUID();
+        cacheManager.getCache("users").put(cachedUser.getId(), cachedUser);
+        when(userRepository.findDtoByIds(List.of(storedUser.getId(), unknownId))).thenReturn(List.of(storedUser));
+        
+        // When
+        List<UserDTO> users = userService.getUsersByIds(
+            List.of(storedUser.getId(), cachedUser.getId(), unknownId, storedUser.getId()));
+        
+        // Then
+        assertThat(users).containsExactly(storedUser, cachedUser);
+        assertThat(cacheManager.getCache("users").get(storedUser.getId()).get()).isSameAs(storedUser);
+        verify(userRepository).findDtoByIds(List.of(storedUser.getId(), unknownId));
+        verifyNoMoreInteractions(userRepository);
+    }
+    
+    @Test
+    void getUsersByIds_ShouldRejectBatch_WhenTooManyDistinctIds() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 201; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        
+        // When & Then
+        assertThatThrownBy(() -> userService.getUsersByIds(ids))
+            .isInstanceOf(UserBatchTooLargeException.class);
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void getUserByEmail_ShouldUseCachedProfile_WhenEmailIndexHit() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UserDTO cachedDTO = new UserDTO();
+        cachedDTO.setId(userId);
+        cacheManager.getCache("user-emails").put("cached@example.com", userId.toString());
+        cacheManager.getCache("users").put(userId, cachedDTO);
+        
+        // When
+        UserDTO result = userService.getUserByEmail("cached@example.com");
+        
+        // Then
+        assertThat(result).isSameAs(cachedDTO);
+        verifyNoInteractions(userRepository, userMapper);
+    }
+    
+    @Test
+    void getUsersAfter_ShouldReturnContinuationToken_WhenMoreRowsExist() {
+        // Given
+        UserDTO first = userCreatedAt(LocalDateTime.of(2025, 1, 1, 10, 0));
+        UserDTO second = userCreatedAt(LocalDateTime.of(2025, 1, 1, 11, 0));
+        UserDTO third = userCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        when(userRepository.findDtoKeysetPage(null, null, 3)).thenReturn(List.of(first, second, third));
+        
+        // When
+        CursorPage<UserDTO> page = userService.getUsersAfter(null, 2, false);
+        
+        // Then
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getTotalElements()).isNull();
+        UserCursor cursor = UserCursor.decode(page.getNextCursor());
+        assertThat(cursor.getCreatedAt()).isEqualTo(second.getCreatedAt());
+        assertThat(cursor.getId()).isEqualTo(second.getId());
+        verify(userRepository, never()).count();
+    }
+    
+    private UserDTO userWithId(UUID id) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        return user;
+    }
+    
+    private UserDTO userCreatedAt(LocalDateTime createdAt) {
+        UserDTO user = new UserDTO();
+        user.setId(UUID.randomUUID());
+        user.setCreatedAt(createdAt);
+        return user;
+    }
+    
+    @Test
+    void authenticate_ShouldUpgradeHash_WhenWorkFactorIsOutdated() {
+        // Given
+        User user = new User("test@example.com", "John", "Doe", "weakHash", Set.of(Role.USER));
+        user.setId(UUID.randomUUID());
+        when(userRepository.findActiveUserByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches("password123", "weakHash")).thenReturn(true);
+        when(passwordHashingService.needsRehash("weakHash")).thenReturn(true);
+        when(passwordHashingService.encode("password123")).thenReturn("strongHash");
+        when(userRepository.updatePasswordHash(user.getId(), "weakHash", "strongHash")).thenReturn(1);
+        when(userMapper.toDTO(user)).thenReturn(new UserDTO());
+        
+        // When
+        UserDTO result = userService.authenticate(new AuthenticateCommand("test@example.com", "password123"));
+        
+        // Then
+        verify(userRepository).updatePasswordHash(user.getId(), "weakHash", "strongHash");
+        verify(loginActivityRecorder).record(user.getId(), result.getLastLoginAt());
+        verify(userRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    @Test
+    void authenticate_ShouldStillCheckAHash_WhenEmailIsUnknown() {
+        // Given
+        when(userRepository.findActiveUserByEmail("nobody@example.com")).thenReturn(Optional.empty());
+        
+        // When & Then
+        assertThatThrownBy(() -> userService.authenticate(new AuthenticateCommand("nobody@example.com", "password123")))
+            .isInstanceOf(InvalidCredentialsException.class);
+        
+        verify(passwordHashingService).matchesDummy("password123");
+        verifyNoInteractions(loginActivityRecorder);
+    }
+    
+    @Test
+    void patchUser_ShouldUpdateInOneStatement_WhenCachedVersionIsCurrent() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UserDTO cached = patchedUser(userId, 4L);
+        cacheManager.getCache("users").put(userId, cached);
+        UserDTO updated = patchedUser(userId, 5L);
+        when(userRepository.patchProfile(userId, 4L, "Jane", null)).thenReturn(Optional.of(updated));
+        runTransactionsInline();
+        
+        // When
+        UserDTO result = userService.patchUser(userId, new PatchUserCommand("Jane", null, null));
+        
+        // Then
+        assertThat(result).isSameAs(updated);
+        assertThat(cacheManager.getCache("users").get(userId, UserDTO.class)).isSameAs(updated);
+        verify(eventPublisher).publishEvent(any(UserUpdatedEvent.class));
+        verify(userRepository, never()).findVersionById(any());
+        verify(userRepository, never()).findById(any());
+    }
+    
+    @Test
+    void patchUser_ShouldRetryAtCurrentVersion_WhenConcurrentWriterWon() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UserDTO updated = patchedUser(userId, 8L);
+        when(userRepository.findVersionById(userId)).thenReturn(Optional.of(6L), Optional.of(7L));
+        when(userRepository.patchProfile(userId, 6L, null, "Smith")).thenReturn(Optional.empty());
+        when(userRepository.patchProfile(userId, 7L, null, "Smith")).thenReturn(Optional.of(updated));
+        runTransactionsInline();
+        
+        // When
+        UserDTO result = userService.patchUser(userId, new PatchUserCommand(null, "Smith", null));
+        
+        // Then
+        assertThat(result).isSameAs(updated);
+        verify(userRepository, times(2)).patchProfile(eq(userId), anyLong(), isNull(), eq("Smith"));
+        verify(eventPublisher, times(1)).publishEvent(any(UserUpdatedEvent.class));
+    }
+    
+    @Test
+    void patchUser_ShouldThrowConflict_WhenExpectedVersionIsStale() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        when(userRepository.patchProfile(userId, 2L, "Jane", null)).thenReturn(Optional.empty());
+        when(userRepository.findVersionById(userId)).thenReturn(Optional.of(3L));
+        runTransactionsInline();
+        
+        // When & Then
+        assertThatThrownBy(() -> userService.patchUser(userId, new PatchUserCommand("Jane", null, 2L)))
+            .isInstanceOf(UserVersionConflictException.class);
+        
+        verify(userRepository, times(1)).patchProfile(any(), anyLong(), any(), any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    private UserDTO patchedUser(UUID id, long version) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setEmail("test@example.com");
+        user.setFullName("Jane Doe");
+        user.setVersion(version);
+        return user;
+    }
 }
\ No newline at end of file
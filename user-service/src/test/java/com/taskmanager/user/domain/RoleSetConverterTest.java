@@ -0,0 +1,37 @@
+package com.taskmanager.user.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RoleSetConverterTest {
+    
+    private final RoleSetConverter converter = new RoleSetConverter();
+    
+    @Test
+    void convert_ShouldRoundTripEveryRoleCombination() {
+        for (int mask = 0; mask < 1 << Role.values().length; mask++) {
+            // Given
+            Set<Role> roles = converter.convertToEntityAttribute(mask);
+            
+            // When
+            Integer stored = converter.convertToDatabaseColumn(roles);
+            
+            // Then
+            assertThat(stored).isEqualTo(mask);
+            assertThat(roles).isInstanceOf(EnumSet.class);
+        }
+    }
+    
+    @Test
+    void convert_ShouldUseFixedBitsMatchingTheBackfillMigration() {
+        // The backfill in amber_lattice hard-codes these values
+        assertThat(converter.convertToDatabaseColumn(Set.of(Role.USER))).isEqualTo(1);
+        assertThat(converter.convertToDatabaseColumn(Set.of(Role.ADMIN))).isEqualTo(2);
+        assertThat(converter.convertToDatabaseColumn(Set.of(Role.MANAGER))).isEqualTo(4);
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+    }
+}
\ No newline at end of file
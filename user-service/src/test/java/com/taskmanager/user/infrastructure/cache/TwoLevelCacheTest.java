@@ -0,0 +1,263 @@
+package com.taskmanager.user.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+    
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+    
+    private Cache remoteCache;
+    
+    private TwoLevelCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        remoteCache = spy(new ConcurrentMapCache("users"));
+        cache = new TwoLevelCache("users", Caffeine.newBuilder().maximumSize(100).build(),
+            remoteCache, invalidationPublisher);
+    }
+    
+    @Test
+    void get_ShouldServeFromLocalTier_AfterFirstRemoteHit() {
+        // Given
+        UUID key = UUID.randomUUID();
+        remoteCache.put(key, "profile");
+        
+        // When
+        Cache.ValueWrapper first = cache.get(key);
+        Cache.ValueWrapper second = cache.get(key);
+        
+        // Then
+        assertThat(first.get()).isEqualTo("profile");
+        assertThat(second.get()).isEqualTo("profile");
+        verify(remoteCache, times(1)).get(key);
+    }
+    
+    @Test
+    void get_ShouldCountHitsPerTier_AndLoadingMissOnce() {
+        // Given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache = new TwoLevelCache("users", Caffeine.newBuilder().maximumSize(100).build(), remoteCache,
+            invalidationPublisher, null, null, 0, 100, meterRegistry);
+        UUID remote = UUID.randomUUID();
+        remoteCache.put(remote, "profile");
+        
+        // When
+        cache.get(remote);
+        cache.get(remote);
+        cache.get(UUID.randomUUID(), () -> "loaded");
+        
+        // Then
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.remote.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.remote.latency").tag("operation", "get").timer().count()).isEqualTo(2);
+    }
+    
+    @Test
+    void evict_ShouldClearBothTiersAndBroadcast() {
+        // Given
+        UUID key = UUID.randomUUID();
+        cache.put(key, "profile");
+        
+        // When
+        cache.evict(key);
+        
+        // Then
+        assertThat(cache.get(key)).isNull();
+        assertThat(remoteCache.get(key)).isNull();
+        verify(invalidationPublisher, times(2)).publishEvict("users", key.toString());
+    }
+    
+    @Test
+    void evictLocal_ShouldFallBackToRemoteTier() {
+        // Given
+        UUID key = UUID.randomUUID();
+        cache.put(key, "stale");
+        remoteCache.put(key, "fresh");
+        
+        // When
+        cache.evictLocal(key.toString());
+        
+        // Then
+        assertThat(cache.get(key).get()).isEqualTo("fresh");
+    }
+    
+    @Test
+    void getAll_ShouldReadRemoteTierOnlyForLocalMisses() {
+        // Given
+        UUID local = UUID.randomUUID();
+        UUID remote = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        cache.put(local, "local-profile");
+        remoteCache.put(remote, "remote-profile");
+        
+        // When
+        Map<Object, Object> found = cache.getAll(List.of(local, remote, unknown));
+        
+        // Then
+        assertThat(found).containsOnly(entry(local, "local-profile"), entry(remote, "remote-profile"));
+        verify(remoteCache, never()).get(local);
+        assertThat(cache.get(remote).get()).isEqualTo("remote-profile");
+        verify(remoteCache, times(1)).get(remote);
+    }
+    
+    @Test
+    void putAll_ShouldFillBothTiers_WithoutBroadcastingEvictions() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        
+        // When
+        cache.putAll(Map.of(first, "first", second, "second"));
+        
+        // Then
+        assertThat(remoteCache.get(first).get()).isEqualTo("first");
+        assertThat(cache.get(second).get()).isEqualTo("second");
+        verifyNoInteractions(invalidationPublisher);
+    }
+    
+    @Test
+    void putAllAbsent_ShouldKeepRemoteEntry_AndCopyItIntoLocalTier() {
+        // Given
+        UUID cached = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        remoteCache.put(cached, "newer");
+        
+        // When
+        cache.putAllAbsent(Map.of(cached, "snapshot", missing, "loaded"));
+        
+        // Then
+        assertThat(remoteCache.get(cached).get()).isEqualTo("newer");
+        assertThat(remoteCache.get(missing).get()).isEqualTo("loaded");
+        clearInvocations(remoteCache);
+        assertThat(cache.get(cached).get()).isEqualTo("newer");
+        assertThat(cache.get(missing).get()).isEqualTo("loaded");
+        verify(remoteCache, never()).get(any());
+        verifyNoInteractions(invalidationPublisher);
+    }
+    
+    @Test
+    void get_ShouldLoadOnce_WhenConcurrentCallersMiss() throws Exception {
+        // Given
+        UUID key = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            loads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "profile";
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> cache.get(key, loader)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            
+            // Then
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("profile");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(loads.get()).isEqualTo(1);
+    }
+    
+    @Test
+    void get_ShouldFailEveryWaitingCaller_WhenSharedLoadFails() throws Exception {
+        // Given
+        UUID key = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<String> loader = () -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("database down");
+        };
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        
+        // When
+        try {
+            Future<String> first = callers.submit(() -> cache.get(key, loader));
+            Future<String> second = callers.submit(() -> cache.get(key, loader));
+            Thread.sleep(100);
+            release.countDown();
+            
+            // Then
+            for (Future<String> result : List.of(first, second)) {
+                assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(Cache.ValueRetrievalException.class)
+                    .hasRootCauseMessage("database down");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(cache.get(key)).isNull();
+    }
+    
+    @Test
+    void get_ShouldReloadBeforeExpiry_WhenEarlyRefreshFires() {
+        // Given
+        // A huge beta makes every hit on a known entry count as close to expiry
+        cache = new TwoLevelCache("users", Caffeine.newBuilder().maximumSize(100).build(), remoteCache,
+            invalidationPublisher, null, Duration.ofMinutes(10), 1e12, 100, new SimpleMeterRegistry());
+        UUID key = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> loader = () -> "profile-" + loads.incrementAndGet();
+        cache.get(key, loader);
+        
+        // When
+        String served = cache.get(key, loader);
+        
+        // Then
+        assertThat(served).isEqualTo("profile-1");
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(remoteCache.get(key).get()).isEqualTo("profile-2");
+    }
+    
+    @Test
+    void get_ShouldNotRefreshEarly_WhenDisabled() {
+        // Given
+        UUID key = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        Callable<String> loader = () -> "profile-" + loads.incrementAndGet();
+        cache.get(key, loader);
+        
+        // When
+        String served = cache.get(key, loader);
+        
+        // Then
+        assertThat(served).isEqualTo("profile-1");
+        assertThat(loads.get()).isEqualTo(1);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,212 @@
+package com.taskmanager.user.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * A second, standalone Postgres container stands in for the replica: it is not in
+ * recovery, so its measured lag is zero. Each database names itself in a one-row
+ * table, which shows where a statement was routed. Writes to the primary never reach
+ * it, as if it lagged behind within the allowed limit.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReplicaRoutingDataSourceTest {
+    
+    @Container
+    private static final PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    @Container
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:15-alpine");
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    @BeforeAll
+    static void createNodeTables() {
+        nameNode(primary, "primary");
+        nameNode(replica, "replica");
+    }
+    
+    private static void nameNode(PostgreSQLContainer<?> container, String name) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(driverDataSource(container.getJdbcUrl()));
+        jdbcTemplate.execute("CREATE TABLE node (name text NOT NULL)");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        jdbcTemplate.execute("CREATE TABLE profile (version int NOT NULL)");
+        jdbcTemplate.update("INSERT INTO profile (version) VALUES (1)");
+    }
+    
+    private static DataSource driverDataSource(String url) {
+        return new DriverManagerDataSource(url, primary.getUsername(), primary.getPassword());
+    }
+    
+    @AfterEach
+    void clearCaller() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void readOnlyTransaction_ShouldUseReplica_WhenLagIsWithinLimit() throws Exception {
+        // Given
+        try (HikariDataSource replicaPool = pool(replica)) {
+            ReplicaRoutingDataSource routing = routing(new ReplicaDataSource("replica-0", replicaPool));
+            
+            // When
+            String readNode = nodeName(routing, true);
+            String writeNode = nodeName(routing, false);
+            
+            // Then
+            assertThat(readNode).isEqualTo("replica");
+            assertThat(writeNode).isEqualTo("primary");
+            assertThat(connections("replica-0", "read")).isEqualTo(1.0);
+            assertThat(connections("primary", "write")).isEqualTo(1.0);
+        }
+    }
+    
+    @Test
+    void readOnlyTransaction_ShouldUsePrimary_WithinCallersReadYourWritesWindow() throws Exception {
+        // Given
+        try (HikariDataSource replicaPool = pool(replica)) {
+            ReplicaRoutingDataSource routing = routing(new ReplicaDataSource("replica-0", replicaPool));
+            actAs("alice");
+            inTransaction(routing, false, jdbcTemplate -> jdbcTemplate.update("UPDATE node SET name = name"));
+            
+            // When
+            String aliceReads = nodeName(routing, true);
+            actAs("bob");
+            String bobReads = nodeName(routing, true);
+            
+            // Then
+            assertThat(aliceReads).isEqualTo("primary");
+            assertThat(bobReads).isEqualTo("replica");
+            assertThat(connections("primary", "read-your-writes")).isEqualTo(1.0);
+        }
+    }
+    
+    @Test
+    void pinnedRead_ShouldSeeAnotherCallersUpdate_WhileReplicaLags() throws Exception {
+        // Given
+        try (HikariDataSource replicaPool = pool(replica)) {
+            ReplicaRoutingDataSource routing = routing(new ReplicaDataSource("replica-0", replicaPool));
+            actAs("alice");
+            inTransaction(routing, false, jdbcTemplate -> jdbcTemplate.update("UPDATE profile SET version = 2"));
+            actAs("bob");
+            
+            // When
+            Integer replicaVersion = profileVersion(routing);
+            Integer cacheFillVersion = PrimaryReads.call(() -> profileVersion(routing));
+            
+            // Then
+            assertThat(replicaVersion).isEqualTo(1);
+            assertThat(cacheFillVersion).isEqualTo(2);
+            assertThat(connections("primary", "pinned")).isEqualTo(1.0);
+        }
+    }
+    
+    @Test
+    void readOnlyTransaction_ShouldUsePrimary_WhenReplicaFailsLagCheck() throws Exception {
+        // Given
+        ReplicaRoutingDataSource routing = routing(
+            new ReplicaDataSource("replica-0", driverDataSource("jdbc:postgresql://localhost:1/none")));
+        
+        // When
+        String readNode = nodeName(routing, true);
+        
+        // Then
+        assertThat(readNode).isEqualTo("primary");
+        assertThat(routing.getReplicas().get(0).isAvailable()).isFalse();
+        assertThat(connections("primary", "replica-unavailable")).isEqualTo(1.0);
+    }
+    
+    @Test
+    void nonTransactionalQuery_ShouldUsePrimary_WithoutCountingItAsWrite() throws Exception {
+        // Given
+        try (HikariDataSource replicaPool = pool(replica)) {
+            ReplicaRoutingDataSource routing = routing(new ReplicaDataSource("replica-0", replicaPool));
+            
+            // When
+            String node = new JdbcTemplate(routing).queryForObject("SELECT name FROM node", String.class);
+            
+            // Then
+            assertThat(node).isEqualTo("primary");
+            assertThat(connections("primary", "non-transactional")).isEqualTo(1.0);
+            assertThat(connections("primary", "write")).isZero();
+        }
+    }
+    
+    private ReplicaRoutingDataSource routing(ReplicaDataSource replicaDataSource) {
+        meterRegistry = new SimpleMeterRegistry();
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            driverDataSource(primary.getJdbcUrl()),
+            List.of(replicaDataSource),
+            new ReadYourWritesTracker(Duration.ofSeconds(5), 1000),
+            Duration.ofSeconds(2),
+            meterRegistry);
+        routing.afterPropertiesSet();
+        new ReplicaLagMonitor(routing.getReplicas(), 1).checkLag();
+        return routing;
+    }
+    
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(container.getJdbcUrl());
+        pool.setUsername(container.getUsername());
+        pool.setPassword(container.getPassword());
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+    
+    private static String nodeName(ReplicaRoutingDataSource routing, boolean readOnly) {
+        return inTransaction(routing, readOnly,
+            jdbcTemplate -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+    
+    private static Integer profileVersion(ReplicaRoutingDataSource routing) {
+        return inTransaction(routing, true,
+            jdbcTemplate -> jdbcTemplate.queryForObject("SELECT version FROM profile", Integer.class));
+    }
+    
+    private static <T> T inTransaction(ReplicaRoutingDataSource routing, boolean readOnly,
+                                       Function<JdbcTemplate, T> work) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(routing);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.apply(new JdbcTemplate(dataSource)));
+    }
+    
+    private static void actAs(String caller) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(caller, null, List.of()));
+    }
+    
+    private double connections(String target, String reason) {
+        return meterRegistry.get("datasource.routing.connections")
+            .tag("target", target)
+            .tag("reason", reason)
+            .counter()
+            .count();
+    }
+}
\ No newline at end of file
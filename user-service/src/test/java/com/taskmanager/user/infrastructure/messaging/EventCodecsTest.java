@@ -0,0 +1,83 @@
+package com.taskmanager.user.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskmanager.common.event.BinaryEventCodec;
+import com.taskmanager.common.event.DomainEvent;
+import com.taskmanager.common.event.EventCodecs;
+import com.taskmanager.common.event.JsonEventCodec;
+import com.taskmanager.user.domain.event.UserCreatedEvent;
+import com.taskmanager.user.domain.event.UserDeletedEvent;
+import com.taskmanager.user.domain.event.UserEventSchemas;
+import com.taskmanager.user.domain.event.UserUpdatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EventCodecsTest {
+    
+    private final BinaryEventCodec binaryCodec = new BinaryEventCodec(UserEventSchemas.all());
+    private final JsonEventCodec jsonCodec = new JsonEventCodec(JsonMapper.builder().findAndAddModules().build());
+    private final EventCodecs eventCodecs = new EventCodecs(List.of(binaryCodec, jsonCodec), BinaryEventCodec.CONTENT_TYPE);
+    
+    @Test
+    void binaryCodec_ShouldRoundTripUserEvents() {
+        // Given
+        LocalDateTime occurredOn = LocalDateTime.of(2025, 6, 18, 9, 35, 12, 123456789);
+        List<DomainEvent> events = List.of(
+            new UserCreatedEvent(UUID.randomUUID(), occurredOn, UUID.randomUUID(), "jane@example.com", "Jane Doë"),
+            new UserUpdatedEvent(UUID.randomUUID(), occurredOn, UUID.randomUUID(), "jane@example.com", "Janet Doe"),
+            new UserDeletedEvent(UUID.randomUUID(), occurredOn, null, "jane@example.com"));
+        
+        for (DomainEvent event : events) {
+            // When
+            String contentType = eventCodecs.forEvent(event).getContentType();
+            DomainEvent decoded = eventCodecs.decode(contentType, binaryCodec.encode(event));
+            
+            // Then
+            assertThat(contentType).isEqualTo(BinaryEventCodec.CONTENT_TYPE);
+            assertThat(decoded).isExactlyInstanceOf(event.getClass()).usingRecursiveComparison().isEqualTo(event);
+        }
+    }
+    
+    @Test
+    void binaryCodec_ShouldBeSmallerThanJson() {
+        // Given
+        UserCreatedEvent event = new UserCreatedEvent(UUID.randomUUID(), "jane@example.com", "Jane Doe");
+        
+        // When
+        byte[] binary = binaryCodec.encode(event);
+        byte[] json = jsonCodec.encode(event);
+        
+        // Then
+        assertThat(binary.length).isLessThan(json.length / 3);
+    }
+    
+    @Test
+    void decode_ShouldUseJsonCodec_WhenContentTypeIsJson() {
+        // Given
+        UserUpdatedEvent event = new UserUpdatedEvent(UUID.randomUUID(), LocalDateTime.now(), UUID.randomUUID(),
+            "jane@example.com", "Jane Doe");
+        
+        // When
+        DomainEvent decoded = eventCodecs.decode("application/json; charset=UTF-8", jsonCodec.encode(event));
+        
+        // Then
+        assertThat(decoded).isExactlyInstanceOf(UserUpdatedEvent.class).usingRecursiveComparison().isEqualTo(event);
+    }
+    
+    @Test
+    void decode_ShouldReject_WhenSchemaVersionIsNewerThanSupported() {
+        // Given
+        byte[] payload = binaryCodec.encode(new UserCreatedEvent(UUID.randomUUID(), "jane@example.com", "Jane Doe"));
+        payload[2] = 2;
+        
+        // When & Then
+        assertThatThrownBy(() -> binaryCodec.decode(payload))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("schema version 2");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.taskmanager.user.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskmanager.common.event.BinaryEventCodec;
+import com.taskmanager.common.event.DomainEvent;
+import com.taskmanager.common.event.EventCodecs;
+import com.taskmanager.common.event.EventJournal;
+import com.taskmanager.common.event.JournalRecord;
+import com.taskmanager.common.event.JsonEventCodec;
+import com.taskmanager.user.domain.event.UserCreatedEvent;
+import com.taskmanager.user.domain.event.UserEventSchemas;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class EventJournalTest {
+    
+    private static final int SEGMENT_BYTES = 1024;
+    private static final int INDEX_INTERVAL_BYTES = 128;
+    
+    private final BinaryEventCodec codec = new BinaryEventCodec(UserEventSchemas.all());
+    private final EventCodecs eventCodecs = new EventCodecs(List.of(codec,
+        new JsonEventCodec(JsonMapper.builder().findAndAddModules().build())), BinaryEventCodec.CONTENT_TYPE);
+    
+    @TempDir
+    private Path directory;
+    
+    @Test
+    void replay_ShouldReturnEventsInOffsetOrder_FromAnyOffsetAcrossSegments() {
+        // Given
+        EventJournal journal = new EventJournal(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES);
+        List<UserCreatedEvent> events = events(40);
+        for (int i = 0; i < events.size(); i++) {
+            assertThat(journal.append(events.get(i), codec)).isEqualTo(i);
+        }
+        
+        // When
+        List<JournalRecord> replayed = new ArrayList<>();
+        List<DomainEvent> decoded = new ArrayList<>();
+        long next = journal.replay(25, record -> {
+            replayed.add(record);
+            decoded.add(record.decode(eventCodecs));
+        });
+        
+        // Then
+        assertThat(journal.segmentCount()).isGreaterThan(2);
+        assertThat(next).isEqualTo(40);
+        assertThat(replayed).extracting(JournalRecord::getOffset).containsExactlyElementsOf(range(25, 40));
+        assertThat(replayed.get(0).getEventType()).isEqualTo("USER_CREATED");
+        assertThat(replayed.get(0).getAggregateId()).isEqualTo(events.get(25).getAggregateId());
+        assertThat(decoded).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyElementsOf(events.subList(25, 40));
+        journal.close();
+    }
+    
+    @Test
+    void open_ShouldRecoverJournal_AndContinueOffsets() {
+        // Given
+        EventJournal journal = new EventJournal(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES);
+        events(15).forEach(event -> journal.append(event, codec));
+        journal.close();
+        
+        // When
+        EventJournal reopened = new EventJournal(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES);
+        long offset = reopened.append(events(1).get(0), codec);
+        
+        // Then
+        assertThat(offset).isEqualTo(15);
+        List<Long> offsets = new ArrayList<>();
+        reopened.replay(0, record -> offsets.add(record.getOffset()));
+        assertThat(offsets).containsExactlyElementsOf(range(0, 16));
+        reopened.close();
+    }
+    
+    @Test
+    void open_ShouldFail_WhileAnotherJournalHoldsTheDirectory() {
+        // Given
+        EventJournal journal = new EventJournal(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES);
+        
+        // When & Then
+        assertThatThrownBy(() -> new EventJournal(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("already in use");
+        journal.close();
+        new EventJournal(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES).close();
+    }
+    
+    @Test
+    void open_ShouldDropTornRecord_AndReuseItsOffset() throws Exception {
+        // Given
+        EventJournal journal = new EventJournal(directory, 64 * 1024, INDEX_INTERVAL_BYTES);
+        events(3).forEach(event -> journal.append(event, codec));
+        journal.close();
+        try (RandomAccessFile log = new RandomAccessFile(directory.resolve("00000000000000000000.log").toFile(), "rw")) {
+            long lastRecord = 0;
+            for (int i = 0; i < 2; i++) {
+                log.seek(lastRecord);
+                lastRecord += 8 + log.readInt();
+            }
+            log.seek(lastRecord + 40);
+            log.writeLong(42);
+        }
+        
+        // When
+        EventJournal reopened = new EventJournal(directory, 64 * 1024, INDEX_INTERVAL_BYTES);
+        UserCreatedEvent replacement = events(1).get(0);
+        long offset = reopened.append(replacement, codec);
+        
+        // Then
+        assertThat(offset).isEqualTo(2);
+        List<UUID> eventIds = new ArrayList<>();
+        reopened.replay(0, record -> eventIds.add(record.getEventId()));
+        assertThat(eventIds).hasSize(3).endsWith(replacement.getEventId());
+        reopened.close();
+    }
+    
+    @Test
+    void enforceRetention_ShouldDeleteOldestSealedSegments_UntilUnderMaxSize() {
+        // Given
+        EventJournal journal = new EventJournal(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES);
+        events(40).forEach(event -> journal.append(event, codec));
+        int segments = journal.segmentCount();
+        
+        // When
+        int deleted = journal.enforceRetention(2L * SEGMENT_BYTES, Duration.ofDays(7));
+        
+        // Then
+        assertThat(deleted).isEqualTo(segments - 2);
+        assertThat(journal.segmentCount()).isEqualTo(2);
+        assertThat(directory.toFile().list((dir, name) -> name.endsWith(".log"))).hasSize(2);
+        List<Long> offsets = new ArrayList<>();
+        long next = journal.replay(0, record -> offsets.add(record.getOffset()));
+        assertThat(offsets.get(0)).isEqualTo(journal.firstOffset());
+        assertThat(next).isEqualTo(40);
+        journal.close();
+    }
+    
+    private List<UserCreatedEvent> events(int count) {
+        List<UserCreatedEvent> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            events.add(new UserCreatedEvent(UUID.randomUUID(), "user" + i + "@example.com", "User " + i));
+        }
+        return events;
+    }
+    
+    private static List<Long> range(long from, long to) {
+        List<Long> offsets = new ArrayList<>();
+        for (long offset = from; offset < to; offset++) {
+            offsets.add(offset);
+        }
+        return offsets;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.taskmanager.user.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.taskmanager.common.event.BinaryEventCodec;
+import com.taskmanager.common.event.EventCodecs;
+import com.taskmanager.common.event.EventJournal;
+import com.taskmanager.common.event.JsonEventCodec;
+import com.taskmanager.user.domain.event.UserCreatedEvent;
+import com.taskmanager.user.domain.event.UserEventSchemas;
+import com.taskmanager.user.infrastructure.outbox.OutboxEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RabbitEventPublisherTest {
+    
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+    
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BlockingQueue<CorrelationData> sent = new LinkedBlockingQueue<>();
+    
+    private RabbitEventPublisher publisher;
+    
+    @BeforeEach
+    void setUp() {
+        EventCodecs eventCodecs = new EventCodecs(List.of(new BinaryEventCodec(UserEventSchemas.all()),
+            new JsonEventCodec(JsonMapper.builder().findAndAddModules().build())), BinaryEventCodec.CONTENT_TYPE);
+        // Long flush interval so only the batch size triggers a flush
+        publisher = new RabbitEventPublisher(rabbitTemplate, eventCodecs, meterRegistry,
+            2, Duration.ofMinutes(1), Duration.ofSeconds(5), 1, Duration.ofMillis(10), 100);
+        
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+            invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitTemplate));
+        doAnswer(invocation -> sent.add(invocation.getArgument(3)))
+            .when(rabbitTemplate).send(eq("domain.events"), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        publisher.shutdown();
+    }
+    
+    @Test
+    void publishAsync_ShouldFlushAndComplete_WhenBatchIsFullAndConfirmed() throws Exception {
+        // Given
+        CompletableFuture<Void> first = publisher.publishAsync(event());
+        assertThat(sent).isEmpty();
+        
+        // When
+        CompletableFuture<Void> second = publisher.publishAsync(event());
+        nextSent().getFuture().complete(new CorrelationData.Confirm(true, null));
+        nextSent().getFuture().complete(new CorrelationData.Confirm(true, null));
+        
+        // Then
+        assertThat(CompletableFuture.allOf(first, second)).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(meterRegistry.counter("events.publisher.confirmed").count()).isEqualTo(2);
+        assertThat(meterRegistry.get("events.publisher.publish.latency").tag("outcome", "confirmed").timer().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("events.publisher.in-flight").gauge().value()).isZero();
+    }
+    
+    @Test
+    void publishBatch_ShouldRetryNackedMessage_UntilConfirmed() throws Exception {
+        // Given
+        List<CompletableFuture<Void>> results = publisher.publishBatch(List.of(outboxEvent()));
+        
+        // When
+        CorrelationData firstAttempt = nextSent();
+        firstAttempt.getFuture().complete(new CorrelationData.Confirm(false, "nack"));
+        CorrelationData secondAttempt = nextSent();
+        secondAttempt.getFuture().complete(new CorrelationData.Confirm(true, null));
+        
+        // Then
+        assertThat(results.get(0)).succeedsWithin(Duration.ofSeconds(5));
+        assertThat(secondAttempt.getId()).isNotEqualTo(firstAttempt.getId());
+        assertThat(meterRegistry.counter("events.publisher.nacked").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("events.publisher.retried").count()).isEqualTo(1);
+    }
+    
+    @Test
+    void publishBatch_ShouldFailWithoutRetry_WhenMessageIsReturned() throws Exception {
+        // Given
+        List<CompletableFuture<Void>> results = publisher.publishBatch(List.of(outboxEvent()));
+        CorrelationData correlation = nextSent();
+        
+        // When
+        correlation.setReturned(new ReturnedMessage(new Message(new byte[0]), 312, "NO_ROUTE", "domain.events", "user.created"));
+        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+        
+        // Then
+        assertThat(results.get(0)).failsWithin(Duration.ofSeconds(5))
+            .withThrowableOfType(Exception.class)
+            .withCauseInstanceOf(AmqpException.class)
+            .withMessageContaining("NO_ROUTE");
+        assertThat(sent.poll(100, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(meterRegistry.counter("events.publisher.returned").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("events.publisher.publish.latency").tag("outcome", "returned").timer().count())
+            .isEqualTo(1);
+    }
+    
+    @Test
+    void publishBatch_ShouldJournalEvent_OnlyOnceConfirmed(@TempDir Path journalDirectory) throws Exception {
+        // Given
+        EventJournal journal = new EventJournal(journalDirectory, 64 * 1024, 4096);
+        publisher.setEventJournal(journal);
+        OutboxEvent event = outboxEvent();
+        List<CompletableFuture<Void>> results = publisher.publishBatch(List.of(event));
+        CorrelationData correlation = nextSent();
+        assertThat(journal.nextOffset()).isZero();
+        
+        // When
+        correlation.getFuture().complete(new CorrelationData.Confirm(true, null));
+        
+        // Then
+        assertThat(results.get(0)).succeedsWithin(Duration.ofSeconds(5));
+        List<UUID> journaled = new ArrayList<>();
+        journal.replay(0, record -> journaled.add(record.getEventId()));
+        assertThat(journaled).containsExactly(event.getEventId());
+        journal.close();
+    }
+    
+    private CorrelationData nextSent() throws InterruptedException {
+        CorrelationData correlation = sent.poll(5, TimeUnit.SECONDS);
+        assertThat(correlation).isNotNull();
+        return correlation;
+    }
+    
+    private UserCreatedEvent event() {
+        return new UserCreatedEvent(UUID.randomUUID(), "jane@example.com", "Jane Doe");
+    }
+    
+    private OutboxEvent outboxEvent() {
+        return new OutboxEvent(UUID.randomUUID(), UUID.randomUUID(),
+            "USER_CREATED", "user.created", BinaryEventCodec.CONTENT_TYPE, new byte[0]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.taskmanager.user.infrastructure.outbox;
+
+import com.taskmanager.user.infrastructure.messaging.RabbitEventPublisher;
+import com.taskmanager.user.infrastructure.messaging.UnroutableEventException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+    
+    @Mock
+    private OutboxRepository outboxRepository;
+    
+    @Mock
+    private RabbitEventPublisher rabbitEventPublisher;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private SimpleMeterRegistry meterRegistry;
+    
+    private OutboxRelay outboxRelay;
+    
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxRepository, rabbitEventPublisher, transactionTemplate, meterRegistry, 2, 10, 1000);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+    
+    @Test
+    void relay_ShouldDrainBatchesUntilOutboxIsEmpty() {
+        // Given
+        List<OutboxEvent> fullBatch = List.of(outboxEvent(), outboxEvent());
+        List<OutboxEvent> partialBatch = List.of(outboxEvent());
+        when(outboxRepository.claimBatch(2)).thenReturn(fullBatch, partialBatch);
+        when(rabbitEventPublisher.publishBatch(anyList())).thenAnswer(invocation ->
+            invocation.<List<OutboxEvent>>getArgument(0).stream().map(event -> confirmed()).toList());
+        
+        // When
+        outboxRelay.relay();
+        
+        // Then
+        verify(rabbitEventPublisher).publishBatch(fullBatch);
+        verify(rabbitEventPublisher).publishBatch(partialBatch);
+        verify(outboxRepository).deleteAllInBatch(fullBatch);
+        verify(outboxRepository).deleteAllInBatch(partialBatch);
+        assertThat(meterRegistry.counter("outbox.relay.published").count()).isEqualTo(3);
+    }
+    
+    @Test
+    void relay_ShouldKeepEvents_WhenPublishFails() {
+        // Given
+        List<OutboxEvent> batch = List.of(outboxEvent(), outboxEvent());
+        when(outboxRepository.claimBatch(2)).thenReturn(batch);
+        doThrow(new AmqpException("broker unavailable")).when(rabbitEventPublisher).publishBatch(batch);
+        
+        // When
+        outboxRelay.relay();
+        
+        // Then
+        verify(outboxRepository, never()).deleteAllInBatch(anyList());
+        assertThat(meterRegistry.counter("outbox.relay.failures").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("outbox.relay.published").count()).isZero();
+    }
+    
+    @Test
+    void relay_ShouldDeleteOnlyConfirmedEvents_WhenSomeAreNotConfirmed() {
+        // Given
+        OutboxEvent acked = outboxEvent();
+        OutboxEvent nacked = outboxEvent();
+        List<OutboxEvent> batch = List.of(acked, nacked);
+        when(outboxRepository.claimBatch(2)).thenReturn(batch);
+        when(rabbitEventPublisher.publishBatch(batch)).thenReturn(List.of(
+            confirmed(), CompletableFuture.failedFuture(new AmqpException("nacked"))));
+        
+        // When
+        outboxRelay.relay();
+        
+        // Then
+        verify(outboxRepository).claimBatch(2);
+        verify(outboxRepository).deleteAllInBatch(List.of(acked));
+        assertThat(meterRegistry.counter("outbox.relay.failures").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("outbox.relay.published").count()).isEqualTo(1);
+    }
+    
+    @Test
+    void relay_ShouldParkEvents_AndKeepDraining_WhenWholeBatchIsReturned() {
+        // Given
+        List<OutboxEvent> returnedBatch = List.of(outboxEvent(), outboxEvent());
+        List<OutboxEvent> nextBatch = List.of(outboxEvent());
+        when(outboxRepository.claimBatch(2)).thenReturn(returnedBatch, nextBatch);
+        when(rabbitEventPublisher.publishBatch(returnedBatch)).thenReturn(returnedBatch.stream()
+            .map(event -> CompletableFuture.<Void>failedFuture(
+                new UnroutableEventException(event.getEventId().toString(), "NO_ROUTE")))
+            .toList());
+        when(rabbitEventPublisher.publishBatch(nextBatch)).thenReturn(List.of(confirmed()));
+        
+        // When
+        outboxRelay.relay();
+        
+        // Then
+        verify(outboxRepository).parkAll(returnedBatch.stream().map(OutboxEvent::getEventId).toList(),
+            OutboxRelay.UNROUTABLE);
+        verify(outboxRepository, never()).deleteAllInBatch(returnedBatch);
+        verify(outboxRepository).deleteAllInBatch(nextBatch);
+        assertThat(meterRegistry.counter("outbox.relay.parked", "reason", "UNROUTABLE").count()).isEqualTo(2);
+        assertThat(meterRegistry.counter("outbox.relay.failures").count()).isZero();
+        assertThat(meterRegistry.counter("outbox.relay.published").count()).isEqualTo(1);
+    }
+    
+    private CompletableFuture<Void> confirmed() {
+        return CompletableFuture.completedFuture(null);
+    }
+    
+    private OutboxEvent outboxEvent() {
+        return new OutboxEvent(UUID.randomUUID(), UUID.randomUUID(), "USER_CREATED", "user.created",
+            "application/json", new byte[0]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.taskmanager.user.infrastructure.repository;
+
+import com.taskmanager.user.domain.Role;
+import com.taskmanager.user.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserBatchRepositoryTest {
+    
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    private UserBatchRepository repository;
+    
+    @BeforeEach
+    void setUp() {
+        repository = new UserBatchRepository(jdbcTemplate, 500);
+    }
+    
+    @Test
+    void insertAll_ShouldUseRowCounts_WhenDriverReportsThem() {
+        // Given
+        User first = user("first@example.com");
+        User skipped = user("skipped@example.com");
+        givenBatchCounts(1, 0);
+        
+        // When
+        List<User> inserted = repository.insertAll(List.of(first, skipped));
+        
+        // Then
+        assertThat(inserted).containsExactly(first);
+        verify(jdbcTemplate, never()).query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAll_ShouldRecheckIds_WhenDriverReportsSuccessNoInfo() {
+        // Given
+        User first = user("first@example.com");
+        User skipped = user("skipped@example.com");
+        User third = user("third@example.com");
+        givenBatchCounts(Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO);
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenReturn(List.of(third.getId(), first.getId()));
+        
+        // When
+        List<User> inserted = repository.insertAll(List.of(first, skipped, third));
+        
+        // Then
+        assertThat(inserted).containsExactly(first, third);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void givenBatchCounts(int... counts) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList(), eq(500), any(ParameterizedPreparedStatementSetter.class)))
+            .thenReturn(new int[][] {counts});
+    }
+    
+    private User user(String email) {
+        User user = new User(email, "First", "Last", "hash", Set.of(Role.USER));
+        user.setId(UUID.randomUUID());
+        user.setCreatedAt(LocalDateTime.now());
+        user.setUpdatedAt(LocalDateTime.now());
+        return user;
+    }
+}
\ No newline at end of file